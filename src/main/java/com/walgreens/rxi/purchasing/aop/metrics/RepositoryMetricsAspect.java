@@ -0,0 +1,107 @@
+package com.walgreens.rxi.purchasing.aop.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.data.repository.Repository;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Aspect measuring the Spring Data repository methods.
+ * <p>
+ * Each call is recorded by the {@code purchasing.repository.invocations} timer, and, as the Hibernate statement inspector,
+ * each SQL statement prepared meanwhile by the {@code purchasing.repository.statements} counter, tagged with the repository
+ * and the method. The statements prepared outside of a repository method, such as the ones of a flush or of a lazy
+ * association, are counted with the {@code none} repository and method.
+ */
+@Aspect
+public class RepositoryMetricsAspect implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String NONE = "none";
+
+    private final transient MeterRegistry meterRegistry;
+
+    private final transient ThreadLocal<RepositoryMethod> currentMethod = new ThreadLocal<>();
+
+    private final transient Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Time the repository method, and attribute the statements it prepares to it.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable throws the exception of the repository method.
+     */
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object measureRepositoryMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryMethod method = new RepositoryMethod(repositoryName(joinPoint.getTarget()), joinPoint.getSignature().getName());
+        RepositoryMethod callingMethod = currentMethod.get();
+        currentMethod.set(method);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            sample.stop(meterRegistry.timer("purchasing.repository.invocations", "repository", method.repository, "method", method.name));
+            if (callingMethod == null) {
+                currentMethod.remove();
+            } else {
+                currentMethod.set(callingMethod);
+            }
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        RepositoryMethod method = currentMethod.get();
+        meterRegistry
+            .counter(
+                "purchasing.repository.statements",
+                "repository",
+                method == null ? NONE : method.repository,
+                "method",
+                method == null ? NONE : method.name
+            )
+            .increment();
+        return sql;
+    }
+
+    /**
+     * The name of the repository interface implemented by the Spring Data proxy.
+     */
+    private String repositoryName(Object repository) {
+        return repositoryNames.computeIfAbsent(
+            repository.getClass(),
+            repositoryClass -> {
+                for (Class<?> repositoryInterface : ClassUtils.getAllInterfacesForClass(repositoryClass)) {
+                    if (Repository.class.isAssignableFrom(repositoryInterface) && repositoryInterface != Repository.class) {
+                        return repositoryInterface.getSimpleName();
+                    }
+                }
+                return repositoryClass.getSimpleName();
+            }
+        );
+    }
+
+    private static final class RepositoryMethod {
+
+        private final String repository;
+
+        private final String name;
+
+        private RepositoryMethod(String repository, String name) {
+            this.repository = repository;
+            this.name = name;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.walgreens.rxi.purchasing.config;
 
+import java.util.HashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -9,4 +11,477 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Persistence persistence = new Persistence();
+
+    private final OrderSummary orderSummary = new OrderSummary();
+
+    private final KafkaSse kafkaSse = new KafkaSse();
+
+    private final Outbox outbox = new Outbox();
+
+    private final Ingestion ingestion = new Ingestion();
+
+    private final Cache cache = new Cache();
+
+    public Persistence getPersistence() {
+        return persistence;
+    }
+
+    public OrderSummary getOrderSummary() {
+        return orderSummary;
+    }
+
+    public KafkaSse getKafkaSse() {
+        return kafkaSse;
+    }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public Ingestion getIngestion() {
+        return ingestion;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public static class Persistence {
+
+        /**
+         * Store the UUID business keys as {@code BINARY(16)} instead of {@code VARCHAR(36)}.
+         * Turning it on also runs the Liquibase migration converting the existing keys, which cannot be undone.
+         */
+        private boolean binaryUuids = false;
+
+        /**
+         * Replication lag in seconds above which the read-only transactions go to the primary instead of the replica
+         * configured under {@code spring.datasource.replica}.
+         */
+        private long replicaMaxLagSeconds = 10;
+
+        /**
+         * Time in milliseconds between two checks of the replication lag.
+         */
+        private long replicaLagCheckMs = 5000;
+
+        /**
+         * Duration in milliseconds above which a statement is logged and counted as slow.
+         */
+        private long slowStatementThresholdMs = 1000;
+
+        public boolean isBinaryUuids() {
+            return binaryUuids;
+        }
+
+        public void setBinaryUuids(boolean binaryUuids) {
+            this.binaryUuids = binaryUuids;
+        }
+
+        public long getReplicaMaxLagSeconds() {
+            return replicaMaxLagSeconds;
+        }
+
+        public void setReplicaMaxLagSeconds(long replicaMaxLagSeconds) {
+            this.replicaMaxLagSeconds = replicaMaxLagSeconds;
+        }
+
+        public long getReplicaLagCheckMs() {
+            return replicaLagCheckMs;
+        }
+
+        public void setReplicaLagCheckMs(long replicaLagCheckMs) {
+            this.replicaLagCheckMs = replicaLagCheckMs;
+        }
+
+        public long getSlowStatementThresholdMs() {
+            return slowStatementThresholdMs;
+        }
+
+        public void setSlowStatementThresholdMs(long slowStatementThresholdMs) {
+            this.slowStatementThresholdMs = slowStatementThresholdMs;
+        }
+    }
+
+    public static class OrderSummary {
+
+        /**
+         * Number of location orders refreshed or checked per transaction by the rebuild and the consistency check.
+         */
+        private int chunkSize = 1000;
+
+        /**
+         * Cron expression of the background consistency check, {@code -} to disable it.
+         */
+        private String checkCron = "-";
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public String getCheckCron() {
+            return checkCron;
+        }
+
+        public void setCheckCron(String checkCron) {
+            this.checkCron = checkCron;
+        }
+    }
+
+    public static class KafkaSse {
+
+        /**
+         * Memory in bytes of the records buffered for each Server-Sent Events subscriber.
+         * The topics are paused while a subscriber holds more than half of it, and a subscriber exceeding it is disconnected.
+         */
+        private long subscriberBufferBytes = 1024 * 1024;
+
+        /**
+         * Number of threads writing the buffered records to the Server-Sent Events subscribers.
+         */
+        private int dispatchThreads = 4;
+
+        /**
+         * Default time in milliseconds a feed waits for records in each poll, sending a heartbeat when none came.
+         */
+        private long pollTimeoutMs = 5000;
+
+        /**
+         * Maximum number of records coalesced in one event by the subscribers asking for batches.
+         */
+        private int maxBatchSize = 500;
+
+        /**
+         * Time in milliseconds a subscriber may keep the topics paused before it is disconnected, so that it cannot stall the others.
+         */
+        private long maxPauseMs = 30000;
+
+        public long getSubscriberBufferBytes() {
+            return subscriberBufferBytes;
+        }
+
+        public void setSubscriberBufferBytes(long subscriberBufferBytes) {
+            this.subscriberBufferBytes = subscriberBufferBytes;
+        }
+
+        public int getDispatchThreads() {
+            return dispatchThreads;
+        }
+
+        public void setDispatchThreads(int dispatchThreads) {
+            this.dispatchThreads = dispatchThreads;
+        }
+
+        public long getPollTimeoutMs() {
+            return pollTimeoutMs;
+        }
+
+        public void setPollTimeoutMs(long pollTimeoutMs) {
+            this.pollTimeoutMs = pollTimeoutMs;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public long getMaxPauseMs() {
+            return maxPauseMs;
+        }
+
+        public void setMaxPauseMs(long maxPauseMs) {
+            this.maxPauseMs = maxPauseMs;
+        }
+    }
+
+    public static class Outbox {
+
+        /**
+         * Relay the outbox events to Kafka, on a single node or on all of them since the batches are locked.
+         */
+        private boolean relayEnabled = false;
+
+        /**
+         * Kafka topic receiving the purchasing events.
+         */
+        private String topic = "purchasing-events";
+
+        /**
+         * Maximum number of events sent and deleted per transaction.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Delay between the end of a relay run and the start of the next one, in milliseconds.
+         */
+        private long relayDelayMs = 1000;
+
+        /**
+         * Time given to Kafka to acknowledge a batch, in milliseconds, during which the events of the batch stay locked.
+         */
+        private long sendTimeoutMs = 10000;
+
+        public boolean isRelayEnabled() {
+            return relayEnabled;
+        }
+
+        public void setRelayEnabled(boolean relayEnabled) {
+            this.relayEnabled = relayEnabled;
+        }
+
+        public String getTopic() {
+            return topic;
+        }
+
+        public void setTopic(String topic) {
+            this.topic = topic;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getRelayDelayMs() {
+            return relayDelayMs;
+        }
+
+        public void setRelayDelayMs(long relayDelayMs) {
+            this.relayDelayMs = relayDelayMs;
+        }
+
+        public long getSendTimeoutMs() {
+            return sendTimeoutMs;
+        }
+
+        public void setSendTimeoutMs(long sendTimeoutMs) {
+            this.sendTimeoutMs = sendTimeoutMs;
+        }
+    }
+
+    public static class Ingestion {
+
+        /**
+         * Create the location orders read from the inbound Kafka topic.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Kafka topic holding the location orders to create, as JSON with their order items.
+         */
+        private String topic = "purchasing-location-orders";
+
+        /**
+         * Maximum number of messages saved per transaction.
+         */
+        private int maxBatchSize = 500;
+
+        /**
+         * Maximum time to wait for messages, in milliseconds.
+         */
+        private long pollTimeoutMs = 1000;
+
+        /**
+         * Delay before reading a batch again after it could not be saved, in milliseconds.
+         */
+        private long retryBackoffMs = 5000;
+
+        /**
+         * Number of times a batch which cannot be saved is read again, before its messages are saved one at a time.
+         */
+        private int maxRetries = 3;
+
+        /**
+         * Kafka topic receiving the messages which cannot be saved on their own, with the error.
+         */
+        private String deadLetterTopic = "purchasing-location-orders-dlt";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getTopic() {
+            return topic;
+        }
+
+        public void setTopic(String topic) {
+            this.topic = topic;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public long getPollTimeoutMs() {
+            return pollTimeoutMs;
+        }
+
+        public void setPollTimeoutMs(long pollTimeoutMs) {
+            this.pollTimeoutMs = pollTimeoutMs;
+        }
+
+        public long getRetryBackoffMs() {
+            return retryBackoffMs;
+        }
+
+        public void setRetryBackoffMs(long retryBackoffMs) {
+            this.retryBackoffMs = retryBackoffMs;
+        }
+
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+
+        public void setMaxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+        }
+
+        public String getDeadLetterTopic() {
+            return deadLetterTopic;
+        }
+
+        public void setDeadLetterTopic(String deadLetterTopic) {
+            this.deadLetterTopic = deadLetterTopic;
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Directory of the disk tiers, which must be set for a region to have one.
+         */
+        private String diskPath;
+
+        /**
+         * Settings of the cache regions by cache name, overriding {@code jhipster.cache.ehcache} for those regions.
+         */
+        private final Map<String, Region> regions = new HashMap<>();
+
+        /**
+         * Broadcast the evictions of the second-level cache to the other instances, and apply theirs.
+         */
+        private boolean invalidationEnabled = false;
+
+        /**
+         * Kafka topic carrying the second-level cache evictions between the instances.
+         */
+        private String invalidationTopic = "purchasing-cache-invalidation";
+
+        public String getDiskPath() {
+            return diskPath;
+        }
+
+        public void setDiskPath(String diskPath) {
+            this.diskPath = diskPath;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public boolean isInvalidationEnabled() {
+            return invalidationEnabled;
+        }
+
+        public void setInvalidationEnabled(boolean invalidationEnabled) {
+            this.invalidationEnabled = invalidationEnabled;
+        }
+
+        public String getInvalidationTopic() {
+            return invalidationTopic;
+        }
+
+        public void setInvalidationTopic(String invalidationTopic) {
+            this.invalidationTopic = invalidationTopic;
+        }
+
+        public static class Region {
+
+            /**
+             * Number of entries held on heap, {@code jhipster.cache.ehcache.max-entries} when not set.
+             */
+            private Long maxEntries;
+
+            /**
+             * Time to live of the entries, {@code jhipster.cache.ehcache.time-to-live-seconds} when not set.
+             */
+            private Long timeToLiveSeconds;
+
+            /**
+             * Time to idle of the entries, replacing the time to live when set.
+             */
+            private Long timeToIdleSeconds;
+
+            /**
+             * Size in megabytes of the off-heap tier, none when not set.
+             */
+            private Long offHeapMb;
+
+            /**
+             * Size in megabytes of the disk tier, none when not set. It must be larger than the off-heap tier.
+             */
+            private Long diskMb;
+
+            public Long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(Long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public Long getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Long timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public Long getTimeToIdleSeconds() {
+                return timeToIdleSeconds;
+            }
+
+            public void setTimeToIdleSeconds(Long timeToIdleSeconds) {
+                this.timeToIdleSeconds = timeToIdleSeconds;
+            }
+
+            public Long getOffHeapMb() {
+                return offHeapMb;
+            }
+
+            public void setOffHeapMb(Long offHeapMb) {
+                this.offHeapMb = offHeapMb;
+            }
+
+            public Long getDiskMb() {
+                return diskMb;
+            }
+
+            public void setDiskMb(Long diskMb) {
+                this.diskMb = diskMb;
+            }
+        }
+    }
+}
@@ -1,10 +1,26 @@
 package com.walgreens.rxi.purchasing.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.File;
 import java.time.Duration;
+import java.util.Map;
+import javax.cache.Caching;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.InternalCache;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.core.internal.statistics.DefaultCacheStatistics;
+import org.ehcache.core.statistics.CacheStatistics;
+import org.ehcache.core.statistics.TierStatistics;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.info.BuildProperties;
@@ -25,17 +41,70 @@ public class CacheConfiguration {
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
     private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final Map<String, ApplicationProperties.Cache.Region> regions;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        ehcache = jHipsterProperties.getCache().getEhcache();
+        regions = applicationProperties.getCache().getRegions();
 
-        jcacheConfiguration =
-            Eh107Configuration.fromEhcacheCacheConfiguration(
-                CacheConfigurationBuilder
-                    .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(ehcache.getMaxEntries()))
-                    .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                    .build()
+        jcacheConfiguration = regionConfiguration(new ApplicationProperties.Cache.Region());
+    }
+
+    /**
+     * Build the configuration of a cache region, completing its settings with the {@code jhipster.cache.ehcache} ones.
+     * <p>
+     * The off-heap and disk tiers hold serialized entries, which Hibernate's cache keys and entries support.
+     */
+    private javax.cache.configuration.Configuration<Object, Object> regionConfiguration(ApplicationProperties.Cache.Region region) {
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.heap(
+            region.getMaxEntries() != null ? region.getMaxEntries() : ehcache.getMaxEntries()
+        );
+        if (region.getOffHeapMb() != null) {
+            resourcePools = resourcePools.offheap(region.getOffHeapMb(), MemoryUnit.MB);
+        }
+        if (region.getDiskMb() != null) {
+            resourcePools = resourcePools.disk(region.getDiskMb(), MemoryUnit.MB, false);
+        }
+        long timeToLiveSeconds = region.getTimeToLiveSeconds() != null ? region.getTimeToLiveSeconds() : ehcache.getTimeToLiveSeconds();
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder
+            .newCacheConfigurationBuilder(Object.class, Object.class, resourcePools)
+            .withExpiry(
+                region.getTimeToIdleSeconds() != null
+                    ? ExpiryPolicyBuilder.timeToIdleExpiration(Duration.ofSeconds(region.getTimeToIdleSeconds()))
+                    : ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(timeToLiveSeconds))
             );
+        if (region.getOffHeapMb() != null || region.getDiskMb() != null) {
+            ClassLoader classLoader = getClass().getClassLoader();
+            builder =
+                builder
+                    .withKeySerializer(new PlainJavaSerializer<Object>(classLoader))
+                    .withValueSerializer(new PlainJavaSerializer<Object>(classLoader));
+        }
+        return Eh107Configuration.fromEhcacheCacheConfiguration(builder.build());
+    }
+
+    /**
+     * Replace the cache manager of Spring Boot with one keeping the disk tiers under {@code application.cache.disk-path}.
+     */
+    @Bean
+    @ConditionalOnProperty("application.cache.disk-path")
+    public javax.cache.CacheManager jCacheCacheManager(
+        ApplicationProperties applicationProperties,
+        ObjectProvider<JCacheManagerCustomizer> cacheManagerCustomizers
+    ) {
+        EhcacheCachingProvider cachingProvider = (EhcacheCachingProvider) Caching.getCachingProvider(
+            EhcacheCachingProvider.class.getName()
+        );
+        javax.cache.CacheManager cacheManager = cachingProvider.getCacheManager(
+            cachingProvider.getDefaultURI(),
+            new DefaultConfiguration(
+                getClass().getClassLoader(),
+                new DefaultPersistenceConfiguration(new File(applicationProperties.getCache().getDiskPath()))
+            )
+        );
+        cacheManagerCustomizers.orderedStream().forEach(customizer -> customizer.customize(cacheManager));
+        return cacheManager;
     }
 
     @Bean
@@ -55,6 +124,7 @@ public class CacheConfiguration {
             createCache(cm, com.walgreens.rxi.purchasing.domain.Address.class.getName());
             createCache(cm, com.walgreens.rxi.purchasing.domain.Location.class.getName());
             createCache(cm, com.walgreens.rxi.purchasing.domain.Location.class.getName() + ".orders");
+            createCache(cm, com.walgreens.rxi.purchasing.repository.LocationRepository.LOCATION_IDS_BY_NUMBER_CACHE);
             createCache(cm, com.walgreens.rxi.purchasing.domain.LocationOrder.class.getName());
             createCache(cm, com.walgreens.rxi.purchasing.domain.LocationOrder.class.getName() + ".orderItems");
             createCache(cm, com.walgreens.rxi.purchasing.domain.OrderItem.class.getName());
@@ -62,13 +132,45 @@ public class CacheConfiguration {
         };
     }
 
+    /**
+     * Create the cache, with the statistics behind the {@code cache.gets}, {@code cache.puts} and {@code cache.evictions}
+     * metrics which Spring Boot binds for each cache.
+     */
     private void createCache(javax.cache.CacheManager cm, String cacheName) {
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            ApplicationProperties.Cache.Region region = regions.get(cacheName);
+            cm.createCache(cacheName, region != null ? regionConfiguration(region) : jcacheConfiguration);
         }
+        cm.enableStatistics(cacheName, true);
+    }
+
+    /**
+     * Bind a {@code cache.size} gauge of the number of entries of each cache, which JCache does not report by itself.
+     * <p>
+     * The count is the number of mappings of the authoritative tier, which holds all the entries, read from the Ehcache tier
+     * statistics: iterating over the cache instead would count each entry as a hit, reset its time to idle and bring the
+     * off-heap entries back on heap.
+     */
+    @Bean
+    public MeterBinder cacheSizeMetrics(javax.cache.CacheManager cacheManager) {
+        return registry -> {
+            for (String cacheName : cacheManager.getCacheNames()) {
+                InternalCache<?, ?> cache = (InternalCache<?, ?>) cacheManager.getCache(cacheName).unwrap(org.ehcache.Cache.class);
+                Gauge
+                    .builder("cache.size", new DefaultCacheStatistics(cache), CacheConfiguration::entryCount)
+                    .tag("cache", cacheName)
+                    .description("The number of entries in this cache")
+                    .strongReference(true)
+                    .register(registry);
+            }
+        };
+    }
+
+    private static double entryCount(CacheStatistics cacheStatistics) {
+        return cacheStatistics.getTierStatistics().values().stream().mapToLong(TierStatistics::getMappings).max().orElse(0);
     }
 
     @Autowired(required = false)
@@ -1,7 +1,12 @@
 package com.walgreens.rxi.purchasing.config;
 
+import com.walgreens.rxi.purchasing.domain.util.BusinessUuidType;
+import java.util.List;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.TypeContributorList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
@@ -13,4 +18,21 @@ import tech.jhipster.config.JHipsterConstants;
 @EnableJpaRepositories("com.walgreens.rxi.purchasing.repository")
 @EnableJpaAuditing(auditorAwareRef = "springSecurityAuditorAware")
 @EnableTransactionManagement
-public class DatabaseConfiguration {}
+public class DatabaseConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(DatabaseConfiguration.class);
+
+    /**
+     * Register the storage of the UUID business keys selected by {@code application.persistence.binary-uuids}.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer businessUuidTypeCustomizer(ApplicationProperties applicationProperties) {
+        BusinessUuidType businessUuidType = applicationProperties.getPersistence().isBinaryUuids()
+            ? BusinessUuidType.BINARY
+            : BusinessUuidType.CHAR;
+        log.debug("Storing UUID business keys as {}", businessUuidType.getSqlTypeDescriptor().getClass().getSimpleName());
+        TypeContributorList typeContributors = () ->
+            List.of((typeContributions, serviceRegistry) -> typeContributions.contributeType(businessUuidType));
+        return hibernateProperties -> hibernateProperties.put(EntityManagerFactoryBuilderImpl.TYPE_CONTRIBUTORS, typeContributors);
+    }
+}
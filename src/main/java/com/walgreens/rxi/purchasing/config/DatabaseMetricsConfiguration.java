@@ -0,0 +1,92 @@
+package com.walgreens.rxi.purchasing.config;
+
+import com.walgreens.rxi.purchasing.aop.metrics.RepositoryMetricsAspect;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Metrics;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.core.env.Environment;
+
+/**
+ * Exposes the database metrics on {@code /management/prometheus}: the Hibernate statistics, bound by Spring Boot once
+ * {@code hibernate.generate_statistics} is set, the Hikari pools, the statements of each repository method, and the slow
+ * statements.
+ * <p>
+ * These meters are registered in the global registry, which Spring Boot adds the Prometheus one to: the data source and the
+ * entity manager factory are needed by the meter binders, so they cannot depend on the {@code MeterRegistry} bean themselves.
+ */
+@Configuration
+@EnableAspectJAutoProxy
+public class DatabaseMetricsConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseMetricsConfiguration.class);
+
+    @Bean
+    public RepositoryMetricsAspect repositoryMetricsAspect() {
+        return new RepositoryMetricsAspect(Metrics.globalRegistry);
+    }
+
+    /**
+     * Let the repository aspect count the statements Hibernate prepares.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer repositoryStatementInspectorCustomizer(RepositoryMetricsAspect repositoryMetricsAspect) {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, repositoryMetricsAspect);
+    }
+
+    /**
+     * Bind the metrics of the Hikari pools, and time the statements of the data sources.
+     */
+    @Bean
+    public static BeanPostProcessor statementMetricsPostProcessor(Environment environment) {
+        Duration threshold = Duration.ofMillis(
+            Binder
+                .get(environment)
+                .bindOrCreate("application.persistence", ApplicationProperties.Persistence.class)
+                .getSlowStatementThresholdMs()
+        );
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource) {
+                    bindPoolMetrics((HikariDataSource) bean);
+                }
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof StatementMetricsDataSource)) {
+                    return new StatementMetricsDataSource((DataSource) bean, Metrics.globalRegistry, threshold);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Publish the metrics of a Hikari pool, which must be done before the pool is started.
+     *
+     * @param dataSource the pool not started yet.
+     */
+    public static void bindPoolMetrics(HikariDataSource dataSource) {
+        if (dataSource.getMetricsTrackerFactory() != null || dataSource.getMetricRegistry() != null) {
+            return;
+        }
+        try {
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(Metrics.globalRegistry));
+        } catch (IllegalStateException e) {
+            log.warn("Cannot publish the metrics of the Hikari pool {} : {}", dataSource.getPoolName(), e.getMessage());
+        }
+    }
+}
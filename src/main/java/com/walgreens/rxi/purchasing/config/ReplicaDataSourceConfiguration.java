@@ -0,0 +1,176 @@
+package com.walgreens.rxi.purchasing.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends the read-only transactions to a MySQL replica, configured under {@code spring.datasource.replica} like the primary
+ * under {@code spring.datasource}, with its own Hikari pool under {@code spring.datasource.replica.hikari}.
+ * <p>
+ * The data source replaces the one of Spring Boot: it routes each transaction to the primary or the replica pool once the
+ * transaction is started, when Spring knows whether it is read-only. While the replica lags more than
+ * {@code application.persistence.replica-max-lag-seconds}, or its lag cannot be read, all the transactions go to the primary.
+ * <p>
+ * The transactions sent to the replica read from the second-level cache but do not put into it: the rows they load may be
+ * older than the entries evicted meanwhile, by this instance or another one, and would otherwise be cached until they expire.
+ */
+@Configuration
+@ConditionalOnProperty("spring.datasource.replica.url")
+public class ReplicaDataSourceConfiguration implements DisposableBean {
+
+    private final Logger log = LoggerFactory.getLogger(ReplicaDataSourceConfiguration.class);
+
+    private final HikariDataSource primary;
+
+    private final HikariDataSource replica;
+
+    private final long maxLagSeconds;
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    private volatile boolean replicaAvailable;
+
+    @Autowired
+    public ReplicaDataSourceConfiguration(
+        Environment environment,
+        DataSourceProperties dataSourceProperties,
+        ApplicationProperties applicationProperties,
+        ObjectProvider<EntityManagerFactory> entityManagerFactory
+    ) {
+        this(
+            createDataSource(Binder.get(environment), dataSourceProperties, "spring.datasource.hikari"),
+            createReplicaDataSource(Binder.get(environment), dataSourceProperties),
+            applicationProperties.getPersistence().getReplicaMaxLagSeconds(),
+            entityManagerFactory
+        );
+    }
+
+    ReplicaDataSourceConfiguration(
+        HikariDataSource primary,
+        HikariDataSource replica,
+        long maxLagSeconds,
+        ObjectProvider<EntityManagerFactory> entityManagerFactory
+    ) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagSeconds = maxLagSeconds;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    private static HikariDataSource createReplicaDataSource(Binder binder, DataSourceProperties dataSourceProperties) {
+        DataSourceProperties replicaProperties = binder.bind("spring.datasource.replica", DataSourceProperties.class).get();
+        if (replicaProperties.getUsername() == null) {
+            replicaProperties.setUsername(dataSourceProperties.getUsername());
+            replicaProperties.setPassword(dataSourceProperties.getPassword());
+        }
+        return createDataSource(binder, replicaProperties, "spring.datasource.replica.hikari");
+    }
+
+    private static HikariDataSource createDataSource(Binder binder, DataSourceProperties properties, String hikariPrefix) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind(hikariPrefix, Bindable.ofInstance(dataSource));
+        DatabaseMetricsConfiguration.bindPoolMetrics(dataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public DataSource dataSource() {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource();
+        routingDataSource.setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        routingDataSource.setDefaultTargetDataSource(primary);
+        routingDataSource.afterPropertiesSet();
+        // Delay the choice of the pool until the first statement, the transaction being read-only or not by then
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Read the replication lag of the replica, and stop or resume sending it the read-only transactions.
+     * <p>
+     * The replica must run MySQL 8.0.22 or later, which replaced {@code SHOW SLAVE STATUS} by {@code SHOW REPLICA STATUS}.
+     */
+    @Scheduled(fixedDelayString = "${application.persistence.replica-lag-check-ms:5000}")
+    public void checkReplicaLag() {
+        Long lagSeconds = null;
+        try (
+            Connection connection = replica.getConnection();
+            Statement statement = connection.createStatement();
+            ResultSet status = statement.executeQuery("SHOW REPLICA STATUS")
+        ) {
+            if (status.next()) {
+                long secondsBehindSource = status.getLong("Seconds_Behind_Source");
+                lagSeconds = status.wasNull() ? null : secondsBehindSource;
+            }
+        } catch (SQLException e) {
+            log.debug("Cannot read the replication lag of the replica : {}", e.getMessage());
+        }
+        boolean available = lagSeconds != null && lagSeconds <= maxLagSeconds;
+        if (available && !replicaAvailable) {
+            log.info("Sending the read-only transactions to the replica, {} seconds behind the primary", lagSeconds);
+        } else if (!available && replicaAvailable) {
+            log.warn("Sending the read-only transactions to the primary, the replica lags {} seconds", lagSeconds);
+        }
+        replicaAvailable = available;
+    }
+
+    @Override
+    public void destroy() {
+        replica.close();
+        primary.close();
+    }
+
+    private enum Target {
+        PRIMARY,
+        REPLICA,
+    }
+
+    private final class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            if (replicaAvailable && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                skipCachePuts();
+                return Target.REPLICA;
+            }
+            return Target.PRIMARY;
+        }
+
+        /**
+         * Keep the session of the transaction, which is getting its connection, from putting what it loads into the cache.
+         */
+        private void skipCachePuts() {
+            EntityManagerFactory currentEntityManagerFactory = entityManagerFactory.getIfAvailable();
+            if (currentEntityManagerFactory == null) {
+                return;
+            }
+            EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(currentEntityManagerFactory);
+            if (holder != null) {
+                holder.getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+            }
+        }
+    }
+}
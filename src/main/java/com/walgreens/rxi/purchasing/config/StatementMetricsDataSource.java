@@ -0,0 +1,222 @@
+package com.walgreens.rxi.purchasing.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Data source timing the statements run on its connections.
+ * <p>
+ * Every execution is recorded by the {@code purchasing.jdbc.statements} timer. The ones lasting longer than the threshold
+ * are counted by {@code purchasing.jdbc.statements.slow}, tagged with the fingerprint of their SQL, and logged with their
+ * SQL and the fingerprint of their bind parameters: the executions with the same values can be told apart from the others
+ * without writing the values to the log.
+ * <p>
+ * The parameters fingerprint is a truncated SHA-256 of the values with a random salt, so a value cannot be found back by
+ * hashing the likely ones, such as the small ids. The salt changes with each process: the fingerprints of the parameters
+ * compare within the log of one instance only.
+ */
+class StatementMetricsDataSource extends DelegatingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementMetricsDataSource.class);
+
+    private static final byte[] PARAMETERS_SALT = newSalt();
+
+    private final MeterRegistry meterRegistry;
+
+    private final Timer statementTimer;
+
+    private final long thresholdNanos;
+
+    StatementMetricsDataSource(DataSource targetDataSource, MeterRegistry meterRegistry, Duration threshold) {
+        super(targetDataSource);
+        this.meterRegistry = meterRegistry;
+        this.statementTimer =
+            Timer.builder("purchasing.jdbc.statements").description("The statements run on the database").register(meterRegistry);
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return instrument(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return instrument(super.getConnection(username, password));
+    }
+
+    private Connection instrument(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+            StatementMetricsDataSource.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            (proxy, method, args) -> {
+                if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+                    return proxy == args[0];
+                }
+                Object result = invoke(connection, method, args);
+                if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                    String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                    return Proxy.newProxyInstance(
+                        StatementMetricsDataSource.class.getClassLoader(),
+                        new Class<?>[] { method.getReturnType() },
+                        new StatementHandler((Statement) result, sql)
+                    );
+                }
+                return result;
+            }
+        );
+    }
+
+    /**
+     * Record an execution, reading the bind parameters only when it is slow: they are still set on the statement.
+     */
+    private void record(String sql, Collection<?> parameters, long nanos) {
+        statementTimer.record(nanos, TimeUnit.NANOSECONDS);
+        if (nanos >= thresholdNanos) {
+            String statementFingerprint = fingerprint(sql);
+            meterRegistry.counter("purchasing.jdbc.statements.slow", "statement", statementFingerprint).increment();
+            log.warn(
+                "Slow statement {} took {} ms, parameters {} : {}",
+                statementFingerprint,
+                TimeUnit.NANOSECONDS.toMillis(nanos),
+                fingerprint(parameters, PARAMETERS_SALT),
+                sql
+            );
+        }
+    }
+
+    /**
+     * A short hash of the SQL, the same on every instance.
+     */
+    static String fingerprint(String sql) {
+        return String.format("%08x", Objects.hashCode(sql));
+    }
+
+    /**
+     * The first 8 bytes of the SHA-256 of the salt and the values, reading the content of the collections and byte arrays.
+     */
+    static String fingerprint(Collection<?> parameters, byte[] salt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(salt);
+            update(digest, parameters);
+            return String.format("%016x", ByteBuffer.wrap(digest.digest()).getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Hash the value with its length, so that consecutive values cannot be confused.
+     */
+    private static void update(MessageDigest digest, Object value) {
+        if (value instanceof Collection) {
+            digest.update((byte) 'c');
+            digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(((Collection<?>) value).size()).array());
+            for (Object element : (Collection<?>) value) {
+                update(digest, element);
+            }
+            return;
+        }
+        if (value == null) {
+            digest.update((byte) 'n');
+            return;
+        }
+        byte[] bytes = value instanceof byte[] ? (byte[]) value : value.toString().getBytes(StandardCharsets.UTF_8);
+        digest.update(value instanceof byte[] ? (byte) 'b' : (byte) 'v');
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    private static byte[] newSalt() {
+        byte[] salt = new byte[16];
+        new SecureRandom().nextBytes(salt);
+        return salt;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Keeps the bind parameters set on the statement, and times its executions.
+     */
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+
+        private final String sql;
+
+        private final Map<Integer, Object> parameters = new TreeMap<>();
+
+        private final List<Object> batch = new ArrayList<>();
+
+        private StatementHandler(Statement statement, String sql) {
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("equals".equals(name) && method.getParameterCount() == 1) {
+                return proxy == args[0];
+            }
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                parameters.put((Integer) args[0], "setNull".equals(name) ? null : args[1]);
+            } else if ("clearParameters".equals(name)) {
+                parameters.clear();
+            } else if ("addBatch".equals(name)) {
+                batch.add(args == null || args.length == 0 ? new ArrayList<>(parameters.values()) : args[0]);
+            } else if ("clearBatch".equals(name)) {
+                batch.clear();
+            }
+            return StatementMetricsDataSource.invoke(statement, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            boolean isBatch = method.getName().endsWith("Batch");
+            String executedSql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+            long start = System.nanoTime();
+            try {
+                return StatementMetricsDataSource.invoke(statement, method, args);
+            } finally {
+                record(executedSql, isBatch ? batch : parameters.values(), System.nanoTime() - start);
+                if (isBatch) {
+                    batch.clear();
+                }
+            }
+        }
+    }
+}
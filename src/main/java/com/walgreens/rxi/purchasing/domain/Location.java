@@ -2,6 +2,7 @@ package com.walgreens.rxi.purchasing.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.walgreens.rxi.purchasing.domain.enumeration.LocationType;
+import com.walgreens.rxi.purchasing.domain.util.BusinessUuidType;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.HashSet;
@@ -9,8 +10,11 @@ import java.util.Set;
 import java.util.UUID;
 import javax.persistence.*;
 import javax.validation.constraints.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.annotations.Type;
 
 /**
@@ -19,17 +23,32 @@ import org.hibernate.annotations.Type;
 @Entity
 @Table(name = "location")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@BatchSize(size = 20)
 public class Location implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "locationIdGenerator")
+    @GenericGenerator(
+        name = "locationIdGenerator",
+        strategy = "org.hibernate.id.enhanced.TableGenerator",
+        parameters = {
+            @Parameter(name = "table_name", value = "id_generator"),
+            @Parameter(name = "segment_value", value = "location"),
+            @Parameter(name = "increment_size", value = "50"),
+            @Parameter(name = "optimizer", value = "pooled-lo")
+        }
+    )
     private Long id;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @NotNull
-    @Type(type = "uuid-char")
-    @Column(name = "location_number", length = 36, nullable = false)
+    @Type(type = BusinessUuidType.NAME)
+    @Column(name = "location_number", length = 36, nullable = false, unique = true)
     private UUID locationNumber;
 
     @NotNull
@@ -62,12 +81,13 @@ public class Location implements Serializable {
     private LocationType type;
 
     @JsonIgnoreProperties(value = { "location" }, allowSetters = true)
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(unique = true)
     private Address address;
 
     @OneToMany(mappedBy = "location")
     @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @BatchSize(size = 20)
     @JsonIgnoreProperties(value = { "orderItems", "location" }, allowSetters = true)
     private Set<LocationOrder> orders = new HashSet<>();
 
@@ -85,6 +105,19 @@ public class Location implements Serializable {
         return this;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Location version(Long version) {
+        this.version = version;
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public UUID getLocationNumber() {
         return this.locationNumber;
     }
@@ -256,7 +289,7 @@ public class Location implements Serializable {
         if (!(o instanceof Location)) {
             return false;
         }
-        return id != null && id.equals(((Location) o).id);
+        return id != null && id.equals(((Location) o).getId());
     }
 
     @Override
@@ -270,6 +303,7 @@ public class Location implements Serializable {
     public String toString() {
         return "Location{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", locationNumber='" + getLocationNumber() + "'" +
             ", locationName='" + getLocationName() + "'" +
             ", location='" + getLocation() + "'" +
@@ -2,6 +2,7 @@ package com.walgreens.rxi.purchasing.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.walgreens.rxi.purchasing.domain.enumeration.OrderStatus;
+import com.walgreens.rxi.purchasing.domain.util.BusinessUuidType;
 import java.io.Serializable;
 import java.time.Instant;
 import java.util.HashSet;
@@ -9,8 +10,11 @@ import java.util.Set;
 import java.util.UUID;
 import javax.persistence.*;
 import javax.validation.constraints.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.annotations.Type;
 
 /**
@@ -19,17 +23,58 @@ import org.hibernate.annotations.Type;
 @Entity
 @Table(name = "location_order")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@BatchSize(size = 20)
+@NamedEntityGraphs(
+    {
+        @NamedEntityGraph(
+            name = LocationOrder.WITH_LOCATION_GRAPH,
+            attributeNodes = @NamedAttributeNode(value = "location", subgraph = "location"),
+            subgraphs = @NamedSubgraph(name = "location", attributeNodes = @NamedAttributeNode("address"))
+        ),
+        @NamedEntityGraph(
+            name = LocationOrder.WITH_ORDER_ITEMS_AND_LOCATION_GRAPH,
+            attributeNodes = { @NamedAttributeNode("orderItems"), @NamedAttributeNode(value = "location", subgraph = "location") },
+            subgraphs = @NamedSubgraph(name = "location", attributeNodes = @NamedAttributeNode("address"))
+        )
+    }
+)
 public class LocationOrder implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Fetch plan joining the location and its address.
+     */
+    public static final String WITH_LOCATION_GRAPH = "LocationOrder.withLocation";
+
+    /**
+     * Fetch plan joining the orderItems, the location and its address.
+     */
+    public static final String WITH_ORDER_ITEMS_AND_LOCATION_GRAPH = "LocationOrder.withOrderItemsAndLocation";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "locationOrderIdGenerator")
+    @GenericGenerator(
+        name = "locationOrderIdGenerator",
+        strategy = "org.hibernate.id.enhanced.TableGenerator",
+        parameters = {
+            @Parameter(name = "table_name", value = "id_generator"),
+            @Parameter(name = "segment_value", value = "location_order"),
+            @Parameter(name = "increment_size", value = "50"),
+            @Parameter(name = "optimizer", value = "pooled-lo")
+        }
+    )
     private Long id;
 
-    @NotNull
-    @Type(type = "uuid-char")
-    @Column(name = "code", length = 36, nullable = false)
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * Given a time-ordered code by the service when saved without one.
+     */
+    @Type(type = BusinessUuidType.NAME)
+    @Column(name = "code", length = 36, nullable = false, unique = true)
     private UUID code;
 
     @NotNull
@@ -46,10 +91,11 @@ public class LocationOrder implements Serializable {
 
     @OneToMany(mappedBy = "locationOrder")
     @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @BatchSize(size = 20)
     @JsonIgnoreProperties(value = { "locationOrder" }, allowSetters = true)
     private Set<OrderItem> orderItems = new HashSet<>();
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "address", "orders" }, allowSetters = true)
     private Location location;
 
@@ -67,6 +113,19 @@ public class LocationOrder implements Serializable {
         return this;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public LocationOrder version(Long version) {
+        this.version = version;
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public UUID getCode() {
         return this.code;
     }
@@ -173,7 +232,7 @@ public class LocationOrder implements Serializable {
         if (!(o instanceof LocationOrder)) {
             return false;
         }
-        return id != null && id.equals(((LocationOrder) o).id);
+        return id != null && id.equals(((LocationOrder) o).getId());
     }
 
     @Override
@@ -187,6 +246,7 @@ public class LocationOrder implements Serializable {
     public String toString() {
         return "LocationOrder{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", code='" + getCode() + "'" +
             ", placedDate='" + getPlacedDate() + "'" +
             ", status='" + getStatus() + "'" +
@@ -0,0 +1,186 @@
+package com.walgreens.rxi.purchasing.domain;
+
+import com.walgreens.rxi.purchasing.domain.enumeration.OrderItemStatus;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+import javax.persistence.*;
+import javax.validation.constraints.*;
+
+/**
+ * The totals of the {@link OrderItem}s of one {@link LocationOrder}.
+ * <p>
+ * Rows are maintained by {@link com.walgreens.rxi.purchasing.service.LocationOrderSummaryService} whenever order items are written,
+ * with set-based statements, so they are not second-level cached.
+ */
+@Entity
+@Table(name = "location_order_summary")
+public class LocationOrderSummary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "location_order_id")
+    private Long locationOrderId;
+
+    @NotNull
+    @Column(name = "item_count", nullable = false)
+    private Long itemCount;
+
+    @NotNull
+    @Column(name = "total_price", precision = 21, scale = 2, nullable = false)
+    private BigDecimal totalPrice;
+
+    @NotNull
+    @Column(name = "available_count", nullable = false)
+    private Long availableCount;
+
+    @NotNull
+    @Column(name = "out_of_stock_count", nullable = false)
+    private Long outOfStockCount;
+
+    @NotNull
+    @Column(name = "back_order_count", nullable = false)
+    private Long backOrderCount;
+
+    public LocationOrderSummary() {}
+
+    /**
+     * Constructor used by the query projections computing the totals from the order items.
+     */
+    public LocationOrderSummary(
+        Long locationOrderId,
+        Long itemCount,
+        BigDecimal totalPrice,
+        Long availableCount,
+        Long outOfStockCount,
+        Long backOrderCount
+    ) {
+        this.locationOrderId = locationOrderId;
+        this.itemCount = itemCount;
+        this.totalPrice = totalPrice;
+        this.availableCount = availableCount;
+        this.outOfStockCount = outOfStockCount;
+        this.backOrderCount = backOrderCount;
+    }
+
+    /**
+     * The summary of a location order without any order item.
+     */
+    public static LocationOrderSummary empty(Long locationOrderId) {
+        return new LocationOrderSummary(locationOrderId, 0L, BigDecimal.ZERO, 0L, 0L, 0L);
+    }
+
+    public Long getLocationOrderId() {
+        return locationOrderId;
+    }
+
+    public void setLocationOrderId(Long locationOrderId) {
+        this.locationOrderId = locationOrderId;
+    }
+
+    public Long getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(Long itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    public BigDecimal getTotalPrice() {
+        return totalPrice;
+    }
+
+    public void setTotalPrice(BigDecimal totalPrice) {
+        this.totalPrice = totalPrice;
+    }
+
+    public Long getAvailableCount() {
+        return availableCount;
+    }
+
+    public void setAvailableCount(Long availableCount) {
+        this.availableCount = availableCount;
+    }
+
+    public Long getOutOfStockCount() {
+        return outOfStockCount;
+    }
+
+    public void setOutOfStockCount(Long outOfStockCount) {
+        this.outOfStockCount = outOfStockCount;
+    }
+
+    public Long getBackOrderCount() {
+        return backOrderCount;
+    }
+
+    public void setBackOrderCount(Long backOrderCount) {
+        this.backOrderCount = backOrderCount;
+    }
+
+    /**
+     * Get the number of order items in the given status.
+     *
+     * @param status the status of the order items.
+     * @return the number of order items.
+     */
+    public Long getCount(OrderItemStatus status) {
+        switch (status) {
+            case AVAILABLE:
+                return availableCount;
+            case OUT_OF_STOCK:
+                return outOfStockCount;
+            case BACK_ORDER:
+                return backOrderCount;
+            default:
+                throw new IllegalArgumentException("Unknown status: " + status);
+        }
+    }
+
+    /**
+     * Whether both summaries hold the same totals, whatever the scale of their prices.
+     *
+     * @param other the summary to compare with.
+     * @return {@code true} if the counts and the total prices are equal.
+     */
+    public boolean hasSameTotals(LocationOrderSummary other) {
+        return (
+            Objects.equals(itemCount, other.itemCount) &&
+            totalPrice.compareTo(other.totalPrice) == 0 &&
+            Objects.equals(availableCount, other.availableCount) &&
+            Objects.equals(outOfStockCount, other.outOfStockCount) &&
+            Objects.equals(backOrderCount, other.backOrderCount)
+        );
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LocationOrderSummary)) {
+            return false;
+        }
+        return locationOrderId != null && locationOrderId.equals(((LocationOrderSummary) o).locationOrderId);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "LocationOrderSummary{" +
+            "locationOrderId=" + getLocationOrderId() +
+            ", itemCount=" + getItemCount() +
+            ", totalPrice=" + getTotalPrice() +
+            ", availableCount=" + getAvailableCount() +
+            ", outOfStockCount=" + getOutOfStockCount() +
+            ", backOrderCount=" + getBackOrderCount() +
+            "}";
+    }
+}
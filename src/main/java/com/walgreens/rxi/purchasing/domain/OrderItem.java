@@ -8,6 +8,8 @@ import javax.persistence.*;
 import javax.validation.constraints.*;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 /**
  * A OrderItem.
@@ -20,9 +22,23 @@ public class OrderItem implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "orderItemIdGenerator")
+    @GenericGenerator(
+        name = "orderItemIdGenerator",
+        strategy = "org.hibernate.id.enhanced.TableGenerator",
+        parameters = {
+            @Parameter(name = "table_name", value = "id_generator"),
+            @Parameter(name = "segment_value", value = "order_item"),
+            @Parameter(name = "increment_size", value = "50"),
+            @Parameter(name = "optimizer", value = "pooled-lo")
+        }
+    )
     private Long id;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @NotNull
     @Min(value = 0)
     @Column(name = "quantity", nullable = false)
@@ -38,7 +54,7 @@ public class OrderItem implements Serializable {
     @Column(name = "status", nullable = false)
     private OrderItemStatus status;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "orderItems", "location" }, allowSetters = true)
     private LocationOrder locationOrder;
 
@@ -56,6 +72,19 @@ public class OrderItem implements Serializable {
         return this;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public OrderItem version(Long version) {
+        this.version = version;
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Integer getQuantity() {
         return this.quantity;
     }
@@ -118,7 +147,7 @@ public class OrderItem implements Serializable {
         if (!(o instanceof OrderItem)) {
             return false;
         }
-        return id != null && id.equals(((OrderItem) o).id);
+        return id != null && id.equals(((OrderItem) o).getId());
     }
 
     @Override
@@ -132,6 +161,7 @@ public class OrderItem implements Serializable {
     public String toString() {
         return "OrderItem{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", quantity=" + getQuantity() +
             ", totalPrice=" + getTotalPrice() +
             ", status='" + getStatus() + "'" +
@@ -0,0 +1,137 @@
+package com.walgreens.rxi.purchasing.domain;
+
+import com.walgreens.rxi.purchasing.domain.enumeration.PurchasingEventType;
+import java.io.Serializable;
+import java.time.Instant;
+import javax.persistence.*;
+import javax.validation.constraints.*;
+
+/**
+ * A purchasing event written in the transaction of the change it describes, and relayed to Kafka afterwards.
+ * <p>
+ * The id is assigned by the database on insert rather than from a pooled block of one node, so the relay, which sends
+ * the events by id, follows the order in which they were written whatever the node writing them.
+ */
+@Entity
+@Table(name = "outbox_event")
+public class OutboxEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", length = 50, nullable = false)
+    private PurchasingEventType eventType;
+
+    /**
+     * The Kafka record key, the code of the location order the event belongs to.
+     */
+    @Column(name = "event_key", length = 36)
+    private String eventKey;
+
+    @NotNull
+    @Lob
+    @Column(name = "payload", nullable = false)
+    private String payload;
+
+    @NotNull
+    @Column(name = "created_date", nullable = false)
+    private Instant createdDate;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public OutboxEvent id(Long id) {
+        this.id = id;
+        return this;
+    }
+
+    public PurchasingEventType getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(PurchasingEventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public OutboxEvent eventType(PurchasingEventType eventType) {
+        this.eventType = eventType;
+        return this;
+    }
+
+    public String getEventKey() {
+        return eventKey;
+    }
+
+    public void setEventKey(String eventKey) {
+        this.eventKey = eventKey;
+    }
+
+    public OutboxEvent eventKey(String eventKey) {
+        this.eventKey = eventKey;
+        return this;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public OutboxEvent payload(String payload) {
+        this.payload = payload;
+        return this;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public OutboxEvent createdDate(Instant createdDate) {
+        this.createdDate = createdDate;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OutboxEvent)) {
+            return false;
+        }
+        return id != null && id.equals(((OutboxEvent) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OutboxEvent{" +
+            "id=" + getId() +
+            ", eventType='" + getEventType() + "'" +
+            ", eventKey='" + getEventKey() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            "}";
+    }
+}
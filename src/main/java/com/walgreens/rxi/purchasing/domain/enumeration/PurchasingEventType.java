@@ -0,0 +1,14 @@
+package com.walgreens.rxi.purchasing.domain.enumeration;
+
+/**
+ * The PurchasingEventType enumeration, the kinds of events published to Kafka through the outbox.
+ */
+public enum PurchasingEventType {
+    LOCATION_ORDER_CREATED,
+    LOCATION_ORDER_UPDATED,
+    LOCATION_ORDER_DELETED,
+    ORDER_ITEM_CREATED,
+    ORDER_ITEM_UPDATED,
+    ORDER_ITEM_DELETED,
+    ORDER_ITEM_STATUSES_CHANGED,
+}
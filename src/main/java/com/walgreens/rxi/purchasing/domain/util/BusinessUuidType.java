@@ -0,0 +1,34 @@
+package com.walgreens.rxi.purchasing.domain.util;
+
+import java.util.UUID;
+import org.hibernate.type.AbstractSingleColumnStandardBasicType;
+import org.hibernate.type.descriptor.java.UUIDTypeDescriptor;
+import org.hibernate.type.descriptor.sql.BinaryTypeDescriptor;
+import org.hibernate.type.descriptor.sql.SqlTypeDescriptor;
+import org.hibernate.type.descriptor.sql.VarcharTypeDescriptor;
+
+/**
+ * Hibernate type for the UUID business keys ({@code Location.locationNumber}, {@code LocationOrder.code}).
+ * <p>
+ * The storage is chosen once per deployment: {@link #CHAR} keeps the historical 36 character column,
+ * {@link #BINARY} stores the 16 raw bytes, most significant first, so that a
+ * {@link TimeOrderedUuidGenerator time-ordered} key sorts by creation time in the index.
+ * Exactly one of them is registered under {@link #NAME}, see {@code DatabaseConfiguration}.
+ */
+public class BusinessUuidType extends AbstractSingleColumnStandardBasicType<UUID> {
+
+    public static final String NAME = "business-uuid";
+
+    public static final BusinessUuidType CHAR = new BusinessUuidType(VarcharTypeDescriptor.INSTANCE);
+
+    public static final BusinessUuidType BINARY = new BusinessUuidType(BinaryTypeDescriptor.INSTANCE);
+
+    private BusinessUuidType(SqlTypeDescriptor sqlTypeDescriptor) {
+        super(sqlTypeDescriptor, UUIDTypeDescriptor.INSTANCE);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+}
@@ -0,0 +1,28 @@
+package com.walgreens.rxi.purchasing.domain.util;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.UUID;
+
+/**
+ * Generates version 7 UUIDs: the 48 most significant bits hold the Unix time in milliseconds and the
+ * remaining bits are random, so keys created later compare greater once stored as {@link BusinessUuidType#BINARY}.
+ * New rows are then appended to the right of the InnoDB index instead of splitting random pages.
+ */
+public final class TimeOrderedUuidGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private TimeOrderedUuidGenerator() {}
+
+    public static UUID generate() {
+        return generate(Clock.systemUTC());
+    }
+
+    static UUID generate(Clock clock) {
+        long timestamp = clock.millis() & 0xFFFFFFFFFFFFL;
+        long mostSigBits = (timestamp << 16) | 0x7000L | (RANDOM.nextInt() & 0x0FFFL);
+        long leastSigBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
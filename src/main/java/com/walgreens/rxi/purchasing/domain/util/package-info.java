@@ -0,0 +1,4 @@
+/**
+ * Persistence helpers for the JPA domain objects.
+ */
+package com.walgreens.rxi.purchasing.domain.util;
@@ -1,6 +1,10 @@
 package com.walgreens.rxi.purchasing.repository;
 
 import com.walgreens.rxi.purchasing.domain.Address;
+import com.walgreens.rxi.purchasing.repository.projection.AddressView;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +13,26 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface AddressRepository extends JpaRepository<Address, Long> {}
+public interface AddressRepository extends JpaRepository<Address, Long> {
+    /**
+     * Selects the columns of {@link AddressView}, which leaves out the inverse {@code location} association that Hibernate
+     * would otherwise initialise with one extra select per address.
+     */
+    String VIEW_SELECT =
+        "select address.id as id, address.version as version, address.address1 as address1, address.address2 as address2, " +
+        "address.city as city, address.postcode as postcode, address.country as country, address.timezone as timezone, " +
+        "address.latitude as latitude, address.longitude as longitude from Address address ";
+
+    @Query(VIEW_SELECT)
+    List<AddressView> findAllViews();
+
+    /**
+     * Addresses no location refers to, resolved with an anti-join on {@code location.address_id}.
+     */
+    @Query(
+        value = VIEW_SELECT + "where not exists (select location.id from Location location where location.address = address)",
+        countQuery = "select count(address) from Address address where not exists " +
+        "(select location.id from Location location where location.address = address)"
+    )
+    Page<AddressView> findAllWhereLocationIsNull(Pageable pageable);
+}
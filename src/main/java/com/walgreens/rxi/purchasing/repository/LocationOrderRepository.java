@@ -1,7 +1,18 @@
 package com.walgreens.rxi.purchasing.repository;
 
 import com.walgreens.rxi.purchasing.domain.LocationOrder;
+import com.walgreens.rxi.purchasing.repository.projection.LocationOrderView;
+import com.walgreens.rxi.purchasing.service.dto.LocationSpendDTO;
+import com.walgreens.rxi.purchasing.service.dto.OrderStatusSpendDTO;
+import com.walgreens.rxi.purchasing.service.dto.PeriodSpendDTO;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +20,84 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface LocationOrderRepository extends JpaRepository<LocationOrder, Long> {}
+public interface LocationOrderRepository extends JpaRepository<LocationOrder, Long> {
+    Optional<LocationOrder> findByCode(UUID code);
+
+    @Query("select locationOrder.code from LocationOrder locationOrder where locationOrder.code in :codes")
+    List<UUID> findExistingCodes(@Param("codes") Collection<UUID> codes);
+
+    /**
+     * Selects the columns of {@link LocationOrderView}, joining the location for its locationNumber.
+     */
+    String VIEW_SELECT =
+        "select locationOrder.id as id, locationOrder.version as version, locationOrder.code as code, " +
+        "locationOrder.placedDate as placedDate, locationOrder.status as status, locationOrder.invoiceId as invoiceId, " +
+        "location.id as locationId, location.locationNumber as locationLocationNumber " +
+        "from LocationOrder locationOrder left join locationOrder.location location ";
+
+    /**
+     * First page of the keyset over {@code (placed_date, id)}, newest first.
+     */
+    @Query(VIEW_SELECT + "order by locationOrder.placedDate desc, locationOrder.id desc")
+    List<LocationOrderView> findFirstKeysetPage(Pageable pageable);
+
+    /**
+     * Page of the keyset over {@code (placed_date, id)} that follows the given position, newest first.
+     */
+    @Query(
+        VIEW_SELECT +
+        "where locationOrder.placedDate < :placedDate or (locationOrder.placedDate = :placedDate and locationOrder.id < :id) " +
+        "order by locationOrder.placedDate desc, locationOrder.id desc"
+    )
+    List<LocationOrderView> findKeysetPageAfter(@Param("placedDate") Instant placedDate, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * The locationOrders with the given ids, with their location joined in the same statement.
+     */
+    @EntityGraph(LocationOrder.WITH_LOCATION_GRAPH)
+    @Query("select locationOrder from LocationOrder locationOrder where locationOrder.id in :ids")
+    List<LocationOrder> findAllWithLocationByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * The locationOrders with the given ids, with their orderItems and location joined in the same statement.
+     */
+    @EntityGraph(LocationOrder.WITH_ORDER_ITEMS_AND_LOCATION_GRAPH)
+    @Query("select distinct locationOrder from LocationOrder locationOrder where locationOrder.id in :ids")
+    List<LocationOrder> findAllWithOrderItemsAndLocationByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Ids greater than the given one, in ascending order, to walk all the locationOrders in chunks.
+     */
+    @Query("select locationOrder.id from LocationOrder locationOrder where locationOrder.id > :id order by locationOrder.id")
+    List<Long> findIdsAfter(@Param("id") Long id, Pageable pageable);
+
+    @Query(
+        "select new com.walgreens.rxi.purchasing.service.dto.LocationSpendDTO(" +
+        "locationOrder.location.id, " +
+        "count(distinct locationOrder.id), count(orderItem.id), coalesce(sum(orderItem.totalPrice), 0)) " +
+        "from LocationOrder locationOrder left join locationOrder.orderItems orderItem " +
+        "where locationOrder.placedDate >= :from and locationOrder.placedDate < :to " +
+        "group by locationOrder.location.id order by locationOrder.location.id"
+    )
+    List<LocationSpendDTO> sumSpendByLocation(@Param("from") Instant from, @Param("to") Instant to);
+
+    @Query(
+        "select new com.walgreens.rxi.purchasing.service.dto.OrderStatusSpendDTO(" +
+        "locationOrder.status, " +
+        "count(distinct locationOrder.id), count(orderItem.id), coalesce(sum(orderItem.totalPrice), 0)) " +
+        "from LocationOrder locationOrder left join locationOrder.orderItems orderItem " +
+        "where locationOrder.placedDate >= :from and locationOrder.placedDate < :to " +
+        "group by locationOrder.status order by locationOrder.status"
+    )
+    List<OrderStatusSpendDTO> sumSpendByStatus(@Param("from") Instant from, @Param("to") Instant to);
+
+    @Query(
+        "select new com.walgreens.rxi.purchasing.service.dto.PeriodSpendDTO(" +
+        "cast(locationOrder.placedDate as date), " +
+        "count(distinct locationOrder.id), count(orderItem.id), coalesce(sum(orderItem.totalPrice), 0)) " +
+        "from LocationOrder locationOrder left join locationOrder.orderItems orderItem " +
+        "where locationOrder.placedDate >= :from and locationOrder.placedDate < :to " +
+        "group by cast(locationOrder.placedDate as date) order by cast(locationOrder.placedDate as date)"
+    )
+    List<PeriodSpendDTO> sumSpendByDay(@Param("from") Instant from, @Param("to") Instant to);
+}
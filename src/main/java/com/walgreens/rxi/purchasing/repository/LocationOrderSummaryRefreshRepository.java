@@ -0,0 +1,19 @@
+package com.walgreens.rxi.purchasing.repository;
+
+import java.util.Collection;
+
+/**
+ * Set-based maintenance of the LocationOrderSummary entity, mixed into {@link LocationOrderSummaryRepository}.
+ */
+public interface LocationOrderSummaryRefreshRepository {
+    /**
+     * Recompute the summaries of the given locationOrders from their orderItems, creating the missing ones.
+     * <p>
+     * The totals are computed by the {@code UPDATE} statement itself, which reads the orderItems committed by concurrent
+     * transactions, so two transactions writing items of the same order cannot leave a stale summary behind.
+     *
+     * @param locationOrderIds the ids of the locationOrders to refresh.
+     * @return the number of refreshed summaries.
+     */
+    int refresh(Collection<Long> locationOrderIds);
+}
@@ -0,0 +1,68 @@
+package com.walgreens.rxi.purchasing.repository;
+
+import java.util.Collection;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+
+/**
+ * Implementation of {@link LocationOrderSummaryRefreshRepository}.
+ */
+public class LocationOrderSummaryRefreshRepositoryImpl implements LocationOrderSummaryRefreshRepository {
+
+    private static final String SUMMARY_TABLE = "location_order_summary";
+
+    private static final String INSERT_MISSING =
+        "insert into location_order_summary " +
+        "(location_order_id, item_count, total_price, available_count, out_of_stock_count, back_order_count) " +
+        "select location_order.id, 0, 0, 0, 0, 0 from location_order where location_order.id in (:ids) " +
+        "and not exists (select 1 from location_order_summary summary where summary.location_order_id = location_order.id)";
+
+    private static final String UPDATE_TOTALS =
+        "update location_order_summary set " +
+        "item_count = " +
+        aggregateItems("count(*)", "") +
+        ", total_price = " +
+        aggregateItems("coalesce(sum(item.total_price), 0)", "") +
+        ", available_count = " +
+        aggregateItems("count(*)", " and item.status = 'AVAILABLE'") +
+        ", out_of_stock_count = " +
+        aggregateItems("count(*)", " and item.status = 'OUT_OF_STOCK'") +
+        ", back_order_count = " +
+        aggregateItems("count(*)", " and item.status = 'BACK_ORDER'") +
+        " where location_order_id in (:ids)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int refresh(Collection<Long> locationOrderIds) {
+        if (locationOrderIds.isEmpty()) {
+            return 0;
+        }
+        // The orderItems written by the current transaction must reach the database before the statements
+        entityManager.flush();
+        execute(INSERT_MISSING, locationOrderIds);
+        return execute(UPDATE_TOTALS, locationOrderIds);
+    }
+
+    private static String aggregateItems(String aggregate, String condition) {
+        return (
+            "(select " +
+            aggregate +
+            " from order_item item where item.location_order_id = location_order_summary.location_order_id" +
+            condition +
+            ")"
+        );
+    }
+
+    private int execute(String statement, Collection<Long> locationOrderIds) {
+        return entityManager
+            .createNativeQuery(statement)
+            .setParameter("ids", locationOrderIds)
+            .unwrap(NativeQuery.class)
+            // Only the summaries are written, which keeps the second-level cache of the other entities
+            .addSynchronizedQuerySpace(SUMMARY_TABLE)
+            .executeUpdate();
+    }
+}
@@ -0,0 +1,33 @@
+package com.walgreens.rxi.purchasing.repository;
+
+import com.walgreens.rxi.purchasing.domain.LocationOrderSummary;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the LocationOrderSummary entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface LocationOrderSummaryRepository
+    extends JpaRepository<LocationOrderSummary, Long>, LocationOrderSummaryRefreshRepository {
+    /**
+     * Compute the summaries of the given locationOrders from their orderItems, without reading the stored summaries.
+     * LocationOrders without any orderItem are not returned.
+     */
+    @Query(
+        "select new com.walgreens.rxi.purchasing.domain.LocationOrderSummary(" +
+        "orderItem.locationOrder.id, count(orderItem.id), coalesce(sum(orderItem.totalPrice), 0), " +
+        "sum(case when orderItem.status = " +
+        "com.walgreens.rxi.purchasing.domain.enumeration.OrderItemStatus.AVAILABLE then 1 else 0 end), " +
+        "sum(case when orderItem.status = " +
+        "com.walgreens.rxi.purchasing.domain.enumeration.OrderItemStatus.OUT_OF_STOCK then 1 else 0 end), " +
+        "sum(case when orderItem.status = " +
+        "com.walgreens.rxi.purchasing.domain.enumeration.OrderItemStatus.BACK_ORDER then 1 else 0 end)) " +
+        "from OrderItem orderItem where orderItem.locationOrder.id in :ids group by orderItem.locationOrder.id"
+    )
+    List<LocationOrderSummary> computeFromOrderItems(@Param("ids") Collection<Long> locationOrderIds);
+}
@@ -1,7 +1,14 @@
 package com.walgreens.rxi.purchasing.repository;
 
 import com.walgreens.rxi.purchasing.domain.Location;
+import com.walgreens.rxi.purchasing.repository.projection.LocationView;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +16,25 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface LocationRepository extends JpaRepository<Location, Long> {}
+public interface LocationRepository extends JpaRepository<Location, Long> {
+    String LOCATION_IDS_BY_NUMBER_CACHE = "locationIdsByNumber";
+
+    Optional<Location> findByLocationNumber(UUID locationNumber);
+
+    @Cacheable(cacheNames = LOCATION_IDS_BY_NUMBER_CACHE, unless = "#result == null")
+    @Query("select location.id from Location location where location.locationNumber = :locationNumber")
+    Optional<Long> findIdByLocationNumber(@Param("locationNumber") UUID locationNumber);
+
+    /**
+     * Page of the locations without their address and orders, the address being only referred to by its id.
+     */
+    @Query(
+        value = "select location.id as id, location.version as version, location.locationNumber as locationNumber, " +
+        "location.locationName as locationName, location.location as location, location.city as city, " +
+        "location.state as state, location.county as county, location.phoneNumber as phoneNumber, " +
+        "location.pharmacyHours as pharmacyHours, location.type as type, location.address.id as addressId " +
+        "from Location location",
+        countQuery = "select count(location) from Location location"
+    )
+    Page<LocationView> findAllViews(Pageable pageable);
+}
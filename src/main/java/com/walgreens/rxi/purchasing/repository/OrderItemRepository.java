@@ -1,7 +1,10 @@
 package com.walgreens.rxi.purchasing.repository;
 
 import com.walgreens.rxi.purchasing.domain.OrderItem;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +12,11 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {}
+public interface OrderItemRepository
+    extends JpaRepository<OrderItem, Long>, JpaSpecificationExecutor<OrderItem>, OrderItemStatusBulkRepository {
+    @Query("select distinct orderItem.locationOrder.id from OrderItem orderItem where orderItem.id in :ids")
+    List<Long> findLocationOrderIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select orderItem from OrderItem orderItem left join fetch orderItem.locationOrder where orderItem.id in :ids")
+    List<OrderItem> findAllWithLocationOrderByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,24 @@
+package com.walgreens.rxi.purchasing.repository;
+
+import com.walgreens.rxi.purchasing.domain.enumeration.OrderItemStatus;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set-based status updates for the OrderItem entity, mixed into {@link OrderItemRepository}.
+ */
+public interface OrderItemStatusBulkRepository {
+    /**
+     * Set the status of the given orderItems with a single {@code UPDATE ... WHERE id IN (...)} statement, and evict
+     * exactly the updated orderItems from the second-level cache.
+     * <p>
+     * The existing orderItems are locked with a {@code SELECT ... FOR UPDATE} first, so none of them can be deleted
+     * before the update by another transaction.
+     * As with any bulk statement, orderItems already loaded in the current persistence context are not refreshed.
+     *
+     * @param ids the ids of the orderItems to update.
+     * @param status the new status.
+     * @return the ids of the updated orderItems, the others do not exist.
+     */
+    List<Long> updateStatus(Collection<Long> ids, OrderItemStatus status);
+}
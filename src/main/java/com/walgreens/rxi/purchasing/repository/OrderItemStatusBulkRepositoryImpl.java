@@ -0,0 +1,49 @@
+package com.walgreens.rxi.purchasing.repository;
+
+import com.walgreens.rxi.purchasing.domain.OrderItem;
+import com.walgreens.rxi.purchasing.domain.enumeration.OrderItemStatus;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+
+/**
+ * Implementation of {@link OrderItemStatusBulkRepository}.
+ */
+public class OrderItemStatusBulkRepositoryImpl implements OrderItemStatusBulkRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> updateStatus(Collection<Long> ids, OrderItemStatus status) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // Pending changes must reach the database before the statements
+        entityManager.flush();
+        // Locking the rows keeps the returned ids exact, an orderItem deleted meanwhile would not be updated
+        List<?> lockedIds = entityManager
+            .createNativeQuery("select id from order_item where id in (:ids) for update")
+            .setParameter("ids", ids)
+            .getResultList();
+        List<Long> existingIds = lockedIds.stream().map(id -> ((Number) id).longValue()).collect(Collectors.toList());
+        if (existingIds.isEmpty()) {
+            return existingIds;
+        }
+        entityManager
+            .createNativeQuery("update order_item set status = :status, version = version + 1 where id in (:ids)")
+            .setParameter("status", status.name())
+            .setParameter("ids", existingIds)
+            .unwrap(NativeQuery.class)
+            // An empty query space stops Hibernate from evicting the whole OrderItem region, only these entries are evicted below
+            .addSynchronizedQuerySpace("")
+            .executeUpdate();
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        existingIds.forEach(id -> cache.evict(OrderItem.class, id));
+        return existingIds;
+    }
+}
@@ -0,0 +1,22 @@
+package com.walgreens.rxi.purchasing.repository;
+
+import com.walgreens.rxi.purchasing.domain.OutboxEvent;
+import java.util.List;
+import javax.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the OutboxEvent entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    /**
+     * Oldest events first, locked until the end of the transaction so that a single relay sends them.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select outboxEvent from OutboxEvent outboxEvent order by outboxEvent.id")
+    List<OutboxEvent> findOldestForUpdate(Pageable pageable);
+}
@@ -0,0 +1,26 @@
+package com.walgreens.rxi.purchasing.repository.projection;
+
+/**
+ * The columns of an {@link com.walgreens.rxi.purchasing.domain.Address}, without its inverse {@code location}.
+ */
+public interface AddressView {
+    Long getId();
+
+    Long getVersion();
+
+    String getAddress1();
+
+    String getAddress2();
+
+    String getCity();
+
+    String getPostcode();
+
+    String getCountry();
+
+    String getTimezone();
+
+    Double getLatitude();
+
+    Double getLongitude();
+}
@@ -0,0 +1,27 @@
+package com.walgreens.rxi.purchasing.repository.projection;
+
+import com.walgreens.rxi.purchasing.domain.enumeration.OrderStatus;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The columns of a {@link com.walgreens.rxi.purchasing.domain.LocationOrder}, with the id and locationNumber of its location
+ * instead of the location.
+ */
+public interface LocationOrderView {
+    Long getId();
+
+    Long getVersion();
+
+    UUID getCode();
+
+    Instant getPlacedDate();
+
+    OrderStatus getStatus();
+
+    Long getInvoiceId();
+
+    Long getLocationId();
+
+    UUID getLocationLocationNumber();
+}
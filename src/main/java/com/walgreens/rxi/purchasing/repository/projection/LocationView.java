@@ -0,0 +1,34 @@
+package com.walgreens.rxi.purchasing.repository.projection;
+
+import com.walgreens.rxi.purchasing.domain.enumeration.LocationType;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * The columns of a {@link com.walgreens.rxi.purchasing.domain.Location}, with the id of its address instead of the address.
+ */
+public interface LocationView {
+    Long getId();
+
+    Long getVersion();
+
+    UUID getLocationNumber();
+
+    String getLocationName();
+
+    String getLocation();
+
+    String getCity();
+
+    String getState();
+
+    String getCounty();
+
+    BigDecimal getPhoneNumber();
+
+    String getPharmacyHours();
+
+    LocationType getType();
+
+    Long getAddressId();
+}
@@ -0,0 +1,4 @@
+/**
+ * Spring Data projections selecting only the columns the read endpoints return.
+ */
+package com.walgreens.rxi.purchasing.repository.projection;
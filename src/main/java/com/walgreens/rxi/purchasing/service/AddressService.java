@@ -0,0 +1,143 @@
+package com.walgreens.rxi.purchasing.service;
+
+import com.walgreens.rxi.purchasing.domain.Address;
+import com.walgreens.rxi.purchasing.repository.AddressRepository;
+import com.walgreens.rxi.purchasing.service.dto.AddressDTO;
+import com.walgreens.rxi.purchasing.service.mapper.AddressMapper;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service Implementation for managing {@link Address}.
+ */
+@Service
+@Transactional
+public class AddressService {
+
+    private final Logger log = LoggerFactory.getLogger(AddressService.class);
+
+    private final AddressRepository addressRepository;
+
+    private final AddressMapper addressMapper;
+
+    public AddressService(AddressRepository addressRepository, AddressMapper addressMapper) {
+        this.addressRepository = addressRepository;
+        this.addressMapper = addressMapper;
+    }
+
+    /**
+     * Save a address.
+     *
+     * @param addressDTO the entity to save.
+     * @return the persisted entity.
+     */
+    public AddressDTO save(AddressDTO addressDTO) {
+        log.debug("Request to save Address : {}", addressDTO);
+        Address address = addressMapper.toEntity(addressDTO);
+        address = addressRepository.save(address);
+        return addressMapper.toDto(address);
+    }
+
+    /**
+     * Update a address, loaded once to merge the changes onto it.
+     *
+     * @param addressDTO the entity to update, without a version to overwrite the current one.
+     * @return the persisted entity, or empty if there is no address with this id.
+     * @throws ObjectOptimisticLockingFailureException if the address was updated since the given version.
+     */
+    public Optional<AddressDTO> update(AddressDTO addressDTO) {
+        log.debug("Request to update Address : {}", addressDTO);
+        return addressRepository
+            .findById(addressDTO.getId())
+            .map(
+                existingAddress -> {
+                    checkVersion(addressDTO, existingAddress);
+                    return addressRepository.save(addressMapper.toEntity(addressDTO));
+                }
+            )
+            .map(addressMapper::toDto);
+    }
+
+    /**
+     * Partially update a address.
+     *
+     * @param addressDTO the entity to update partially.
+     * @return the persisted entity.
+     */
+    public Optional<AddressDTO> partialUpdate(AddressDTO addressDTO) {
+        log.debug("Request to partially update Address : {}", addressDTO);
+
+        return addressRepository
+            .findById(addressDTO.getId())
+            .map(
+                existingAddress -> {
+                    checkVersion(addressDTO, existingAddress);
+                    addressMapper.partialUpdate(existingAddress, addressDTO);
+                    return existingAddress;
+                }
+            )
+            .map(addressRepository::save)
+            .map(addressMapper::toDto);
+    }
+
+    /**
+     * Get all the addresses.
+     *
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public List<AddressDTO> findAll() {
+        log.debug("Request to get all Addresses");
+        return addressRepository.findAllViews().stream().map(addressMapper::toDto).collect(Collectors.toList());
+    }
+
+    /**
+     * Get a page of the addresses no location refers to.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<AddressDTO> findAllWhereLocationIsNull(Pageable pageable) {
+        log.debug("Request to get a page of Addresses where location is null");
+        return addressRepository.findAllWhereLocationIsNull(pageable).map(addressMapper::toDto);
+    }
+
+    /**
+     * Get one address by id.
+     *
+     * @param id the id of the entity.
+     * @return the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<AddressDTO> findOne(Long id) {
+        log.debug("Request to get Address : {}", id);
+        return addressRepository.findById(id).map(addressMapper::toDto);
+    }
+
+    /**
+     * Delete the address by id.
+     *
+     * @param id the id of the entity.
+     */
+    public void delete(Long id) {
+        log.debug("Request to delete Address : {}", id);
+        addressRepository.deleteById(id);
+    }
+
+    private static void checkVersion(AddressDTO addressDTO, Address existingAddress) {
+        if (addressDTO.getVersion() == null) {
+            addressDTO.setVersion(existingAddress.getVersion());
+        } else if (!addressDTO.getVersion().equals(existingAddress.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Address.class, addressDTO.getId());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.walgreens.rxi.purchasing.service;
+
+import com.walgreens.rxi.purchasing.config.ApplicationProperties;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health of the sharing of the second-level cache evictions, down while its consumer restarts after a failure.
+ */
+@Component
+public class ClusterCacheInvalidationHealthIndicator implements HealthIndicator {
+
+    private final ClusterCacheInvalidator clusterCacheInvalidator;
+
+    private final ApplicationProperties.Cache cache;
+
+    public ClusterCacheInvalidationHealthIndicator(
+        ClusterCacheInvalidator clusterCacheInvalidator,
+        ApplicationProperties applicationProperties
+    ) {
+        this.clusterCacheInvalidator = clusterCacheInvalidator;
+        this.cache = applicationProperties.getCache();
+    }
+
+    @Override
+    public Health health() {
+        if (!clusterCacheInvalidator.isRunning()) {
+            return Health
+                .unknown()
+                .withDetail("topic", cache.getInvalidationTopic())
+                .withDetail("enabled", cache.isInvalidationEnabled())
+                .build();
+        }
+        Exception failure = clusterCacheInvalidator.getFailure();
+        Health.Builder health = failure == null ? Health.up() : Health.down(failure);
+        return health.withDetail("topic", cache.getInvalidationTopic()).build();
+    }
+}
@@ -0,0 +1,428 @@
+package com.walgreens.rxi.purchasing.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.walgreens.rxi.purchasing.config.ApplicationProperties;
+import com.walgreens.rxi.purchasing.config.KafkaProperties;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import javax.persistence.EntityManagerFactory;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.errors.WakeupException;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service keeping the second-level caches of the purchasing instances consistent with each other.
+ * <p>
+ * Hibernate evicts the cache entries of the entities and collections written by a transaction on the instance running it
+ * only. This service collects those entries while the transaction flushes, and publishes them in one message on the
+ * {@code application.cache.invalidation-topic} once the transaction committed, so that the other instances evict them too.
+ * Each instance reads the topic in its own consumer group, from the latest offset, and skips the messages it published.
+ * <p>
+ * The entities changed without Hibernate, such as by a native bulk update, are shared with
+ * {@link #entitiesEvicted(Class, Collection)}. A failure to read the topic restarts the consumer, from the committed offsets,
+ * and is reported by the health of the invalidation until a poll succeeds; the evictions are published meanwhile.
+ */
+@Service
+public class ClusterCacheInvalidator implements SmartLifecycle {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+
+    private static final Duration RESTART_DELAY = Duration.ofSeconds(5);
+
+    private final Logger log = LoggerFactory.getLogger(ClusterCacheInvalidator.class);
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    private final ObjectMapper objectMapper;
+
+    private final KafkaProperties kafkaProperties;
+
+    private final ApplicationProperties.Cache cache;
+
+    private volatile boolean running;
+
+    private boolean listening;
+
+    private KafkaProducer<String, String> producer;
+
+    private volatile KafkaConsumer<String, String> consumer;
+
+    private volatile Exception failure;
+
+    private Map<String, Object> consumerProps;
+
+    private Thread pollThread;
+
+    public ClusterCacheInvalidator(
+        EntityManagerFactory entityManagerFactory,
+        ObjectMapper objectMapper,
+        KafkaProperties kafkaProperties,
+        ApplicationProperties applicationProperties
+    ) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.objectMapper = objectMapper;
+        this.kafkaProperties = kafkaProperties;
+        this.cache = applicationProperties.getCache();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!cache.isInvalidationEnabled() || running) {
+            return;
+        }
+        producer = new KafkaProducer<>(kafkaProperties.getProducerProps());
+        consumerProps = kafkaProperties.getConsumerProps();
+        consumerProps.put(ConsumerConfig.GROUP_ID_CONFIG, "purchasing-cache-" + instanceId);
+        consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        if (!listening) {
+            EvictionListener listener = new EvictionListener();
+            EventListenerRegistry eventListenerRegistry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+            eventListenerRegistry.appendListeners(EventType.POST_UPDATE, listener);
+            eventListenerRegistry.appendListeners(EventType.POST_DELETE, listener);
+            eventListenerRegistry.appendListeners(EventType.POST_COLLECTION_RECREATE, listener);
+            eventListenerRegistry.appendListeners(EventType.POST_COLLECTION_UPDATE, listener);
+            eventListenerRegistry.appendListeners(EventType.POST_COLLECTION_REMOVE, listener);
+            listening = true;
+        }
+        running = true;
+        pollThread = new Thread(this::pollLoop, "cluster-cache-invalidation");
+        pollThread.start();
+        log.info("Sharing the second-level cache evictions on Kafka topic {}", cache.getInvalidationTopic());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        KafkaConsumer<String, String> currentConsumer = consumer;
+        if (currentConsumer != null) {
+            currentConsumer.wakeup();
+        }
+        try {
+            pollThread.join(Duration.ofSeconds(30).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        producer.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * The failure which restarted the consumer of the evictions, if no poll succeeded since.
+     *
+     * @return the failure, or {@code null} if the evictions of the other instances are applied.
+     */
+    public Exception getFailure() {
+        return failure;
+    }
+
+    /**
+     * Share the eviction of entities changed without Hibernate, once the current transaction committed.
+     *
+     * @param entityClass the class of the entities.
+     * @param ids the ids of the entities, already evicted on this instance.
+     */
+    public void entitiesEvicted(Class<?> entityClass, Collection<? extends Serializable> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String entityName = sessionFactory.getMetamodel().entityPersister(entityClass).getRootEntityName();
+        record(invalidation -> ids.forEach(id -> invalidation.getEntities().add(new Eviction(entityName, id))));
+    }
+
+    String getInstanceId() {
+        return instanceId;
+    }
+
+    private void pollLoop() {
+        while (running) {
+            try {
+                consume();
+            } catch (WakeupException e) {
+                // Stopping
+            } catch (Exception e) {
+                failure = e;
+                log.error(
+                    "Reading the second-level cache evictions from Kafka topic {} failed, restarting in {} ms",
+                    cache.getInvalidationTopic(),
+                    RESTART_DELAY.toMillis(),
+                    e
+                );
+                try {
+                    Thread.sleep(RESTART_DELAY.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void consume() {
+        try (KafkaConsumer<String, String> kafkaConsumer = new KafkaConsumer<>(consumerProps)) {
+            consumer = kafkaConsumer;
+            kafkaConsumer.subscribe(List.of(cache.getInvalidationTopic()));
+            while (running) {
+                ConsumerRecords<String, String> records = kafkaConsumer.poll(POLL_TIMEOUT);
+                failure = null;
+                for (ConsumerRecord<String, String> record : records) {
+                    apply(record.value());
+                }
+            }
+        } finally {
+            consumer = null;
+        }
+    }
+
+    private void apply(String message) {
+        try {
+            Invalidation invalidation = objectMapper.readValue(message, Invalidation.class);
+            if (instanceId.equals(invalidation.getOrigin())) {
+                return;
+            }
+            for (Eviction eviction : invalidation.getEntities()) {
+                EntityPersister persister = sessionFactory.getMetamodel().entityPersister(eviction.getRole());
+                sessionFactory.getCache().evictEntityData(eviction.getRole(), identifier(eviction, persister));
+            }
+            for (Eviction eviction : invalidation.getCollections()) {
+                CollectionPersister persister = sessionFactory.getMetamodel().collectionPersister(eviction.getRole());
+                Serializable ownerId = identifier(eviction, persister.getOwnerEntityPersister());
+                sessionFactory.getCache().evictCollectionData(eviction.getRole(), ownerId);
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Skipping a second-level cache eviction which cannot be applied : {}", e.getMessage());
+        }
+    }
+
+    private Serializable identifier(Eviction eviction, EntityPersister persister) {
+        return (Serializable) objectMapper.convertValue(eviction.getId(), persister.getIdentifierType().getReturnedClass());
+    }
+
+    /**
+     * Add evictions to the message of the current transaction, published after it committed.
+     */
+    private void record(Consumer<Invalidation> evictions) {
+        if (!running) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Invalidation invalidation = new Invalidation(instanceId);
+            evictions.accept(invalidation);
+            publish(invalidation);
+            return;
+        }
+        Invalidation invalidation = (Invalidation) TransactionSynchronizationManager.getResource(this);
+        if (invalidation == null) {
+            Invalidation pending = new Invalidation(instanceId);
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        publish(pending);
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(ClusterCacheInvalidator.this);
+                    }
+                }
+            );
+            invalidation = pending;
+        }
+        evictions.accept(invalidation);
+    }
+
+    private void publish(Invalidation invalidation) {
+        if (!running) {
+            return;
+        }
+        try {
+            producer.send(
+                new ProducerRecord<>(cache.getInvalidationTopic(), objectMapper.writeValueAsString(invalidation)),
+                (metadata, exception) -> {
+                    if (exception != null) {
+                        log.warn("Sharing second-level cache evictions failed : {}", exception.getMessage());
+                    }
+                }
+            );
+        } catch (JsonProcessingException | KafkaException e) {
+            log.warn("Sharing second-level cache evictions failed : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Collects the cached entities and collections written by the flushes, the insertions having nothing to evict.
+     */
+    private final class EvictionListener
+        implements
+            PostUpdateEventListener,
+            PostDeleteEventListener,
+            PostCollectionRecreateEventListener,
+            PostCollectionUpdateEventListener,
+            PostCollectionRemoveEventListener {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            onEntity(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            onEntity(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+            onCollection(event);
+        }
+
+        @Override
+        public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+            onCollection(event);
+        }
+
+        @Override
+        public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+            onCollection(event);
+        }
+
+        @Override
+        public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return false;
+        }
+
+        private void onEntity(EntityPersister persister, Serializable id) {
+            if (persister.canWriteToCache()) {
+                record(invalidation -> invalidation.getEntities().add(new Eviction(persister.getRootEntityName(), id)));
+            }
+        }
+
+        private void onCollection(AbstractCollectionEvent event) {
+            String role = event.getCollection().getRole();
+            Serializable ownerId = event.getAffectedOwnerIdOrNull();
+            if (role != null && ownerId != null && sessionFactory.getMetamodel().collectionPersister(role).hasCache()) {
+                record(invalidation -> invalidation.getCollections().add(new Eviction(role, ownerId)));
+            }
+        }
+    }
+
+    /**
+     * The evictions of one transaction.
+     */
+    static final class Invalidation {
+
+        private String origin;
+
+        private List<Eviction> entities = new ArrayList<>();
+
+        private List<Eviction> collections = new ArrayList<>();
+
+        Invalidation() {}
+
+        Invalidation(String origin) {
+            this.origin = origin;
+        }
+
+        public String getOrigin() {
+            return origin;
+        }
+
+        public void setOrigin(String origin) {
+            this.origin = origin;
+        }
+
+        public List<Eviction> getEntities() {
+            return entities;
+        }
+
+        public void setEntities(List<Eviction> entities) {
+            this.entities = entities;
+        }
+
+        public List<Eviction> getCollections() {
+            return collections;
+        }
+
+        public void setCollections(List<Eviction> collections) {
+            this.collections = collections;
+        }
+    }
+
+    /**
+     * An entity by its entity name, or a collection by its role, with the id of the entity or of the collection owner.
+     */
+    static final class Eviction {
+
+        private String role;
+
+        private Object id;
+
+        Eviction() {}
+
+        Eviction(String role, Object id) {
+            this.role = role;
+            this.id = id;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public void setRole(String role) {
+            this.role = role;
+        }
+
+        public Object getId() {
+            return id;
+        }
+
+        public void setId(Object id) {
+            this.id = id;
+        }
+    }
+}
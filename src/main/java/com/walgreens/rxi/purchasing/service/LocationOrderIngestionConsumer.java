@@ -0,0 +1,387 @@
+package com.walgreens.rxi.purchasing.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.walgreens.rxi.purchasing.config.ApplicationProperties;
+import com.walgreens.rxi.purchasing.config.KafkaProperties;
+import com.walgreens.rxi.purchasing.domain.LocationOrder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.kafka.KafkaClientMetrics;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.validation.Validator;
+import org.apache.kafka.clients.consumer.CommitFailedException;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.header.Headers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service creating the location orders read from the inbound Kafka topic, one micro-batch per poll.
+ * <p>
+ * A message holds a {@link LocationOrder} in the JSON representation of the REST API, with its {@code orderItems}. Each batch
+ * is saved in one transaction by {@link LocationOrderService#saveAllIfAbsent(List)}, and its offsets are committed once that
+ * transaction committed. A batch which cannot be saved is read again after a back-off, and since the location orders already
+ * saved are skipped by code, redelivered messages create nothing twice. A message without code is given a time-ordered one
+ * when saved, so only its producer can make its redelivery idempotent by sending the code. Messages which cannot be parsed
+ * or are not valid are logged and skipped.
+ * <p>
+ * A batch still failing after {@code application.ingestion.max-retries} attempts is saved one message at a time, and the
+ * messages failing on their own are sent to {@code application.ingestion.dead-letter-topic}, so that a bad message does
+ * not block its partition. Any other failure restarts the consumer, which reads again from the committed offsets, and
+ * is reported by the {@code purchasing.ingestion.failures} counter and the health of the ingestion until a poll succeeds.
+ */
+@Service
+public class LocationOrderIngestionConsumer implements SmartLifecycle {
+
+    public static final String ORIGINAL_TOPIC_HEADER = "originalTopic";
+
+    public static final String ORIGINAL_PARTITION_HEADER = "originalPartition";
+
+    public static final String ORIGINAL_OFFSET_HEADER = "originalOffset";
+
+    public static final String ERROR_HEADER = "error";
+
+    private static final long DEAD_LETTER_TIMEOUT_MS = 30000;
+
+    private final Logger log = LoggerFactory.getLogger(LocationOrderIngestionConsumer.class);
+
+    private final LocationOrderService locationOrderService;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final KafkaProperties kafkaProperties;
+
+    private final ApplicationProperties.Ingestion ingestion;
+
+    private final MeterRegistry meterRegistry;
+
+    private final DistributionSummary batchSize;
+
+    private final Timer batchDuration;
+
+    private final Counter createdRecords;
+
+    private final Counter duplicateRecords;
+
+    private final Counter rejectedRecords;
+
+    private final Counter deadLetterRecords;
+
+    private final Counter failures;
+
+    private volatile boolean running;
+
+    private volatile KafkaConsumer<String, String> consumer;
+
+    private volatile Exception failure;
+
+    private Map<String, Object> consumerProps;
+
+    private Producer<String, String> deadLetterProducer;
+
+    private Thread pollThread;
+
+    /**
+     * Number of times in a row the last batch could not be saved, only used by the poll thread.
+     */
+    private int failedAttempts;
+
+    public LocationOrderIngestionConsumer(
+        LocationOrderService locationOrderService,
+        ObjectMapper objectMapper,
+        Validator validator,
+        KafkaProperties kafkaProperties,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.locationOrderService = locationOrderService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.kafkaProperties = kafkaProperties;
+        this.ingestion = applicationProperties.getIngestion();
+        this.meterRegistry = meterRegistry;
+        this.batchSize =
+            DistributionSummary
+                .builder("purchasing.ingestion.batch.size")
+                .description("Number of messages read per batch from the location order topic")
+                .register(meterRegistry);
+        this.batchDuration =
+            Timer
+                .builder("purchasing.ingestion.batch.duration")
+                .description("Time spent saving a batch of ingested location orders")
+                .register(meterRegistry);
+        this.createdRecords = recordCounter(meterRegistry, "created");
+        this.duplicateRecords = recordCounter(meterRegistry, "duplicate");
+        this.rejectedRecords = recordCounter(meterRegistry, "rejected");
+        this.deadLetterRecords = recordCounter(meterRegistry, "dead-letter");
+        this.failures =
+            Counter
+                .builder("purchasing.ingestion.failures")
+                .description("Restarts of the location order consumer after an unexpected failure")
+                .register(meterRegistry);
+    }
+
+    private static Counter recordCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter
+            .builder("purchasing.ingestion.records")
+            .description("Messages read from the location order topic, by outcome")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!ingestion.isEnabled() || running) {
+            return;
+        }
+        consumerProps = kafkaProperties.getConsumerProps();
+        consumerProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        consumerProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(ingestion.getMaxBatchSize()));
+        deadLetterProducer = new KafkaProducer<>(kafkaProperties.getProducerProps());
+        running = true;
+        pollThread = new Thread(this::pollLoop, "location-order-ingestion");
+        pollThread.start();
+        log.info("Ingesting LocationOrders from Kafka topic {}", ingestion.getTopic());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        KafkaConsumer<String, String> currentConsumer = consumer;
+        if (currentConsumer != null) {
+            currentConsumer.wakeup();
+        }
+        try {
+            pollThread.join(Duration.ofSeconds(30).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        deadLetterProducer.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * The failure which restarted the consumer, if no poll succeeded since.
+     *
+     * @return the failure, or {@code null} if the ingestion is healthy.
+     */
+    public Exception getFailure() {
+        return failure;
+    }
+
+    private void pollLoop() {
+        while (running) {
+            try {
+                consume();
+            } catch (WakeupException e) {
+                // Stopping
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                failures.increment();
+                failure = e;
+                log.error(
+                    "Ingestion of LocationOrders from Kafka topic {} failed, restarting it in {} ms",
+                    ingestion.getTopic(),
+                    ingestion.getRetryBackoffMs(),
+                    e
+                );
+                try {
+                    Thread.sleep(ingestion.getRetryBackoffMs());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void consume() throws InterruptedException {
+        try (
+            KafkaConsumer<String, String> kafkaConsumer = new KafkaConsumer<>(consumerProps);
+            // The consumer metrics include the lag of each assigned partition, as kafka.consumer.fetch.manager.records.lag
+            KafkaClientMetrics consumerMetrics = new KafkaClientMetrics(kafkaConsumer)
+        ) {
+            consumer = kafkaConsumer;
+            consumerMetrics.bindTo(meterRegistry);
+            kafkaConsumer.subscribe(List.of(ingestion.getTopic()));
+            failedAttempts = 0;
+            while (running) {
+                ConsumerRecords<String, String> records = kafkaConsumer.poll(Duration.ofMillis(ingestion.getPollTimeoutMs()));
+                failure = null;
+                if (!records.isEmpty()) {
+                    process(records);
+                }
+            }
+        } finally {
+            consumer = null;
+        }
+    }
+
+    private void process(ConsumerRecords<String, String> records) throws InterruptedException {
+        batchSize.record(records.count());
+        List<LocationOrder> locationOrders = new ArrayList<>(records.count());
+        for (ConsumerRecord<String, String> record : records) {
+            parse(record).ifPresentOrElse(locationOrders::add, rejectedRecords::increment);
+        }
+
+        int created;
+        try {
+            created = batchDuration.record(() -> locationOrderService.saveAllIfAbsent(locationOrders).size());
+            failedAttempts = 0;
+        } catch (RuntimeException e) {
+            if (++failedAttempts <= ingestion.getMaxRetries()) {
+                log.warn(
+                    "Saving {} ingested LocationOrders failed, reading them again in {} ms",
+                    locationOrders.size(),
+                    ingestion.getRetryBackoffMs(),
+                    e
+                );
+                rewind(records);
+                Thread.sleep(ingestion.getRetryBackoffMs());
+                return;
+            }
+            log.warn("Saving {} ingested LocationOrders failed {} times, saving them one at a time", locationOrders.size(), failedAttempts);
+            failedAttempts = 0;
+            saveOneAtATime(records);
+            commit(records);
+            return;
+        }
+        createdRecords.increment(created);
+        duplicateRecords.increment(locationOrders.size() - created);
+        commit(records);
+    }
+
+    /**
+     * Save each readable message of the batch in its own transaction, and send the ones which cannot be saved to the
+     * dead-letter topic.
+     */
+    private void saveOneAtATime(ConsumerRecords<String, String> records) {
+        for (ConsumerRecord<String, String> record : records) {
+            // Parsed again, the entities of the failed batch being left with the ids of the rolled back inserts
+            Optional<LocationOrder> locationOrder = parse(record);
+            if (locationOrder.isEmpty()) {
+                continue;
+            }
+            try {
+                boolean created = !locationOrderService.saveAllIfAbsent(List.of(locationOrder.get())).isEmpty();
+                (created ? createdRecords : duplicateRecords).increment();
+            } catch (RuntimeException e) {
+                log.error(
+                    "Sending LocationOrder at {}-{}@{} to the dead-letter topic",
+                    record.topic(),
+                    record.partition(),
+                    record.offset(),
+                    e
+                );
+                deadLetter(record, e);
+            }
+        }
+    }
+
+    private void commit(ConsumerRecords<String, String> records) {
+        try {
+            consumer.commitSync(nextOffsets(records));
+        } catch (CommitFailedException e) {
+            // The saved location orders are skipped by code when the new owner of the partitions reads them again
+            log.warn("Committing the offsets of {} ingested LocationOrders failed after a rebalance : {}", records.count(), e.getMessage());
+        }
+    }
+
+    private void deadLetter(ConsumerRecord<String, String> record, RuntimeException error) {
+        ProducerRecord<String, String> deadLetter = new ProducerRecord<>(ingestion.getDeadLetterTopic(), record.key(), record.value());
+        Headers headers = deadLetter.headers();
+        headers.add(ORIGINAL_TOPIC_HEADER, record.topic().getBytes(StandardCharsets.UTF_8));
+        headers.add(ORIGINAL_PARTITION_HEADER, String.valueOf(record.partition()).getBytes(StandardCharsets.UTF_8));
+        headers.add(ORIGINAL_OFFSET_HEADER, String.valueOf(record.offset()).getBytes(StandardCharsets.UTF_8));
+        headers.add(ERROR_HEADER, String.valueOf(error).getBytes(StandardCharsets.UTF_8));
+        try {
+            deadLetterProducer.send(deadLetter).get(DEAD_LETTER_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            // Not committed, the batch is read again once the consumer restarted
+            throw new IllegalStateException("Cannot send a LocationOrder to the dead-letter topic", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending a LocationOrder to the dead-letter topic", e);
+        }
+        deadLetterRecords.increment();
+    }
+
+    private Optional<LocationOrder> parse(ConsumerRecord<String, String> record) {
+        LocationOrder locationOrder;
+        try {
+            locationOrder = objectMapper.readValue(record.value(), LocationOrder.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            log.warn(
+                "Skipping unreadable LocationOrder at {}-{}@{} : {}",
+                record.topic(),
+                record.partition(),
+                record.offset(),
+                e.getMessage()
+            );
+            return Optional.empty();
+        }
+        // A version would make Spring Data merge the new entities instead of persisting them
+        locationOrder.id(null).version(null);
+        locationOrder.getOrderItems().forEach(orderItem -> orderItem.id(null).version(null));
+        boolean valid =
+            validator.validate(locationOrder).isEmpty() &&
+            locationOrder.getOrderItems().stream().allMatch(orderItem -> validator.validate(orderItem).isEmpty());
+        if (!valid) {
+            log.warn("Skipping invalid LocationOrder at {}-{}@{}", record.topic(), record.partition(), record.offset());
+            return Optional.empty();
+        }
+        return Optional.of(locationOrder);
+    }
+
+    /**
+     * Move back to the first record of the batch in each partition, so that the next poll returns the batch again.
+     */
+    private void rewind(ConsumerRecords<String, String> records) {
+        for (TopicPartition partition : records.partitions()) {
+            consumer.seek(partition, records.records(partition).get(0).offset());
+        }
+    }
+
+    private Map<TopicPartition, OffsetAndMetadata> nextOffsets(ConsumerRecords<String, String> records) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (TopicPartition partition : records.partitions()) {
+            List<ConsumerRecord<String, String>> partitionRecords = records.records(partition);
+            offsets.put(partition, new OffsetAndMetadata(partitionRecords.get(partitionRecords.size() - 1).offset() + 1));
+        }
+        return offsets;
+    }
+}
@@ -0,0 +1,35 @@
+package com.walgreens.rxi.purchasing.service;
+
+import com.walgreens.rxi.purchasing.config.ApplicationProperties;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health of the ingestion of the location orders, down while its consumer restarts after a failure.
+ */
+@Component
+public class LocationOrderIngestionHealthIndicator implements HealthIndicator {
+
+    private final LocationOrderIngestionConsumer locationOrderIngestionConsumer;
+
+    private final ApplicationProperties.Ingestion ingestion;
+
+    public LocationOrderIngestionHealthIndicator(
+        LocationOrderIngestionConsumer locationOrderIngestionConsumer,
+        ApplicationProperties applicationProperties
+    ) {
+        this.locationOrderIngestionConsumer = locationOrderIngestionConsumer;
+        this.ingestion = applicationProperties.getIngestion();
+    }
+
+    @Override
+    public Health health() {
+        if (!locationOrderIngestionConsumer.isRunning()) {
+            return Health.unknown().withDetail("topic", ingestion.getTopic()).withDetail("enabled", ingestion.isEnabled()).build();
+        }
+        Exception failure = locationOrderIngestionConsumer.getFailure();
+        Health.Builder health = failure == null ? Health.up() : Health.down(failure);
+        return health.withDetail("topic", ingestion.getTopic()).build();
+    }
+}
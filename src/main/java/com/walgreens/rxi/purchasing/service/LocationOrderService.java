@@ -1,11 +1,42 @@
 package com.walgreens.rxi.purchasing.service;
 
 import com.walgreens.rxi.purchasing.domain.LocationOrder;
+import com.walgreens.rxi.purchasing.domain.OrderItem;
+import com.walgreens.rxi.purchasing.domain.util.TimeOrderedUuidGenerator;
 import com.walgreens.rxi.purchasing.repository.LocationOrderRepository;
+import com.walgreens.rxi.purchasing.repository.LocationRepository;
+import com.walgreens.rxi.purchasing.repository.OrderItemRepository;
+import com.walgreens.rxi.purchasing.repository.projection.LocationOrderView;
+import com.walgreens.rxi.purchasing.service.dto.LocationOrderCursor;
+import com.walgreens.rxi.purchasing.service.dto.LocationOrderDTO;
+import com.walgreens.rxi.purchasing.service.dto.LocationSpendDTO;
+import com.walgreens.rxi.purchasing.service.dto.OrderStatusSpendDTO;
+import com.walgreens.rxi.purchasing.service.dto.PeriodSpendDTO;
+import com.walgreens.rxi.purchasing.service.mapper.LocationOrderMapper;
+import com.walgreens.rxi.purchasing.service.mapper.OrderItemMapper;
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,62 +51,200 @@ public class LocationOrderService {
 
     private final LocationOrderRepository locationOrderRepository;
 
-    public LocationOrderService(LocationOrderRepository locationOrderRepository) {
+    private final LocationRepository locationRepository;
+
+    private final OrderItemRepository orderItemRepository;
+
+    private final LocationOrderMapper locationOrderMapper;
+
+    private final OrderItemMapper orderItemMapper;
+
+    private final LocationOrderSummaryService locationOrderSummaryService;
+
+    private final PurchasingEventService purchasingEventService;
+
+    public LocationOrderService(
+        LocationOrderRepository locationOrderRepository,
+        LocationRepository locationRepository,
+        OrderItemRepository orderItemRepository,
+        LocationOrderMapper locationOrderMapper,
+        OrderItemMapper orderItemMapper,
+        LocationOrderSummaryService locationOrderSummaryService,
+        PurchasingEventService purchasingEventService
+    ) {
         this.locationOrderRepository = locationOrderRepository;
+        this.locationRepository = locationRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.locationOrderMapper = locationOrderMapper;
+        this.orderItemMapper = orderItemMapper;
+        this.locationOrderSummaryService = locationOrderSummaryService;
+        this.purchasingEventService = purchasingEventService;
     }
 
     /**
-     * Save a locationOrder.
+     * Save a locationOrder, given a time-ordered code if it has none.
      *
-     * @param locationOrder the entity to save.
+     * @param locationOrderDTO the entity to save.
      * @return the persisted entity.
      */
-    public LocationOrder save(LocationOrder locationOrder) {
-        log.debug("Request to save LocationOrder : {}", locationOrder);
-        return locationOrderRepository.save(locationOrder);
+    public LocationOrderDTO save(LocationOrderDTO locationOrderDTO) {
+        log.debug("Request to save LocationOrder : {}", locationOrderDTO);
+        LocationOrder locationOrder = locationOrderMapper.toEntity(locationOrderDTO);
+        assignCode(locationOrder);
+        resolveLocation(locationOrder);
+        boolean isNew = locationOrder.getId() == null;
+        LocationOrder result = locationOrderRepository.save(locationOrder);
+        if (isNew) {
+            // Every locationOrder has a summary, even before its first orderItem
+            locationOrderSummaryService.refresh(List.of(result.getId()));
+            purchasingEventService.locationOrderCreated(result, List.of());
+        } else {
+            purchasingEventService.locationOrderUpdated(result);
+        }
+        return locationOrderMapper.toDto(result);
     }
 
     /**
-     * Partially update a locationOrder.
+     * Save a new locationOrder and all of its orderItems in a single transaction.
+     * <p>
+     * The identifiers are allocated up front, so the rows are written with batched inserts when the session is flushed.
      *
-     * @param locationOrder the entity to update partially.
+     * @param locationOrder the entity to save, given a time-ordered code if it has none.
+     * @param orderItems the items of the locationOrder, which receive their identifiers.
      * @return the persisted entity.
      */
-    public Optional<LocationOrder> partialUpdate(LocationOrder locationOrder) {
-        log.debug("Request to partially update LocationOrder : {}", locationOrder);
+    public LocationOrder saveWithOrderItems(LocationOrder locationOrder, List<OrderItem> orderItems) {
+        log.debug("Request to save LocationOrder : {} with {} OrderItems", locationOrder, orderItems.size());
+        assignCode(locationOrder);
+        resolveLocation(locationOrder);
+        LocationOrder result = locationOrderRepository.save(locationOrder);
+        orderItems.forEach(orderItem -> orderItem.setLocationOrder(result));
+        orderItemRepository.saveAll(orderItems);
+        locationOrderSummaryService.refresh(List.of(result.getId()));
+        purchasingEventService.locationOrderCreated(result, orderItems);
+        return result;
+    }
 
+    /**
+     * Save the new locationOrders, each with the orderItems it holds, skipping the ones whose code is already known.
+     * <p>
+     * Submitting the same locationOrders again has no effect, which makes the redelivery of a message idempotent.
+     * All the rows are written with batched inserts, and the summaries are refreshed with one statement.
+     * A locationOrder without code is given a new time-ordered one, and is therefore never taken for a duplicate.
+     *
+     * @param locationOrders the entities to save, with their orderItems.
+     * @return the persisted entities, without the duplicates.
+     */
+    public List<LocationOrder> saveAllIfAbsent(List<LocationOrder> locationOrders) {
+        log.debug("Request to save {} LocationOrders if absent", locationOrders.size());
+        locationOrders.forEach(LocationOrderService::assignCode);
+        Map<UUID, LocationOrder> byCode = new LinkedHashMap<>();
+        locationOrders.forEach(locationOrder -> byCode.putIfAbsent(locationOrder.getCode(), locationOrder));
+        if (!byCode.isEmpty()) {
+            locationOrderRepository.findExistingCodes(byCode.keySet()).forEach(byCode::remove);
+        }
+        List<LocationOrder> result = new ArrayList<>(byCode.values());
+        result.forEach(this::resolveLocation);
+        locationOrderRepository.saveAll(result);
+        result.forEach(
+            locationOrder -> {
+                locationOrder.getOrderItems().forEach(orderItem -> orderItem.setLocationOrder(locationOrder));
+                orderItemRepository.saveAll(locationOrder.getOrderItems());
+            }
+        );
+        locationOrderSummaryService.refresh(result.stream().map(LocationOrder::getId).collect(Collectors.toList()));
+        result.forEach(
+            locationOrder -> purchasingEventService.locationOrderCreated(locationOrder, new ArrayList<>(locationOrder.getOrderItems()))
+        );
+        return result;
+    }
+
+    /**
+     * Update a locationOrder, loaded once to merge the changes onto it.
+     *
+     * @param locationOrderDTO the entity to update, without a version to overwrite the current one.
+     * @return the persisted entity, or empty if there is no locationOrder with this id.
+     * @throws ObjectOptimisticLockingFailureException if the locationOrder was updated since the given version.
+     */
+    public Optional<LocationOrderDTO> update(LocationOrderDTO locationOrderDTO) {
+        log.debug("Request to update LocationOrder : {}", locationOrderDTO);
         return locationOrderRepository
-            .findById(locationOrder.getId())
+            .findById(locationOrderDTO.getId())
             .map(
                 existingLocationOrder -> {
-                    if (locationOrder.getCode() != null) {
-                        existingLocationOrder.setCode(locationOrder.getCode());
-                    }
-                    if (locationOrder.getPlacedDate() != null) {
-                        existingLocationOrder.setPlacedDate(locationOrder.getPlacedDate());
-                    }
-                    if (locationOrder.getStatus() != null) {
-                        existingLocationOrder.setStatus(locationOrder.getStatus());
-                    }
-                    if (locationOrder.getInvoiceId() != null) {
-                        existingLocationOrder.setInvoiceId(locationOrder.getInvoiceId());
+                    checkVersion(locationOrderDTO, existingLocationOrder);
+                    if (locationOrderDTO.getCode() == null) {
+                        locationOrderDTO.setCode(existingLocationOrder.getCode());
                     }
+                    LocationOrder locationOrder = locationOrderMapper.toEntity(locationOrderDTO);
+                    resolveLocation(locationOrder);
+                    LocationOrder result = locationOrderRepository.save(locationOrder);
+                    purchasingEventService.locationOrderUpdated(result);
+                    return locationOrderMapper.toDto(result);
+                }
+            );
+    }
 
+    /**
+     * Partially update a locationOrder.
+     *
+     * @param locationOrderDTO the entity to update partially.
+     * @return the persisted entity.
+     */
+    public Optional<LocationOrderDTO> partialUpdate(LocationOrderDTO locationOrderDTO) {
+        log.debug("Request to partially update LocationOrder : {}", locationOrderDTO);
+
+        return locationOrderRepository
+            .findById(locationOrderDTO.getId())
+            .map(
+                existingLocationOrder -> {
+                    checkVersion(locationOrderDTO, existingLocationOrder);
+                    locationOrderMapper.partialUpdate(existingLocationOrder, locationOrderDTO);
                     return existingLocationOrder;
                 }
             )
-            .map(locationOrderRepository::save);
+            .map(locationOrderRepository::save)
+            .map(
+                result -> {
+                    purchasingEventService.locationOrderUpdated(result);
+                    return locationOrderMapper.toDto(result);
+                }
+            );
     }
 
     /**
-     * Get all the locationOrders.
+     * Get a keyset page of locationOrders, newest first.
+     * <p>
+     * Without expansion the page is read from a projection in one statement. Otherwise the entities of the page are then
+     * loaded with the expanded associations joined in a second statement, the collection fetch not being paginated.
      *
+     * @param cursor the position of the last entity of the previous page, or {@code null} for the first page.
+     * @param size the maximum number of entities to return.
+     * @param expansions the associations to return in full.
      * @return the list of entities.
      */
     @Transactional(readOnly = true)
-    public List<LocationOrder> findAll() {
-        log.debug("Request to get all LocationOrders");
-        return locationOrderRepository.findAll();
+    public List<LocationOrderDTO> findPage(LocationOrderCursor cursor, int size, Set<LocationOrderDTO.Expansion> expansions) {
+        log.debug("Request to get a page of LocationOrders after : {} expanding {}", cursor, expansions);
+        Pageable limit = PageRequest.of(0, size);
+        List<LocationOrderView> page = cursor == null
+            ? locationOrderRepository.findFirstKeysetPage(limit)
+            : locationOrderRepository.findKeysetPageAfter(cursor.getPlacedDate(), cursor.getId(), limit);
+        if (expansions.isEmpty() || page.isEmpty()) {
+            return page.stream().map(locationOrderMapper::toDto).collect(Collectors.toList());
+        }
+
+        List<Long> ids = page.stream().map(LocationOrderView::getId).collect(Collectors.toList());
+        List<LocationOrder> locationOrders = expansions.contains(LocationOrderDTO.Expansion.ITEMS)
+            ? locationOrderRepository.findAllWithOrderItemsAndLocationByIdIn(ids)
+            : locationOrderRepository.findAllWithLocationByIdIn(ids);
+        Map<Long, LocationOrder> byId = locationOrders.stream().collect(Collectors.toMap(LocationOrder::getId, Function.identity()));
+        return ids
+            .stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
+            .map(locationOrder -> toExpandedDto(locationOrder, expansions))
+            .collect(Collectors.toList());
     }
 
     /**
@@ -85,9 +254,96 @@ public class LocationOrderService {
      * @return the entity.
      */
     @Transactional(readOnly = true)
-    public Optional<LocationOrder> findOne(Long id) {
+    public Optional<LocationOrderDTO> findOne(Long id) {
         log.debug("Request to get LocationOrder : {}", id);
-        return locationOrderRepository.findById(id);
+        return locationOrderRepository.findById(id).map(locationOrderMapper::toDto);
+    }
+
+    /**
+     * Get one locationOrder by its business code.
+     *
+     * @param code the code of the entity.
+     * @return the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<LocationOrderDTO> findOneByCode(UUID code) {
+        log.debug("Request to get LocationOrder by code : {}", code);
+        return locationOrderRepository.findByCode(code).map(locationOrderMapper::toDto);
+    }
+
+    /**
+     * Sum the locationOrders placed in {@code [from, to)} per location.
+     *
+     * @param from the start of the range, inclusive.
+     * @param to the end of the range, exclusive.
+     * @return the amounts of each location.
+     */
+    @Transactional(readOnly = true)
+    public List<LocationSpendDTO> sumSpendByLocation(Instant from, Instant to) {
+        log.debug("Request to sum LocationOrders per Location from {} to {}", from, to);
+        return locationOrderRepository.sumSpendByLocation(from, to);
+    }
+
+    /**
+     * Sum the locationOrders placed in {@code [from, to)} per status.
+     *
+     * @param from the start of the range, inclusive.
+     * @param to the end of the range, exclusive.
+     * @return the amounts of each status.
+     */
+    @Transactional(readOnly = true)
+    public List<OrderStatusSpendDTO> sumSpendByStatus(Instant from, Instant to) {
+        log.debug("Request to sum LocationOrders per status from {} to {}", from, to);
+        return locationOrderRepository.sumSpendByStatus(from, to);
+    }
+
+    /**
+     * Sum the locationOrders placed in {@code [from, to)} per day or week.
+     * <p>
+     * Days are grouped in the database; weeks are rolled up from the days, which only costs one row per day.
+     * Weeks start on Monday, except the first one which starts on the day of {@code from}: a partial week is not labelled
+     * with a day outside of the range.
+     *
+     * @param from the start of the range, inclusive.
+     * @param to the end of the range, exclusive.
+     * @param period the length of each period.
+     * @return the amounts of each period, in chronological order.
+     */
+    @Transactional(readOnly = true)
+    public List<PeriodSpendDTO> sumSpendByPeriod(Instant from, Instant to, PeriodSpendDTO.Period period) {
+        log.debug("Request to sum LocationOrders per {} from {} to {}", period, from, to);
+        List<PeriodSpendDTO> days = locationOrderRepository.sumSpendByDay(from, to);
+        if (period == PeriodSpendDTO.Period.DAY) {
+            return days;
+        }
+        LocalDate firstDay = LocalDate.ofInstant(from, ZoneOffset.UTC);
+        Map<LocalDate, List<PeriodSpendDTO>> daysByWeek = days
+            .stream()
+            .collect(
+                Collectors.groupingBy(
+                    day -> weekStart(day.getPeriodStart(), firstDay),
+                    TreeMap::new,
+                    Collectors.toList()
+                )
+            );
+        return daysByWeek
+            .entrySet()
+            .stream()
+            .map(
+                week ->
+                    new PeriodSpendDTO(
+                        week.getKey(),
+                        week.getValue().stream().mapToLong(PeriodSpendDTO::getOrderCount).sum(),
+                        week.getValue().stream().mapToLong(PeriodSpendDTO::getItemCount).sum(),
+                        week.getValue().stream().map(PeriodSpendDTO::getTotalPrice).reduce(BigDecimal.ZERO, BigDecimal::add)
+                    )
+            )
+            .collect(Collectors.toList());
+    }
+
+    private static LocalDate weekStart(LocalDate day, LocalDate firstDay) {
+        LocalDate monday = day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return monday.isBefore(firstDay) ? firstDay : monday;
     }
 
     /**
@@ -97,6 +353,46 @@ public class LocationOrderService {
      */
     public void delete(Long id) {
         log.debug("Request to delete LocationOrder : {}", id);
+        locationOrderRepository.findById(id).ifPresent(purchasingEventService::locationOrderDeleted);
         locationOrderRepository.deleteById(id);
     }
+
+    private LocationOrderDTO toExpandedDto(LocationOrder locationOrder, Set<LocationOrderDTO.Expansion> expansions) {
+        LocationOrderDTO locationOrderDTO = expansions.contains(LocationOrderDTO.Expansion.LOCATION)
+            ? locationOrderMapper.toDtoWithLocation(locationOrder)
+            : locationOrderMapper.toDto(locationOrder);
+        if (expansions.contains(LocationOrderDTO.Expansion.ITEMS)) {
+            List<OrderItem> orderItems = new ArrayList<>(locationOrder.getOrderItems());
+            orderItems.sort(Comparator.comparing(OrderItem::getId));
+            locationOrderDTO.setOrderItems(orderItemMapper.toDto(orderItems));
+        }
+        return locationOrderDTO;
+    }
+
+    /**
+     * Replace the location received by id with a reference: being versioned, a detached location without version would be
+     * taken for a new one.
+     */
+    private void resolveLocation(LocationOrder locationOrder) {
+        if (locationOrder.getLocation() != null && locationOrder.getLocation().getId() != null) {
+            locationOrder.setLocation(locationRepository.getOne(locationOrder.getLocation().getId()));
+        }
+    }
+
+    /**
+     * Give a new locationOrder without code a time-ordered one, which is appended to the right of the code index.
+     */
+    private static void assignCode(LocationOrder locationOrder) {
+        if (locationOrder.getCode() == null) {
+            locationOrder.setCode(TimeOrderedUuidGenerator.generate());
+        }
+    }
+
+    private static void checkVersion(LocationOrderDTO locationOrderDTO, LocationOrder existingLocationOrder) {
+        if (locationOrderDTO.getVersion() == null) {
+            locationOrderDTO.setVersion(existingLocationOrder.getVersion());
+        } else if (!locationOrderDTO.getVersion().equals(existingLocationOrder.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(LocationOrder.class, locationOrderDTO.getId());
+        }
+    }
 }
@@ -0,0 +1,170 @@
+package com.walgreens.rxi.purchasing.service;
+
+import com.walgreens.rxi.purchasing.config.ApplicationProperties;
+import com.walgreens.rxi.purchasing.domain.LocationOrderSummary;
+import com.walgreens.rxi.purchasing.repository.LocationOrderRepository;
+import com.walgreens.rxi.purchasing.repository.LocationOrderSummaryRepository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service Implementation for maintaining the {@link LocationOrderSummary} of each location order.
+ * <p>
+ * The summaries are refreshed by the services writing order items, in the same transaction. The rebuild backfills the
+ * summaries of all the location orders, and the consistency check repairs the ones which drifted from their order items.
+ * Both walk the location orders by id in chunks of {@code application.order-summary.chunk-size}, one transaction per chunk.
+ */
+@Service
+public class LocationOrderSummaryService {
+
+    private final Logger log = LoggerFactory.getLogger(LocationOrderSummaryService.class);
+
+    private final LocationOrderSummaryRepository locationOrderSummaryRepository;
+
+    private final LocationOrderRepository locationOrderRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+
+    public LocationOrderSummaryService(
+        LocationOrderSummaryRepository locationOrderSummaryRepository,
+        LocationOrderRepository locationOrderRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.locationOrderSummaryRepository = locationOrderSummaryRepository;
+        this.locationOrderRepository = locationOrderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = applicationProperties.getOrderSummary().getChunkSize();
+    }
+
+    /**
+     * Refresh the summaries of the given location orders, after their order items were written.
+     *
+     * @param locationOrderIds the ids of the location orders, {@code null} ids are ignored.
+     */
+    @Transactional
+    public void refresh(Collection<Long> locationOrderIds) {
+        List<Long> ids = locationOrderIds.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        log.debug("Request to refresh the LocationOrderSummaries : {}", ids);
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            locationOrderSummaryRepository.refresh(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+        }
+    }
+
+    /**
+     * Get all the locationOrderSummaries.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<LocationOrderSummary> findAll(Pageable pageable) {
+        log.debug("Request to get all LocationOrderSummaries");
+        return locationOrderSummaryRepository.findAll(pageable);
+    }
+
+    /**
+     * Get the summary of one locationOrder.
+     *
+     * @param locationOrderId the id of the locationOrder.
+     * @return the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<LocationOrderSummary> findOne(Long locationOrderId) {
+        log.debug("Request to get LocationOrderSummary : {}", locationOrderId);
+        return locationOrderSummaryRepository.findById(locationOrderId);
+    }
+
+    /**
+     * Recompute the summaries of all the location orders in the background.
+     */
+    @Async
+    public void rebuildAllAsync() {
+        rebuildAll();
+    }
+
+    /**
+     * Recompute the summaries of all the location orders.
+     *
+     * @return the number of refreshed summaries.
+     */
+    public long rebuildAll() {
+        log.info("Rebuilding the LocationOrderSummaries");
+        long refreshed = forEachChunk(ids -> (long) locationOrderSummaryRepository.refresh(ids));
+        log.info("Rebuilt {} LocationOrderSummaries", refreshed);
+        return refreshed;
+    }
+
+    /**
+     * Compare the summaries of all the location orders with their order items, and refresh the ones which differ or are missing.
+     *
+     * @return the number of repaired summaries.
+     */
+    @Scheduled(cron = "${application.order-summary.check-cron:-}")
+    public long checkConsistency() {
+        log.debug("Checking the LocationOrderSummaries");
+        long repaired = forEachChunk(this::repairInconsistent);
+        if (repaired > 0) {
+            log.warn("Repaired {} inconsistent LocationOrderSummaries", repaired);
+        }
+        return repaired;
+    }
+
+    private long repairInconsistent(List<Long> ids) {
+        Map<Long, LocationOrderSummary> stored = locationOrderSummaryRepository
+            .findAllById(ids)
+            .stream()
+            .collect(Collectors.toMap(LocationOrderSummary::getLocationOrderId, Function.identity()));
+        Map<Long, LocationOrderSummary> computed = locationOrderSummaryRepository
+            .computeFromOrderItems(ids)
+            .stream()
+            .collect(Collectors.toMap(LocationOrderSummary::getLocationOrderId, Function.identity()));
+        List<Long> inconsistent = ids
+            .stream()
+            .filter(
+                id -> {
+                    LocationOrderSummary summary = stored.get(id);
+                    return summary == null || !summary.hasSameTotals(computed.getOrDefault(id, LocationOrderSummary.empty(id)));
+                }
+            )
+            .collect(Collectors.toList());
+        if (!inconsistent.isEmpty()) {
+            log.debug("Refreshing the inconsistent LocationOrderSummaries : {}", inconsistent);
+            locationOrderSummaryRepository.refresh(inconsistent);
+        }
+        return inconsistent.size();
+    }
+
+    private long forEachChunk(Function<List<Long>, Long> action) {
+        long total = 0;
+        Long lastId = Long.MIN_VALUE;
+        List<Long> ids;
+        do {
+            ids = locationOrderRepository.findIdsAfter(lastId, PageRequest.of(0, chunkSize));
+            if (!ids.isEmpty()) {
+                List<Long> chunk = ids;
+                total += transactionTemplate.execute(status -> action.apply(chunk));
+                lastId = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == chunkSize);
+        return total;
+    }
+}
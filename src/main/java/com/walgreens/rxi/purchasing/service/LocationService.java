@@ -1,12 +1,20 @@
 package com.walgreens.rxi.purchasing.service;
 
 import com.walgreens.rxi.purchasing.domain.Location;
+import com.walgreens.rxi.purchasing.domain.util.TimeOrderedUuidGenerator;
+import com.walgreens.rxi.purchasing.repository.AddressRepository;
 import com.walgreens.rxi.purchasing.repository.LocationRepository;
+import com.walgreens.rxi.purchasing.service.dto.LocationDTO;
+import com.walgreens.rxi.purchasing.service.mapper.LocationMapper;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,66 +29,91 @@ public class LocationService {
 
     private final LocationRepository locationRepository;
 
-    public LocationService(LocationRepository locationRepository) {
+    private final AddressRepository addressRepository;
+
+    private final LocationMapper locationMapper;
+
+    private final CacheManager cacheManager;
+
+    public LocationService(
+        LocationRepository locationRepository,
+        AddressRepository addressRepository,
+        LocationMapper locationMapper,
+        CacheManager cacheManager
+    ) {
         this.locationRepository = locationRepository;
+        this.addressRepository = addressRepository;
+        this.locationMapper = locationMapper;
+        this.cacheManager = cacheManager;
     }
 
     /**
-     * Save a location.
+     * Save a location, given a time-ordered location number if it has none.
      *
-     * @param location the entity to save.
+     * @param locationDTO the entity to save.
      * @return the persisted entity.
      */
-    public Location save(Location location) {
-        log.debug("Request to save Location : {}", location);
-        return locationRepository.save(location);
+    public LocationDTO save(LocationDTO locationDTO) {
+        log.debug("Request to save Location : {}", locationDTO);
+        Location location = toEntity(locationDTO);
+        if (location.getLocationNumber() == null) {
+            location.setLocationNumber(TimeOrderedUuidGenerator.generate());
+        }
+        if (location.getId() != null) {
+            locationRepository.findById(location.getId()).ifPresent(this::clearLocationCaches);
+        }
+        clearLocationCaches(location);
+        location = locationRepository.save(location);
+        return locationMapper.toDto(location);
+    }
+
+    /**
+     * Update a location, loaded once to merge the changes onto it.
+     *
+     * @param locationDTO the entity to update, without a version to overwrite the current one.
+     * @return the persisted entity, or empty if there is no location with this id.
+     * @throws ObjectOptimisticLockingFailureException if the location was updated since the given version.
+     */
+    public Optional<LocationDTO> update(LocationDTO locationDTO) {
+        log.debug("Request to update Location : {}", locationDTO);
+        return locationRepository
+            .findById(locationDTO.getId())
+            .map(
+                existingLocation -> {
+                    checkVersion(locationDTO, existingLocation);
+                    if (locationDTO.getLocationNumber() == null) {
+                        locationDTO.setLocationNumber(existingLocation.getLocationNumber());
+                    }
+                    Location location = toEntity(locationDTO);
+                    clearLocationCaches(existingLocation);
+                    clearLocationCaches(location);
+                    return locationRepository.save(location);
+                }
+            )
+            .map(locationMapper::toDto);
     }
 
     /**
      * Partially update a location.
      *
-     * @param location the entity to update partially.
+     * @param locationDTO the entity to update partially.
      * @return the persisted entity.
      */
-    public Optional<Location> partialUpdate(Location location) {
-        log.debug("Request to partially update Location : {}", location);
+    public Optional<LocationDTO> partialUpdate(LocationDTO locationDTO) {
+        log.debug("Request to partially update Location : {}", locationDTO);
 
         return locationRepository
-            .findById(location.getId())
+            .findById(locationDTO.getId())
             .map(
                 existingLocation -> {
-                    if (location.getLocationNumber() != null) {
-                        existingLocation.setLocationNumber(location.getLocationNumber());
-                    }
-                    if (location.getLocationName() != null) {
-                        existingLocation.setLocationName(location.getLocationName());
-                    }
-                    if (location.getLocation() != null) {
-                        existingLocation.setLocation(location.getLocation());
-                    }
-                    if (location.getCity() != null) {
-                        existingLocation.setCity(location.getCity());
-                    }
-                    if (location.getState() != null) {
-                        existingLocation.setState(location.getState());
-                    }
-                    if (location.getCounty() != null) {
-                        existingLocation.setCounty(location.getCounty());
-                    }
-                    if (location.getPhoneNumber() != null) {
-                        existingLocation.setPhoneNumber(location.getPhoneNumber());
-                    }
-                    if (location.getPharmacyHours() != null) {
-                        existingLocation.setPharmacyHours(location.getPharmacyHours());
-                    }
-                    if (location.getType() != null) {
-                        existingLocation.setType(location.getType());
-                    }
-
+                    checkVersion(locationDTO, existingLocation);
+                    clearLocationCaches(existingLocation);
+                    locationMapper.partialUpdate(existingLocation, locationDTO);
                     return existingLocation;
                 }
             )
-            .map(locationRepository::save);
+            .map(locationRepository::save)
+            .map(locationMapper::toDto);
     }
 
     /**
@@ -90,9 +123,9 @@ public class LocationService {
      * @return the list of entities.
      */
     @Transactional(readOnly = true)
-    public Page<Location> findAll(Pageable pageable) {
+    public Page<LocationDTO> findAll(Pageable pageable) {
         log.debug("Request to get all Locations");
-        return locationRepository.findAll(pageable);
+        return locationRepository.findAllViews(pageable).map(locationMapper::toDto);
     }
 
     /**
@@ -102,9 +135,39 @@ public class LocationService {
      * @return the entity.
      */
     @Transactional(readOnly = true)
-    public Optional<Location> findOne(Long id) {
+    public Optional<LocationDTO> findOne(Long id) {
         log.debug("Request to get Location : {}", id);
-        return locationRepository.findById(id);
+        return locationRepository.findById(id).map(locationMapper::toDto);
+    }
+
+    /**
+     * Get one location by locationNumber.
+     * <p>
+     * The id of the location is read from a cache, then the location from the second-level cache, so that
+     * a known locationNumber is resolved without querying the database, and an unknown one with a single query.
+     * Unknown locationNumbers are not cached: this cache is not invalidated across the cluster, and a location created
+     * by another instance would be missed until the entry expires.
+     *
+     * @param locationNumber the locationNumber of the entity.
+     * @return the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<LocationDTO> findByLocationNumber(UUID locationNumber) {
+        log.debug("Request to get Location by locationNumber : {}", locationNumber);
+        Optional<Long> id = locationRepository.findIdByLocationNumber(locationNumber);
+        if (id.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<Location> location = locationRepository.findById(id.get());
+        if (location.isEmpty()) {
+            // The cached id is of a location deleted meanwhile
+            evictLocationId(locationNumber);
+        } else if (!locationNumber.equals(location.get().getLocationNumber())) {
+            // The cached id was cached by a concurrent read of a location whose locationNumber changed
+            evictLocationId(locationNumber);
+            location = locationRepository.findByLocationNumber(locationNumber);
+        }
+        return location.map(locationMapper::toDto);
     }
 
     /**
@@ -114,6 +177,37 @@ public class LocationService {
      */
     public void delete(Long id) {
         log.debug("Request to delete Location : {}", id);
+        locationRepository.findById(id).ifPresent(this::clearLocationCaches);
         locationRepository.deleteById(id);
     }
+
+    /**
+     * Map the location, replacing the address received by id with a reference: being versioned, a detached address without
+     * version would be taken for a new one.
+     */
+    private Location toEntity(LocationDTO locationDTO) {
+        Location location = locationMapper.toEntity(locationDTO);
+        if (location.getAddress() != null && location.getAddress().getId() != null) {
+            location.setAddress(addressRepository.getOne(location.getAddress().getId()));
+        }
+        return location;
+    }
+
+    private static void checkVersion(LocationDTO locationDTO, Location existingLocation) {
+        if (locationDTO.getVersion() == null) {
+            locationDTO.setVersion(existingLocation.getVersion());
+        } else if (!locationDTO.getVersion().equals(existingLocation.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Location.class, locationDTO.getId());
+        }
+    }
+
+    private void clearLocationCaches(Location location) {
+        if (location.getLocationNumber() != null) {
+            evictLocationId(location.getLocationNumber());
+        }
+    }
+
+    private void evictLocationId(UUID locationNumber) {
+        Objects.requireNonNull(cacheManager.getCache(LocationRepository.LOCATION_IDS_BY_NUMBER_CACHE)).evict(locationNumber);
+    }
 }
@@ -0,0 +1,110 @@
+package com.walgreens.rxi.purchasing.service;
+
+import com.walgreens.rxi.purchasing.domain.*; // for static metamodels
+import com.walgreens.rxi.purchasing.domain.OrderItem;
+import com.walgreens.rxi.purchasing.repository.OrderItemRepository;
+import com.walgreens.rxi.purchasing.service.criteria.OrderItemCriteria;
+import com.walgreens.rxi.purchasing.service.dto.OrderItemDTO;
+import com.walgreens.rxi.purchasing.service.mapper.OrderItemMapper;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link OrderItem} entities in the database.
+ * The main input is a {@link OrderItemCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link List} of {@link OrderItemDTO} or a {@link Page} of {@link OrderItemDTO} which fulfills the criteria.
+ */
+@Service
+@Transactional(readOnly = true)
+public class OrderItemQueryService extends QueryService<OrderItem> {
+
+    private final Logger log = LoggerFactory.getLogger(OrderItemQueryService.class);
+
+    private final OrderItemRepository orderItemRepository;
+
+    private final OrderItemMapper orderItemMapper;
+
+    public OrderItemQueryService(OrderItemRepository orderItemRepository, OrderItemMapper orderItemMapper) {
+        this.orderItemRepository = orderItemRepository;
+        this.orderItemMapper = orderItemMapper;
+    }
+
+    /**
+     * Return a {@link List} of {@link OrderItemDTO} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public List<OrderItemDTO> findByCriteria(OrderItemCriteria criteria) {
+        log.debug("find by criteria : {}", criteria);
+        final Specification<OrderItem> specification = createSpecification(criteria);
+        return orderItemMapper.toDto(orderItemRepository.findAll(specification));
+    }
+
+    /**
+     * Return a {@link Page} of {@link OrderItemDTO} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<OrderItemDTO> findByCriteria(OrderItemCriteria criteria, Pageable page) {
+        log.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<OrderItem> specification = createSpecification(criteria);
+        return orderItemRepository.findAll(specification, page).map(orderItemMapper::toDto);
+    }
+
+    /**
+     * Return the number of matching entities in the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(OrderItemCriteria criteria) {
+        log.debug("count by criteria : {}", criteria);
+        final Specification<OrderItem> specification = createSpecification(criteria);
+        return orderItemRepository.count(specification);
+    }
+
+    /**
+     * Function to convert {@link OrderItemCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<OrderItem> createSpecification(OrderItemCriteria criteria) {
+        Specification<OrderItem> specification = Specification.where(null);
+        if (criteria != null) {
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), OrderItem_.id));
+            }
+            if (criteria.getQuantity() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getQuantity(), OrderItem_.quantity));
+            }
+            if (criteria.getTotalPrice() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getTotalPrice(), OrderItem_.totalPrice));
+            }
+            if (criteria.getStatus() != null) {
+                specification = specification.and(buildSpecification(criteria.getStatus(), OrderItem_.status));
+            }
+            if (criteria.getLocationOrderId() != null) {
+                // Compare the foreign key column directly so the (location_order_id, status) index is used without a join
+                specification =
+                    specification.and(
+                        buildSpecification(
+                            criteria.getLocationOrderId(),
+                            root -> root.get(OrderItem_.locationOrder).get(LocationOrder_.id)
+                        )
+                    );
+            }
+        }
+        return specification;
+    }
+}
@@ -1,11 +1,31 @@
 package com.walgreens.rxi.purchasing.service;
 
+import com.walgreens.rxi.purchasing.domain.LocationOrder;
 import com.walgreens.rxi.purchasing.domain.OrderItem;
+import com.walgreens.rxi.purchasing.domain.enumeration.OrderItemStatus;
+import com.walgreens.rxi.purchasing.repository.LocationOrderRepository;
 import com.walgreens.rxi.purchasing.repository.OrderItemRepository;
+import com.walgreens.rxi.purchasing.service.dto.OrderItemDTO;
+import com.walgreens.rxi.purchasing.service.dto.OrderItemStatusUpdateDTO;
+import com.walgreens.rxi.purchasing.service.dto.OrderItemStatusUpdateResultDTO;
+import com.walgreens.rxi.purchasing.service.dto.OrderItemStatusUpdateResultDTO.Outcome;
+import com.walgreens.rxi.purchasing.service.mapper.OrderItemMapper;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,61 +38,197 @@ public class OrderItemService {
 
     private final Logger log = LoggerFactory.getLogger(OrderItemService.class);
 
+    /**
+     * Maximum number of ids bound to one {@code UPDATE ... WHERE id IN (...)} statement.
+     */
+    private static final int STATUS_UPDATE_CHUNK_SIZE = 500;
+
     private final OrderItemRepository orderItemRepository;
 
-    public OrderItemService(OrderItemRepository orderItemRepository) {
+    private final LocationOrderRepository locationOrderRepository;
+
+    private final OrderItemMapper orderItemMapper;
+
+    private final LocationOrderSummaryService locationOrderSummaryService;
+
+    private final PurchasingEventService purchasingEventService;
+
+    private final ClusterCacheInvalidator clusterCacheInvalidator;
+
+    public OrderItemService(
+        OrderItemRepository orderItemRepository,
+        LocationOrderRepository locationOrderRepository,
+        OrderItemMapper orderItemMapper,
+        LocationOrderSummaryService locationOrderSummaryService,
+        PurchasingEventService purchasingEventService,
+        ClusterCacheInvalidator clusterCacheInvalidator
+    ) {
         this.orderItemRepository = orderItemRepository;
+        this.locationOrderRepository = locationOrderRepository;
+        this.orderItemMapper = orderItemMapper;
+        this.locationOrderSummaryService = locationOrderSummaryService;
+        this.purchasingEventService = purchasingEventService;
+        this.clusterCacheInvalidator = clusterCacheInvalidator;
     }
 
     /**
      * Save a orderItem.
      *
-     * @param orderItem the entity to save.
+     * @param orderItemDTO the entity to save.
      * @return the persisted entity.
      */
-    public OrderItem save(OrderItem orderItem) {
-        log.debug("Request to save OrderItem : {}", orderItem);
-        return orderItemRepository.save(orderItem);
+    public OrderItemDTO save(OrderItemDTO orderItemDTO) {
+        log.debug("Request to save OrderItem : {}", orderItemDTO);
+        OrderItem orderItem = toEntity(orderItemDTO);
+        // An existing orderItem may move to another locationOrder, whose summary changes as well
+        boolean isNew = orderItem.getId() == null;
+        List<Long> locationOrderIds = new ArrayList<>();
+        if (!isNew) {
+            locationOrderIds.addAll(orderItemRepository.findLocationOrderIds(List.of(orderItem.getId())));
+        }
+        OrderItem result = orderItemRepository.save(orderItem);
+        if (result.getLocationOrder() != null) {
+            locationOrderIds.add(result.getLocationOrder().getId());
+        }
+        locationOrderSummaryService.refresh(locationOrderIds);
+        if (isNew) {
+            purchasingEventService.orderItemCreated(result);
+        } else {
+            purchasingEventService.orderItemUpdated(result);
+        }
+        return orderItemMapper.toDto(result);
     }
 
     /**
-     * Partially update a orderItem.
+     * Update a orderItem, loaded once to merge the changes onto it.
      *
-     * @param orderItem the entity to update partially.
-     * @return the persisted entity.
+     * @param orderItemDTO the entity to update, without a version to overwrite the current one.
+     * @return the persisted entity, or empty if there is no orderItem with this id.
+     * @throws ObjectOptimisticLockingFailureException if the orderItem was updated since the given version.
      */
-    public Optional<OrderItem> partialUpdate(OrderItem orderItem) {
-        log.debug("Request to partially update OrderItem : {}", orderItem);
-
+    public Optional<OrderItemDTO> update(OrderItemDTO orderItemDTO) {
+        log.debug("Request to update OrderItem : {}", orderItemDTO);
         return orderItemRepository
-            .findById(orderItem.getId())
+            .findById(orderItemDTO.getId())
             .map(
                 existingOrderItem -> {
-                    if (orderItem.getQuantity() != null) {
-                        existingOrderItem.setQuantity(orderItem.getQuantity());
+                    checkVersion(orderItemDTO, existingOrderItem);
+                    // The orderItem may move to another locationOrder, whose summary changes as well
+                    List<Long> locationOrderIds = new ArrayList<>();
+                    if (existingOrderItem.getLocationOrder() != null) {
+                        locationOrderIds.add(existingOrderItem.getLocationOrder().getId());
                     }
-                    if (orderItem.getTotalPrice() != null) {
-                        existingOrderItem.setTotalPrice(orderItem.getTotalPrice());
-                    }
-                    if (orderItem.getStatus() != null) {
-                        existingOrderItem.setStatus(orderItem.getStatus());
+                    OrderItem result = orderItemRepository.save(toEntity(orderItemDTO));
+                    if (result.getLocationOrder() != null) {
+                        locationOrderIds.add(result.getLocationOrder().getId());
                     }
+                    locationOrderSummaryService.refresh(locationOrderIds);
+                    purchasingEventService.orderItemUpdated(result);
+                    return orderItemMapper.toDto(result);
+                }
+            );
+    }
+
+    /**
+     * Partially update a orderItem.
+     *
+     * @param orderItemDTO the entity to update partially.
+     * @return the persisted entity.
+     */
+    public Optional<OrderItemDTO> partialUpdate(OrderItemDTO orderItemDTO) {
+        log.debug("Request to partially update OrderItem : {}", orderItemDTO);
 
+        return orderItemRepository
+            .findById(orderItemDTO.getId())
+            .map(
+                existingOrderItem -> {
+                    checkVersion(orderItemDTO, existingOrderItem);
+                    orderItemMapper.partialUpdate(existingOrderItem, orderItemDTO);
                     return existingOrderItem;
                 }
             )
-            .map(orderItemRepository::save);
+            .map(orderItemRepository::save)
+            .map(
+                result -> {
+                    if (result.getLocationOrder() != null) {
+                        locationOrderSummaryService.refresh(List.of(result.getLocationOrder().getId()));
+                    }
+                    purchasingEventService.orderItemUpdated(result);
+                    return orderItemMapper.toDto(result);
+                }
+            );
+    }
+
+    /**
+     * Update the status of many orderItems with set-based statements.
+     * <p>
+     * Updates are grouped by target status and applied in chunks of {@value #STATUS_UPDATE_CHUNK_SIZE} ids,
+     * when an id is given several times the last status wins.
+     *
+     * @param updates the requested status changes.
+     * @return the outcome for each distinct id, in request order.
+     */
+    public List<OrderItemStatusUpdateResultDTO> updateStatuses(List<OrderItemStatusUpdateDTO> updates) {
+        log.debug("Request to update the status of {} OrderItems", updates.size());
+        Map<Long, OrderItemStatus> statusById = new LinkedHashMap<>();
+        updates.forEach(update -> statusById.put(update.getId(), update.getStatus()));
+
+        Map<OrderItemStatus, List<Long>> idsByStatus = new EnumMap<>(OrderItemStatus.class);
+        statusById.forEach((id, status) -> idsByStatus.computeIfAbsent(status, key -> new ArrayList<>()).add(id));
+
+        Set<Long> updatedIds = new HashSet<>();
+        Set<Long> locationOrderIds = new HashSet<>();
+        idsByStatus.forEach(
+            (status, ids) -> {
+                for (int from = 0; from < ids.size(); from += STATUS_UPDATE_CHUNK_SIZE) {
+                    List<Long> chunkUpdatedIds = orderItemRepository.updateStatus(
+                        ids.subList(from, Math.min(from + STATUS_UPDATE_CHUNK_SIZE, ids.size())),
+                        status
+                    );
+                    // Hibernate sees no change to share with the other instances in a native update
+                    clusterCacheInvalidator.entitiesEvicted(OrderItem.class, chunkUpdatedIds);
+                    updatedIds.addAll(chunkUpdatedIds);
+                    if (!chunkUpdatedIds.isEmpty()) {
+                        orderItemRepository
+                            .findAllWithLocationOrderByIdIn(chunkUpdatedIds)
+                            .stream()
+                            .filter(orderItem -> orderItem.getLocationOrder() != null)
+                            .collect(
+                                Collectors.groupingBy(
+                                    OrderItem::getLocationOrder,
+                                    () -> new TreeMap<>(Comparator.comparing(LocationOrder::getId)),
+                                    Collectors.mapping(OrderItem::getId, Collectors.toList())
+                                )
+                            )
+                            .forEach(
+                                (locationOrder, orderItemIds) -> {
+                                    locationOrderIds.add(locationOrder.getId());
+                                    purchasingEventService.orderItemStatusesChanged(locationOrder, status, orderItemIds);
+                                }
+                            );
+                    }
+                }
+            }
+        );
+        locationOrderSummaryService.refresh(locationOrderIds);
+
+        return statusById
+            .keySet()
+            .stream()
+            .map(id -> new OrderItemStatusUpdateResultDTO(id, updatedIds.contains(id) ? Outcome.UPDATED : Outcome.NOT_FOUND))
+            .collect(Collectors.toList());
     }
 
     /**
      * Get all the orderItems.
      *
+     * @param pageable the pagination information.
      * @return the list of entities.
      */
     @Transactional(readOnly = true)
-    public List<OrderItem> findAll() {
+    public Page<OrderItemDTO> findAll(Pageable pageable) {
         log.debug("Request to get all OrderItems");
-        return orderItemRepository.findAll();
+        return orderItemRepository.findAll(pageable).map(orderItemMapper::toDto);
     }
 
     /**
@@ -82,9 +238,9 @@ public class OrderItemService {
      * @return the entity.
      */
     @Transactional(readOnly = true)
-    public Optional<OrderItem> findOne(Long id) {
+    public Optional<OrderItemDTO> findOne(Long id) {
         log.debug("Request to get OrderItem : {}", id);
-        return orderItemRepository.findById(id);
+        return orderItemRepository.findById(id).map(orderItemMapper::toDto);
     }
 
     /**
@@ -94,6 +250,31 @@ public class OrderItemService {
      */
     public void delete(Long id) {
         log.debug("Request to delete OrderItem : {}", id);
+        Optional<OrderItem> orderItem = orderItemRepository.findById(id);
+        orderItem.ifPresent(purchasingEventService::orderItemDeleted);
         orderItemRepository.deleteById(id);
+        orderItem
+            .map(OrderItem::getLocationOrder)
+            .ifPresent(locationOrder -> locationOrderSummaryService.refresh(List.of(locationOrder.getId())));
+    }
+
+    /**
+     * Map the orderItem, replacing the locationOrder received by id with a reference: being versioned, a detached
+     * locationOrder without version would be taken for a new one.
+     */
+    private OrderItem toEntity(OrderItemDTO orderItemDTO) {
+        OrderItem orderItem = orderItemMapper.toEntity(orderItemDTO);
+        if (orderItem.getLocationOrder() != null && orderItem.getLocationOrder().getId() != null) {
+            orderItem.setLocationOrder(locationOrderRepository.getOne(orderItem.getLocationOrder().getId()));
+        }
+        return orderItem;
+    }
+
+    private static void checkVersion(OrderItemDTO orderItemDTO, OrderItem existingOrderItem) {
+        if (orderItemDTO.getVersion() == null) {
+            orderItemDTO.setVersion(existingOrderItem.getVersion());
+        } else if (!orderItemDTO.getVersion().equals(existingOrderItem.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(OrderItem.class, orderItemDTO.getId());
+        }
     }
 }
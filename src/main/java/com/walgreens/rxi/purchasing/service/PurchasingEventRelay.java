@@ -0,0 +1,150 @@
+package com.walgreens.rxi.purchasing.service;
+
+import com.walgreens.rxi.purchasing.config.ApplicationProperties;
+import com.walgreens.rxi.purchasing.config.KafkaProperties;
+import com.walgreens.rxi.purchasing.domain.OutboxEvent;
+import com.walgreens.rxi.purchasing.repository.OutboxEventRepository;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service relaying the outbox events to Kafka, oldest first, in batches of {@code application.outbox.batch-size}.
+ * <p>
+ * Each batch is locked, sent, and deleted once all of its records are acknowledged, in one transaction. A failed batch
+ * is rolled back and sent again by the next run, so the delivery is at least once. The producer is idempotent, which
+ * keeps the records of one key in order within a partition across retries.
+ * <p>
+ * The transaction reads committed data, which takes no gap lock: the order writes inserting new events never wait for a
+ * batch being relayed. The batch locks only its own rows, for {@code application.outbox.send-timeout-ms} at most while
+ * Kafka is slow or down.
+ */
+@Service
+public class PurchasingEventRelay implements DisposableBean {
+
+    public static final String EVENT_TYPE_HEADER = "eventType";
+
+    private final Logger log = LoggerFactory.getLogger(PurchasingEventRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Outbox outbox;
+
+    private final Producer<String, String> producer;
+
+    @Autowired
+    public PurchasingEventRelay(
+        OutboxEventRepository outboxEventRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        KafkaProperties kafkaProperties
+    ) {
+        this(
+            outboxEventRepository,
+            transactionManager,
+            applicationProperties.getOutbox(),
+            createProducer(kafkaProperties, applicationProperties.getOutbox())
+        );
+    }
+
+    PurchasingEventRelay(
+        OutboxEventRepository outboxEventRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties.Outbox outbox,
+        Producer<String, String> producer
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.outbox = outbox;
+        this.producer = producer;
+    }
+
+    private static Producer<String, String> createProducer(KafkaProperties kafkaProperties, ApplicationProperties.Outbox outbox) {
+        if (!outbox.isRelayEnabled()) {
+            return null;
+        }
+        Map<String, Object> producerProps = kafkaProperties.getProducerProps();
+        producerProps.putIfAbsent(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, "true");
+        // Do not block a batch on the metadata of an unreachable cluster longer than on its acknowledgements
+        producerProps.putIfAbsent(ProducerConfig.MAX_BLOCK_MS_CONFIG, String.valueOf(outbox.getSendTimeoutMs()));
+        return new KafkaProducer<>(producerProps);
+    }
+
+    /**
+     * Relay the outbox events until the outbox is empty or a batch fails.
+     */
+    @Scheduled(fixedDelayString = "${application.outbox.relay-delay-ms:1000}")
+    public void relay() {
+        if (producer == null) {
+            return;
+        }
+        try {
+            int sent;
+            do {
+                sent = transactionTemplate.execute(status -> relayBatch());
+            } while (sent == outbox.getBatchSize());
+        } catch (RuntimeException e) {
+            log.warn("Relaying the outbox events to Kafka failed, retrying with the next run: {}", e.getMessage());
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.findOldestForUpdate(PageRequest.of(0, outbox.getBatchSize()));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(outbox.getSendTimeoutMs());
+        List<Future<RecordMetadata>> acks = events.stream().map(event -> producer.send(toRecord(event))).collect(Collectors.toList());
+        for (Future<RecordMetadata> ack : acks) {
+            try {
+                ack.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Kafka did not acknowledge an outbox event", e.getCause());
+            } catch (TimeoutException e) {
+                throw new IllegalStateException("Kafka did not acknowledge the outbox events in " + outbox.getSendTimeoutMs() + " ms", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while relaying the outbox events", e);
+            }
+        }
+        outboxEventRepository.deleteInBatch(events);
+        log.debug("Relayed {} outbox events to Kafka", events.size());
+        return events.size();
+    }
+
+    private ProducerRecord<String, String> toRecord(OutboxEvent event) {
+        ProducerRecord<String, String> record = new ProducerRecord<>(outbox.getTopic(), event.getEventKey(), event.getPayload());
+        record.headers().add(EVENT_TYPE_HEADER, event.getEventType().name().getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
+    @Override
+    public void destroy() {
+        if (producer != null) {
+            producer.close();
+        }
+    }
+}
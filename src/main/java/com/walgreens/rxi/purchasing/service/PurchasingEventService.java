@@ -0,0 +1,123 @@
+package com.walgreens.rxi.purchasing.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.walgreens.rxi.purchasing.domain.LocationOrder;
+import com.walgreens.rxi.purchasing.domain.OrderItem;
+import com.walgreens.rxi.purchasing.domain.OutboxEvent;
+import com.walgreens.rxi.purchasing.domain.enumeration.OrderItemStatus;
+import com.walgreens.rxi.purchasing.domain.enumeration.PurchasingEventType;
+import com.walgreens.rxi.purchasing.repository.OutboxEventRepository;
+import com.walgreens.rxi.purchasing.service.mapper.LocationOrderMapper;
+import com.walgreens.rxi.purchasing.service.mapper.OrderItemMapper;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service writing the purchasing events to the outbox, in the transaction of the change they describe.
+ * <p>
+ * The payloads have the JSON representation of the REST API, and the events of one location order share its code as key.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class PurchasingEventService {
+
+    private final Logger log = LoggerFactory.getLogger(PurchasingEventService.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final LocationOrderMapper locationOrderMapper;
+
+    private final OrderItemMapper orderItemMapper;
+
+    private final ObjectMapper objectMapper;
+
+    public PurchasingEventService(
+        OutboxEventRepository outboxEventRepository,
+        LocationOrderMapper locationOrderMapper,
+        OrderItemMapper orderItemMapper,
+        ObjectMapper objectMapper
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.locationOrderMapper = locationOrderMapper;
+        this.orderItemMapper = orderItemMapper;
+        this.objectMapper = objectMapper;
+    }
+
+    public void locationOrderCreated(LocationOrder locationOrder, List<OrderItem> orderItems) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("locationOrder", locationOrderMapper.toDto(locationOrder));
+        payload.put("orderItems", orderItemMapper.toDto(orderItems));
+        record(PurchasingEventType.LOCATION_ORDER_CREATED, keyOf(locationOrder), payload);
+    }
+
+    public void locationOrderUpdated(LocationOrder locationOrder) {
+        record(PurchasingEventType.LOCATION_ORDER_UPDATED, keyOf(locationOrder), locationOrderMapper.toDto(locationOrder));
+    }
+
+    public void locationOrderDeleted(LocationOrder locationOrder) {
+        record(PurchasingEventType.LOCATION_ORDER_DELETED, keyOf(locationOrder), locationOrderMapper.toDto(locationOrder));
+    }
+
+    public void orderItemCreated(OrderItem orderItem) {
+        record(PurchasingEventType.ORDER_ITEM_CREATED, keyOf(orderItem.getLocationOrder()), orderItemMapper.toDto(orderItem));
+    }
+
+    public void orderItemUpdated(OrderItem orderItem) {
+        record(PurchasingEventType.ORDER_ITEM_UPDATED, keyOf(orderItem.getLocationOrder()), orderItemMapper.toDto(orderItem));
+    }
+
+    public void orderItemDeleted(OrderItem orderItem) {
+        record(PurchasingEventType.ORDER_ITEM_DELETED, keyOf(orderItem.getLocationOrder()), orderItemMapper.toDto(orderItem));
+    }
+
+    /**
+     * Record that orderItems of one locationOrder were set to the same status by a batch update.
+     *
+     * @param locationOrder the locationOrder of the orderItems, loaded with them.
+     * @param status the new status.
+     * @param orderItemIds the ids of the updated orderItems.
+     */
+    public void orderItemStatusesChanged(LocationOrder locationOrder, OrderItemStatus status, List<Long> orderItemIds) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("locationOrderId", locationOrder.getId());
+        payload.put("status", status);
+        payload.put("orderItemIds", orderItemIds);
+        record(PurchasingEventType.ORDER_ITEM_STATUSES_CHANGED, keyOf(locationOrder), payload);
+    }
+
+    private void record(PurchasingEventType eventType, String eventKey, Object payload) {
+        OutboxEvent event = new OutboxEvent()
+            .eventType(eventType)
+            .eventKey(eventKey)
+            .payload(toJson(payload))
+            .createdDate(Instant.now());
+        log.debug("Request to record OutboxEvent : {}", event);
+        outboxEventRepository.save(event);
+    }
+
+    /**
+     * The key of the events of a locationOrder, its code.
+     * <p>
+     * The locationOrders given are managed, or references resolved by the callers, so their code is already loaded or read
+     * through the second-level cache.
+     */
+    private static String keyOf(LocationOrder locationOrder) {
+        return locationOrder == null || locationOrder.getCode() == null ? null : locationOrder.getCode().toString();
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize the event payload", e);
+        }
+    }
+}
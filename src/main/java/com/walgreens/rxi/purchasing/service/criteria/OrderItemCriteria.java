@@ -0,0 +1,176 @@
+package com.walgreens.rxi.purchasing.service.criteria;
+
+import com.walgreens.rxi.purchasing.domain.enumeration.OrderItemStatus;
+import java.io.Serializable;
+import java.util.Objects;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.BigDecimalFilter;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.IntegerFilter;
+import tech.jhipster.service.filter.LongFilter;
+
+/**
+ * Criteria class for the {@link com.walgreens.rxi.purchasing.domain.OrderItem} entity. This class is used
+ * in {@link com.walgreens.rxi.purchasing.web.rest.OrderItemResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /order-items?locationOrderId.equals=5&status.in=AVAILABLE,BACK_ORDER&totalPrice.greaterThanOrEqual=10}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+public class OrderItemCriteria implements Serializable, Criteria {
+
+    /**
+     * Class for filtering OrderItemStatus
+     */
+    public static class OrderItemStatusFilter extends Filter<OrderItemStatus> {
+
+        public OrderItemStatusFilter() {}
+
+        public OrderItemStatusFilter(OrderItemStatusFilter filter) {
+            super(filter);
+        }
+
+        @Override
+        public OrderItemStatusFilter copy() {
+            return new OrderItemStatusFilter(this);
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private IntegerFilter quantity;
+
+    private BigDecimalFilter totalPrice;
+
+    private OrderItemStatusFilter status;
+
+    private LongFilter locationOrderId;
+
+    public OrderItemCriteria() {}
+
+    public OrderItemCriteria(OrderItemCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.quantity = other.quantity == null ? null : other.quantity.copy();
+        this.totalPrice = other.totalPrice == null ? null : other.totalPrice.copy();
+        this.status = other.status == null ? null : other.status.copy();
+        this.locationOrderId = other.locationOrderId == null ? null : other.locationOrderId.copy();
+    }
+
+    @Override
+    public OrderItemCriteria copy() {
+        return new OrderItemCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            id = new LongFilter();
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public IntegerFilter getQuantity() {
+        return quantity;
+    }
+
+    public IntegerFilter quantity() {
+        if (quantity == null) {
+            quantity = new IntegerFilter();
+        }
+        return quantity;
+    }
+
+    public void setQuantity(IntegerFilter quantity) {
+        this.quantity = quantity;
+    }
+
+    public BigDecimalFilter getTotalPrice() {
+        return totalPrice;
+    }
+
+    public BigDecimalFilter totalPrice() {
+        if (totalPrice == null) {
+            totalPrice = new BigDecimalFilter();
+        }
+        return totalPrice;
+    }
+
+    public void setTotalPrice(BigDecimalFilter totalPrice) {
+        this.totalPrice = totalPrice;
+    }
+
+    public OrderItemStatusFilter getStatus() {
+        return status;
+    }
+
+    public OrderItemStatusFilter status() {
+        if (status == null) {
+            status = new OrderItemStatusFilter();
+        }
+        return status;
+    }
+
+    public void setStatus(OrderItemStatusFilter status) {
+        this.status = status;
+    }
+
+    public LongFilter getLocationOrderId() {
+        return locationOrderId;
+    }
+
+    public LongFilter locationOrderId() {
+        if (locationOrderId == null) {
+            locationOrderId = new LongFilter();
+        }
+        return locationOrderId;
+    }
+
+    public void setLocationOrderId(LongFilter locationOrderId) {
+        this.locationOrderId = locationOrderId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final OrderItemCriteria that = (OrderItemCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(quantity, that.quantity) &&
+            Objects.equals(totalPrice, that.totalPrice) &&
+            Objects.equals(status, that.status) &&
+            Objects.equals(locationOrderId, that.locationOrderId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, quantity, totalPrice, status, locationOrderId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderItemCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (quantity != null ? "quantity=" + quantity + ", " : "") +
+            (totalPrice != null ? "totalPrice=" + totalPrice + ", " : "") +
+            (status != null ? "status=" + status + ", " : "") +
+            (locationOrderId != null ? "locationOrderId=" + locationOrderId + ", " : "") +
+            "}";
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Criteria classes used to filter entities from the Http GET request parameters.
+ */
+package com.walgreens.rxi.purchasing.service.criteria;
@@ -0,0 +1,155 @@
+package com.walgreens.rxi.purchasing.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+import javax.validation.constraints.*;
+
+/**
+ * A DTO for the {@link com.walgreens.rxi.purchasing.domain.Address} entity.
+ */
+public class AddressDTO implements Serializable {
+
+    private Long id;
+
+    private Long version;
+
+    private String address1;
+
+    private String address2;
+
+    private String city;
+
+    @NotNull
+    @Size(max = 10)
+    private String postcode;
+
+    @NotNull
+    @Size(max = 2)
+    private String country;
+
+    private String timezone;
+
+    @NotNull
+    private Double latitude;
+
+    @NotNull
+    private Double longitude;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getAddress1() {
+        return address1;
+    }
+
+    public void setAddress1(String address1) {
+        this.address1 = address1;
+    }
+
+    public String getAddress2() {
+        return address2;
+    }
+
+    public void setAddress2(String address2) {
+        this.address2 = address2;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getPostcode() {
+        return postcode;
+    }
+
+    public void setPostcode(String postcode) {
+        this.postcode = postcode;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public void setCountry(String country) {
+        this.country = country;
+    }
+
+    public String getTimezone() {
+        return timezone;
+    }
+
+    public void setTimezone(String timezone) {
+        this.timezone = timezone;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AddressDTO)) {
+            return false;
+        }
+
+        AddressDTO addressDTO = (AddressDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, addressDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AddressDTO{" +
+            "id=" + getId() +
+            ", version=" + getVersion() +
+            ", address1='" + getAddress1() + "'" +
+            ", address2='" + getAddress2() + "'" +
+            ", city='" + getCity() + "'" +
+            ", postcode='" + getPostcode() + "'" +
+            ", country='" + getCountry() + "'" +
+            ", timezone='" + getTimezone() + "'" +
+            ", latitude=" + getLatitude() +
+            ", longitude=" + getLongitude() +
+            "}";
+    }
+}
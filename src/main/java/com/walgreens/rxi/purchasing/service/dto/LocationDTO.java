@@ -0,0 +1,178 @@
+package com.walgreens.rxi.purchasing.service.dto;
+
+import com.walgreens.rxi.purchasing.domain.enumeration.LocationType;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.UUID;
+import javax.validation.constraints.*;
+
+/**
+ * A DTO for the {@link com.walgreens.rxi.purchasing.domain.Location} entity.
+ */
+public class LocationDTO implements Serializable {
+
+    private Long id;
+
+    private Long version;
+
+    private UUID locationNumber;
+
+    @NotNull
+    private String locationName;
+
+    private String location;
+
+    private String city;
+
+    private String state;
+
+    private String county;
+
+    @NotNull
+    private BigDecimal phoneNumber;
+
+    @NotNull
+    private String pharmacyHours;
+
+    @NotNull
+    private LocationType type;
+
+    private AddressDTO address;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public UUID getLocationNumber() {
+        return locationNumber;
+    }
+
+    public void setLocationNumber(UUID locationNumber) {
+        this.locationNumber = locationNumber;
+    }
+
+    public String getLocationName() {
+        return locationName;
+    }
+
+    public void setLocationName(String locationName) {
+        this.locationName = locationName;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public String getCounty() {
+        return county;
+    }
+
+    public void setCounty(String county) {
+        this.county = county;
+    }
+
+    public BigDecimal getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public void setPhoneNumber(BigDecimal phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+
+    public String getPharmacyHours() {
+        return pharmacyHours;
+    }
+
+    public void setPharmacyHours(String pharmacyHours) {
+        this.pharmacyHours = pharmacyHours;
+    }
+
+    public LocationType getType() {
+        return type;
+    }
+
+    public void setType(LocationType type) {
+        this.type = type;
+    }
+
+    public AddressDTO getAddress() {
+        return address;
+    }
+
+    public void setAddress(AddressDTO address) {
+        this.address = address;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LocationDTO)) {
+            return false;
+        }
+
+        LocationDTO locationDTO = (LocationDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, locationDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "LocationDTO{" +
+            "id=" + getId() +
+            ", version=" + getVersion() +
+            ", locationNumber='" + getLocationNumber() + "'" +
+            ", locationName='" + getLocationName() + "'" +
+            ", location='" + getLocation() + "'" +
+            ", city='" + getCity() + "'" +
+            ", state='" + getState() + "'" +
+            ", county='" + getCounty() + "'" +
+            ", phoneNumber=" + getPhoneNumber() +
+            ", pharmacyHours='" + getPharmacyHours() + "'" +
+            ", type='" + getType() + "'" +
+            ", address=" + getAddress() +
+            "}";
+    }
+}
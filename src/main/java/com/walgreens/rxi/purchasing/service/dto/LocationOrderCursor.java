@@ -0,0 +1,70 @@
+package com.walgreens.rxi.purchasing.service.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * An opaque keyset cursor over {@link com.walgreens.rxi.purchasing.domain.LocationOrder}s, positioned on the {@code (placedDate, id)} of the last row of a page.
+ */
+public class LocationOrderCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final Instant placedDate;
+
+    private final Long id;
+
+    public LocationOrderCursor(Instant placedDate, Long id) {
+        this.placedDate = Objects.requireNonNull(placedDate);
+        this.id = Objects.requireNonNull(id);
+    }
+
+    public static LocationOrderCursor of(LocationOrderDTO locationOrderDTO) {
+        return new LocationOrderCursor(locationOrderDTO.getPlacedDate(), locationOrderDTO.getId());
+    }
+
+    /**
+     * Decode a cursor previously produced by {@link #encode()}.
+     *
+     * @param value the encoded cursor.
+     * @return the decoded cursor.
+     * @throws IllegalArgumentException if the value is not a valid cursor.
+     */
+    public static LocationOrderCursor decode(String value) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new LocationOrderCursor(Instant.parse(decoded.substring(0, separator)), Long.valueOf(decoded.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+
+    public String encode() {
+        String raw = placedDate.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Instant getPlacedDate() {
+        return placedDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "LocationOrderCursor{" +
+            "placedDate='" + placedDate + "'" +
+            ", id=" + id +
+            "}";
+    }
+}
@@ -0,0 +1,142 @@
+package com.walgreens.rxi.purchasing.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.walgreens.rxi.purchasing.domain.enumeration.OrderStatus;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import javax.validation.constraints.*;
+
+/**
+ * A DTO for the {@link com.walgreens.rxi.purchasing.domain.LocationOrder} entity.
+ */
+public class LocationOrderDTO implements Serializable {
+
+    /**
+     * An association which can be returned in full with the locationOrders, on request.
+     */
+    public enum Expansion {
+        ITEMS,
+        LOCATION,
+    }
+
+    private Long id;
+
+    private Long version;
+
+    private UUID code;
+
+    @NotNull
+    private Instant placedDate;
+
+    @NotNull
+    private OrderStatus status;
+
+    private Long invoiceId;
+
+    private LocationDTO location;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<OrderItemDTO> orderItems;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public UUID getCode() {
+        return code;
+    }
+
+    public void setCode(UUID code) {
+        this.code = code;
+    }
+
+    public Instant getPlacedDate() {
+        return placedDate;
+    }
+
+    public void setPlacedDate(Instant placedDate) {
+        this.placedDate = placedDate;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+
+    public Long getInvoiceId() {
+        return invoiceId;
+    }
+
+    public void setInvoiceId(Long invoiceId) {
+        this.invoiceId = invoiceId;
+    }
+
+    public LocationDTO getLocation() {
+        return location;
+    }
+
+    public void setLocation(LocationDTO location) {
+        this.location = location;
+    }
+
+    public List<OrderItemDTO> getOrderItems() {
+        return orderItems;
+    }
+
+    public void setOrderItems(List<OrderItemDTO> orderItems) {
+        this.orderItems = orderItems;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LocationOrderDTO)) {
+            return false;
+        }
+
+        LocationOrderDTO locationOrderDTO = (LocationOrderDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, locationOrderDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "LocationOrderDTO{" +
+            "id=" + getId() +
+            ", version=" + getVersion() +
+            ", code='" + getCode() + "'" +
+            ", placedDate='" + getPlacedDate() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", invoiceId=" + getInvoiceId() +
+            ", location=" + getLocation() +
+            "}";
+    }
+}
@@ -0,0 +1,29 @@
+package com.walgreens.rxi.purchasing.service.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * A DTO holding the amounts ordered by one {@link com.walgreens.rxi.purchasing.domain.Location}.
+ */
+public class LocationSpendDTO extends SpendDTO {
+
+    private final Long locationId;
+
+    public LocationSpendDTO(Long locationId, Long orderCount, Long itemCount, BigDecimal totalPrice) {
+        super(orderCount, itemCount, totalPrice);
+        this.locationId = locationId;
+    }
+
+    public Long getLocationId() {
+        return locationId;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "LocationSpendDTO{" +
+            "locationId=" + locationId +
+            ", " + super.toString() +
+            "}";
+    }
+}
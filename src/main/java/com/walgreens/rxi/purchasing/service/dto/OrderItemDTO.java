@@ -0,0 +1,112 @@
+package com.walgreens.rxi.purchasing.service.dto;
+
+import com.walgreens.rxi.purchasing.domain.enumeration.OrderItemStatus;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+import javax.validation.constraints.*;
+
+/**
+ * A DTO for the {@link com.walgreens.rxi.purchasing.domain.OrderItem} entity.
+ */
+public class OrderItemDTO implements Serializable {
+
+    private Long id;
+
+    private Long version;
+
+    @NotNull
+    @Min(value = 0)
+    private Integer quantity;
+
+    @NotNull
+    @DecimalMin(value = "0")
+    private BigDecimal totalPrice;
+
+    @NotNull
+    private OrderItemStatus status;
+
+    private LocationOrderDTO locationOrder;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public BigDecimal getTotalPrice() {
+        return totalPrice;
+    }
+
+    public void setTotalPrice(BigDecimal totalPrice) {
+        this.totalPrice = totalPrice;
+    }
+
+    public OrderItemStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderItemStatus status) {
+        this.status = status;
+    }
+
+    public LocationOrderDTO getLocationOrder() {
+        return locationOrder;
+    }
+
+    public void setLocationOrder(LocationOrderDTO locationOrder) {
+        this.locationOrder = locationOrder;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OrderItemDTO)) {
+            return false;
+        }
+
+        OrderItemDTO orderItemDTO = (OrderItemDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, orderItemDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderItemDTO{" +
+            "id=" + getId() +
+            ", version=" + getVersion() +
+            ", quantity=" + getQuantity() +
+            ", totalPrice=" + getTotalPrice() +
+            ", status='" + getStatus() + "'" +
+            ", locationOrder=" + getLocationOrder() +
+            "}";
+    }
+}
@@ -0,0 +1,50 @@
+package com.walgreens.rxi.purchasing.service.dto;
+
+import com.walgreens.rxi.purchasing.domain.enumeration.OrderItemStatus;
+import javax.validation.constraints.NotNull;
+
+/**
+ * A DTO requesting a new status for one {@link com.walgreens.rxi.purchasing.domain.OrderItem}.
+ */
+public class OrderItemStatusUpdateDTO {
+
+    @NotNull
+    private Long id;
+
+    @NotNull
+    private OrderItemStatus status;
+
+    public OrderItemStatusUpdateDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public OrderItemStatusUpdateDTO(Long id, OrderItemStatus status) {
+        this.id = id;
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public OrderItemStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderItemStatus status) {
+        this.status = status;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderItemStatusUpdateDTO{" +
+            "id=" + id +
+            ", status='" + status + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,38 @@
+package com.walgreens.rxi.purchasing.service.dto;
+
+/**
+ * A DTO reporting what happened to one {@link OrderItemStatusUpdateDTO}.
+ */
+public class OrderItemStatusUpdateResultDTO {
+
+    public enum Outcome {
+        UPDATED,
+        NOT_FOUND,
+    }
+
+    private final Long id;
+
+    private final Outcome outcome;
+
+    public OrderItemStatusUpdateResultDTO(Long id, Outcome outcome) {
+        this.id = id;
+        this.outcome = outcome;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderItemStatusUpdateResultDTO{" +
+            "id=" + id +
+            ", outcome='" + outcome + "'" +
+            "}";
+    }
+}
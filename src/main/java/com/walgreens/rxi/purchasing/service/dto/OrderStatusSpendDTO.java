@@ -0,0 +1,30 @@
+package com.walgreens.rxi.purchasing.service.dto;
+
+import com.walgreens.rxi.purchasing.domain.enumeration.OrderStatus;
+import java.math.BigDecimal;
+
+/**
+ * A DTO holding the amounts ordered in one {@link OrderStatus}.
+ */
+public class OrderStatusSpendDTO extends SpendDTO {
+
+    private final OrderStatus status;
+
+    public OrderStatusSpendDTO(OrderStatus status, Long orderCount, Long itemCount, BigDecimal totalPrice) {
+        super(orderCount, itemCount, totalPrice);
+        this.status = status;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderStatusSpendDTO{" +
+            "status='" + status + "'" +
+            ", " + super.toString() +
+            "}";
+    }
+}
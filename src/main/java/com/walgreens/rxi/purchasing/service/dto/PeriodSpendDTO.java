@@ -0,0 +1,46 @@
+package com.walgreens.rxi.purchasing.service.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Date;
+
+/**
+ * A DTO holding the amounts ordered during the period (day or week, UTC) starting on {@code periodStart}.
+ */
+public class PeriodSpendDTO extends SpendDTO {
+
+    /**
+     * The length of a period: a UTC day, or an ISO week starting on Monday.
+     */
+    public enum Period {
+        DAY,
+        WEEK,
+    }
+
+    private final LocalDate periodStart;
+
+    public PeriodSpendDTO(LocalDate periodStart, Long orderCount, Long itemCount, BigDecimal totalPrice) {
+        super(orderCount, itemCount, totalPrice);
+        this.periodStart = periodStart;
+    }
+
+    /**
+     * Constructor used by the query projections, which return the SQL {@code DATE} of the period.
+     */
+    public PeriodSpendDTO(Date periodStart, Long orderCount, Long itemCount, BigDecimal totalPrice) {
+        this(new java.sql.Date(periodStart.getTime()).toLocalDate(), orderCount, itemCount, totalPrice);
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PeriodSpendDTO{" +
+            "periodStart='" + periodStart + "'" +
+            ", " + super.toString() +
+            "}";
+    }
+}
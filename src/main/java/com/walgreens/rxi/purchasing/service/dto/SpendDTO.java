@@ -0,0 +1,41 @@
+package com.walgreens.rxi.purchasing.service.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * A DTO holding the amounts ordered within one group of {@link com.walgreens.rxi.purchasing.domain.LocationOrder}s.
+ */
+public abstract class SpendDTO {
+
+    private final long orderCount;
+
+    private final long itemCount;
+
+    private final BigDecimal totalPrice;
+
+    protected SpendDTO(Long orderCount, Long itemCount, BigDecimal totalPrice) {
+        this.orderCount = orderCount;
+        this.itemCount = itemCount;
+        this.totalPrice = totalPrice;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public long getItemCount() {
+        return itemCount;
+    }
+
+    public BigDecimal getTotalPrice() {
+        return totalPrice;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "orderCount=" + orderCount +
+            ", itemCount=" + itemCount +
+            ", totalPrice=" + totalPrice;
+    }
+}
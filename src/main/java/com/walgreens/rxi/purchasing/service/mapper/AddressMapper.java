@@ -0,0 +1,28 @@
+package com.walgreens.rxi.purchasing.service.mapper;
+
+import com.walgreens.rxi.purchasing.domain.Address;
+import com.walgreens.rxi.purchasing.repository.projection.AddressView;
+import com.walgreens.rxi.purchasing.service.dto.AddressDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link Address} and its DTO {@link AddressDTO}.
+ */
+@Mapper(componentModel = "spring", uses = {})
+public interface AddressMapper extends EntityMapper<AddressDTO, Address> {
+    @Mapping(target = "location", ignore = true)
+    Address toEntity(AddressDTO addressDTO);
+
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "location", ignore = true)
+    void partialUpdate(@MappingTarget Address entity, AddressDTO dto);
+
+    AddressDTO toDto(AddressView addressView);
+
+    @Named("id")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    AddressDTO toDtoId(Address address);
+}
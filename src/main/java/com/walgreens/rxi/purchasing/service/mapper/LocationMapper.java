@@ -0,0 +1,47 @@
+package com.walgreens.rxi.purchasing.service.mapper;
+
+import com.walgreens.rxi.purchasing.domain.Location;
+import com.walgreens.rxi.purchasing.repository.projection.LocationView;
+import com.walgreens.rxi.purchasing.service.dto.AddressDTO;
+import com.walgreens.rxi.purchasing.service.dto.LocationDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link Location} and its DTO {@link LocationDTO}.
+ */
+@Mapper(componentModel = "spring", uses = { AddressMapper.class })
+public interface LocationMapper extends EntityMapper<LocationDTO, Location> {
+    @Mapping(target = "address", source = "address", qualifiedByName = "id")
+    LocationDTO toDto(Location s);
+
+    @Mapping(target = "orders", ignore = true)
+    @Mapping(target = "removeOrder", ignore = true)
+    Location toEntity(LocationDTO locationDTO);
+
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "address", ignore = true)
+    @Mapping(target = "orders", ignore = true)
+    @Mapping(target = "removeOrder", ignore = true)
+    void partialUpdate(@MappingTarget Location entity, LocationDTO dto);
+
+    @Mapping(target = "address", source = "addressId", qualifiedByName = "addressId")
+    LocationDTO toDto(LocationView locationView);
+
+    @Named("locationNumber")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "locationNumber", source = "locationNumber")
+    LocationDTO toDtoLocationNumber(Location location);
+
+    @Named("addressId")
+    default AddressDTO toDtoAddressId(Long addressId) {
+        if (addressId == null) {
+            return null;
+        }
+        AddressDTO addressDTO = new AddressDTO();
+        addressDTO.setId(addressId);
+        return addressDTO;
+    }
+}
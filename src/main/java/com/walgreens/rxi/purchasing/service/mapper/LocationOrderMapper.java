@@ -0,0 +1,55 @@
+package com.walgreens.rxi.purchasing.service.mapper;
+
+import com.walgreens.rxi.purchasing.domain.LocationOrder;
+import com.walgreens.rxi.purchasing.repository.projection.LocationOrderView;
+import com.walgreens.rxi.purchasing.service.dto.LocationDTO;
+import com.walgreens.rxi.purchasing.service.dto.LocationOrderDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link LocationOrder} and its DTO {@link LocationOrderDTO}.
+ */
+@Mapper(componentModel = "spring", uses = { LocationMapper.class })
+public interface LocationOrderMapper extends EntityMapper<LocationOrderDTO, LocationOrder> {
+    @Mapping(target = "location", source = "location", qualifiedByName = "locationNumber")
+    @Mapping(target = "orderItems", ignore = true)
+    LocationOrderDTO toDto(LocationOrder s);
+
+    @Named("withLocation")
+    @Mapping(target = "location", source = "location")
+    @Mapping(target = "orderItems", ignore = true)
+    LocationOrderDTO toDtoWithLocation(LocationOrder locationOrder);
+
+    @Mapping(target = "orderItems", ignore = true)
+    @Mapping(target = "removeOrderItem", ignore = true)
+    LocationOrder toEntity(LocationOrderDTO locationOrderDTO);
+
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "location", ignore = true)
+    @Mapping(target = "orderItems", ignore = true)
+    @Mapping(target = "removeOrderItem", ignore = true)
+    void partialUpdate(@MappingTarget LocationOrder entity, LocationOrderDTO dto);
+
+    @Mapping(target = "location", ignore = true)
+    @Mapping(target = "orderItems", ignore = true)
+    LocationOrderDTO toDtoWithoutLocation(LocationOrderView locationOrderView);
+
+    default LocationOrderDTO toDto(LocationOrderView locationOrderView) {
+        LocationOrderDTO locationOrderDTO = toDtoWithoutLocation(locationOrderView);
+        if (locationOrderDTO != null && locationOrderView.getLocationId() != null) {
+            LocationDTO locationDTO = new LocationDTO();
+            locationDTO.setId(locationOrderView.getLocationId());
+            locationDTO.setLocationNumber(locationOrderView.getLocationLocationNumber());
+            locationOrderDTO.setLocation(locationDTO);
+        }
+        return locationOrderDTO;
+    }
+
+    @Named("code")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "code", source = "code")
+    LocationOrderDTO toDtoCode(LocationOrder locationOrder);
+}
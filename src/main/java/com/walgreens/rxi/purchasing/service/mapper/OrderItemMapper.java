@@ -0,0 +1,20 @@
+package com.walgreens.rxi.purchasing.service.mapper;
+
+import com.walgreens.rxi.purchasing.domain.OrderItem;
+import com.walgreens.rxi.purchasing.service.dto.OrderItemDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link OrderItem} and its DTO {@link OrderItemDTO}.
+ */
+@Mapper(componentModel = "spring", uses = { LocationOrderMapper.class })
+public interface OrderItemMapper extends EntityMapper<OrderItemDTO, OrderItem> {
+    @Mapping(target = "locationOrder", source = "locationOrder", qualifiedByName = "code")
+    OrderItemDTO toDto(OrderItem s);
+
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "locationOrder", ignore = true)
+    void partialUpdate(@MappingTarget OrderItem entity, OrderItemDTO dto);
+}
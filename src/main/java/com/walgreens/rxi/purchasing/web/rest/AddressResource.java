@@ -1,24 +1,26 @@
 package com.walgreens.rxi.purchasing.web.rest;
 
-import com.walgreens.rxi.purchasing.domain.Address;
-import com.walgreens.rxi.purchasing.repository.AddressRepository;
+import com.walgreens.rxi.purchasing.service.AddressService;
+import com.walgreens.rxi.purchasing.service.dto.AddressDTO;
 import com.walgreens.rxi.purchasing.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -26,7 +28,6 @@ import tech.jhipster.web.util.ResponseUtil;
  */
 @RestController
 @RequestMapping("/api")
-@Transactional
 public class AddressResource {
 
     private final Logger log = LoggerFactory.getLogger(AddressResource.class);
@@ -36,26 +37,26 @@ public class AddressResource {
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
-    private final AddressRepository addressRepository;
+    private final AddressService addressService;
 
-    public AddressResource(AddressRepository addressRepository) {
-        this.addressRepository = addressRepository;
+    public AddressResource(AddressService addressService) {
+        this.addressService = addressService;
     }
 
     /**
      * {@code POST  /addresses} : Create a new address.
      *
-     * @param address the address to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new address, or with status {@code 400 (Bad Request)} if the address has already an ID.
+     * @param addressDTO the addressDTO to create.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new addressDTO, or with status {@code 400 (Bad Request)} if the address has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("/addresses")
-    public ResponseEntity<Address> createAddress(@Valid @RequestBody Address address) throws URISyntaxException {
-        log.debug("REST request to save Address : {}", address);
-        if (address.getId() != null) {
+    public ResponseEntity<AddressDTO> createAddress(@Valid @RequestBody AddressDTO addressDTO) throws URISyntaxException {
+        log.debug("REST request to save Address : {}", addressDTO);
+        if (addressDTO.getId() != null) {
             throw new BadRequestAlertException("A new address cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        Address result = addressRepository.save(address);
+        AddressDTO result = addressService.save(addressDTO);
         return ResponseEntity
             .created(new URI("/api/addresses/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
@@ -65,102 +66,66 @@ public class AddressResource {
     /**
      * {@code PUT  /addresses/:id} : Updates an existing address.
      *
-     * @param id the id of the address to save.
-     * @param address the address to update.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated address,
-     * or with status {@code 400 (Bad Request)} if the address is not valid,
-     * or with status {@code 500 (Internal Server Error)} if the address couldn't be updated.
+     * @param id the id of the addressDTO to save.
+     * @param addressDTO the addressDTO to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated addressDTO,
+     * or with status {@code 400 (Bad Request)} if the addressDTO is not valid,
+     * or with status {@code 404 (Not Found)} if the addressDTO is not found,
+     * or with status {@code 409 (Conflict)} if the addressDTO was updated since the given version,
+     * or with status {@code 500 (Internal Server Error)} if the addressDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/addresses/{id}")
-    public ResponseEntity<Address> updateAddress(
+    public ResponseEntity<AddressDTO> updateAddress(
         @PathVariable(value = "id", required = false) final Long id,
-        @Valid @RequestBody Address address
+        @Valid @RequestBody AddressDTO addressDTO
     ) throws URISyntaxException {
-        log.debug("REST request to update Address : {}, {}", id, address);
-        if (address.getId() == null) {
+        log.debug("REST request to update Address : {}, {}", id, addressDTO);
+        if (addressDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, address.getId())) {
+        if (!Objects.equals(id, addressDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!addressRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Optional<AddressDTO> result = addressService.update(addressDTO);
 
-        Address result = addressRepository.save(address);
-        return ResponseEntity
-            .ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, address.getId().toString()))
-            .body(result);
+        return ResponseUtil.wrapOrNotFound(
+            result,
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, addressDTO.getId().toString())
+        );
     }
 
     /**
      * {@code PATCH  /addresses/:id} : Partial updates given fields of an existing address, field will ignore if it is null
      *
-     * @param id the id of the address to save.
-     * @param address the address to update.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated address,
-     * or with status {@code 400 (Bad Request)} if the address is not valid,
-     * or with status {@code 404 (Not Found)} if the address is not found,
-     * or with status {@code 500 (Internal Server Error)} if the address couldn't be updated.
+     * @param id the id of the addressDTO to save.
+     * @param addressDTO the addressDTO to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated addressDTO,
+     * or with status {@code 400 (Bad Request)} if the addressDTO is not valid,
+     * or with status {@code 404 (Not Found)} if the addressDTO is not found,
+     * or with status {@code 409 (Conflict)} if the addressDTO was updated since the given version,
+     * or with status {@code 500 (Internal Server Error)} if the addressDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/addresses/{id}", consumes = "application/merge-patch+json")
-    public ResponseEntity<Address> partialUpdateAddress(
+    public ResponseEntity<AddressDTO> partialUpdateAddress(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody Address address
+        @NotNull @RequestBody AddressDTO addressDTO
     ) throws URISyntaxException {
-        log.debug("REST request to partial update Address partially : {}, {}", id, address);
-        if (address.getId() == null) {
+        log.debug("REST request to partial update Address partially : {}, {}", id, addressDTO);
+        if (addressDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, address.getId())) {
+        if (!Objects.equals(id, addressDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!addressRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<Address> result = addressRepository
-            .findById(address.getId())
-            .map(
-                existingAddress -> {
-                    if (address.getAddress1() != null) {
-                        existingAddress.setAddress1(address.getAddress1());
-                    }
-                    if (address.getAddress2() != null) {
-                        existingAddress.setAddress2(address.getAddress2());
-                    }
-                    if (address.getCity() != null) {
-                        existingAddress.setCity(address.getCity());
-                    }
-                    if (address.getPostcode() != null) {
-                        existingAddress.setPostcode(address.getPostcode());
-                    }
-                    if (address.getCountry() != null) {
-                        existingAddress.setCountry(address.getCountry());
-                    }
-                    if (address.getTimezone() != null) {
-                        existingAddress.setTimezone(address.getTimezone());
-                    }
-                    if (address.getLatitude() != null) {
-                        existingAddress.setLatitude(address.getLatitude());
-                    }
-                    if (address.getLongitude() != null) {
-                        existingAddress.setLongitude(address.getLongitude());
-                    }
-
-                    return existingAddress;
-                }
-            )
-            .map(addressRepository::save);
+        Optional<AddressDTO> result = addressService.partialUpdate(addressDTO);
 
         return ResponseUtil.wrapOrNotFound(
             result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, address.getId().toString())
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, addressDTO.getId().toString())
         );
     }
 
@@ -168,44 +133,44 @@ public class AddressResource {
      * {@code GET  /addresses} : get all the addresses.
      *
      * @param filter the filter of the request.
+     * @param pageable the pagination information, applied to the {@code location-is-null} filter.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of addresses in body.
      */
     @GetMapping("/addresses")
-    public List<Address> getAllAddresses(@RequestParam(required = false) String filter) {
+    public ResponseEntity<List<AddressDTO>> getAllAddresses(@RequestParam(required = false) String filter, Pageable pageable) {
         if ("location-is-null".equals(filter)) {
-            log.debug("REST request to get all Addresss where location is null");
-            return StreamSupport
-                .stream(addressRepository.findAll().spliterator(), false)
-                .filter(address -> address.getLocation() == null)
-                .collect(Collectors.toList());
+            log.debug("REST request to get a page of Addresses where location is null");
+            Page<AddressDTO> page = addressService.findAllWhereLocationIsNull(pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
         }
         log.debug("REST request to get all Addresses");
-        return addressRepository.findAll();
+        return ResponseEntity.ok().body(addressService.findAll());
     }
 
     /**
      * {@code GET  /addresses/:id} : get the "id" address.
      *
-     * @param id the id of the address to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the address, or with status {@code 404 (Not Found)}.
+     * @param id the id of the addressDTO to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the addressDTO, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/addresses/{id}")
-    public ResponseEntity<Address> getAddress(@PathVariable Long id) {
+    public ResponseEntity<AddressDTO> getAddress(@PathVariable Long id) {
         log.debug("REST request to get Address : {}", id);
-        Optional<Address> address = addressRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(address);
+        Optional<AddressDTO> addressDTO = addressService.findOne(id);
+        return ResponseUtil.wrapOrNotFound(addressDTO);
     }
 
     /**
      * {@code DELETE  /addresses/:id} : delete the "id" address.
      *
-     * @param id the id of the address to delete.
+     * @param id the id of the addressDTO to delete.
      * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
      */
     @DeleteMapping("/addresses/{id}")
     public ResponseEntity<Void> deleteAddress(@PathVariable Long id) {
         log.debug("REST request to delete Address : {}", id);
-        addressRepository.deleteById(id);
+        addressService.delete(id);
         return ResponseEntity
             .noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
@@ -1,21 +1,34 @@
 package com.walgreens.rxi.purchasing.web.rest;
 
 import com.walgreens.rxi.purchasing.domain.LocationOrder;
-import com.walgreens.rxi.purchasing.repository.LocationOrderRepository;
 import com.walgreens.rxi.purchasing.service.LocationOrderService;
+import com.walgreens.rxi.purchasing.service.dto.LocationOrderCursor;
+import com.walgreens.rxi.purchasing.service.dto.LocationOrderDTO;
+import com.walgreens.rxi.purchasing.service.dto.LocationSpendDTO;
+import com.walgreens.rxi.purchasing.service.dto.OrderStatusSpendDTO;
+import com.walgreens.rxi.purchasing.service.dto.PeriodSpendDTO;
 import com.walgreens.rxi.purchasing.web.rest.errors.BadRequestAlertException;
+import com.walgreens.rxi.purchasing.web.rest.vm.LocationOrderBulkResultVM;
+import com.walgreens.rxi.purchasing.web.rest.vm.LocationOrderBulkVM;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -30,117 +43,190 @@ public class LocationOrderResource {
 
     private static final String ENTITY_NAME = "purchasingLocationOrder";
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String DEFAULT_PAGE_SIZE = "20";
+
+    private static final int MAX_PAGE_SIZE = 2000;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final LocationOrderService locationOrderService;
 
-    private final LocationOrderRepository locationOrderRepository;
-
-    public LocationOrderResource(LocationOrderService locationOrderService, LocationOrderRepository locationOrderRepository) {
+    public LocationOrderResource(LocationOrderService locationOrderService) {
         this.locationOrderService = locationOrderService;
-        this.locationOrderRepository = locationOrderRepository;
     }
 
     /**
      * {@code POST  /location-orders} : Create a new locationOrder.
      *
-     * @param locationOrder the locationOrder to create.
+     * @param locationOrderDTO the locationOrderDTO to create.
      * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new locationOrder, or with status {@code 400 (Bad Request)} if the locationOrder has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("/location-orders")
-    public ResponseEntity<LocationOrder> createLocationOrder(@Valid @RequestBody LocationOrder locationOrder) throws URISyntaxException {
-        log.debug("REST request to save LocationOrder : {}", locationOrder);
-        if (locationOrder.getId() != null) {
+    public ResponseEntity<LocationOrderDTO> createLocationOrder(@Valid @RequestBody LocationOrderDTO locationOrderDTO)
+        throws URISyntaxException {
+        log.debug("REST request to save LocationOrder : {}", locationOrderDTO);
+        if (locationOrderDTO.getId() != null) {
             throw new BadRequestAlertException("A new locationOrder cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        LocationOrder result = locationOrderService.save(locationOrder);
+        LocationOrderDTO result = locationOrderService.save(locationOrderDTO);
         return ResponseEntity
             .created(new URI("/api/location-orders/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
             .body(result);
     }
 
+    /**
+     * {@code POST  /location-orders/bulk} : Create a new locationOrder with all of its orderItems in one transaction.
+     *
+     * @param bulk the locationOrder and the orderItems to create.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the identifiers of the new entities,
+     * or with status {@code 400 (Bad Request)} if the locationOrder or one of the orderItems has already an ID.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/location-orders/bulk")
+    public ResponseEntity<LocationOrderBulkResultVM> createLocationOrderWithItems(@Valid @RequestBody LocationOrderBulkVM bulk)
+        throws URISyntaxException {
+        log.debug("REST request to save LocationOrder in bulk : {}", bulk);
+        LocationOrder locationOrder = bulk.getLocationOrder();
+        if (locationOrder.getId() != null) {
+            throw new BadRequestAlertException("A new locationOrder cannot already have an ID", ENTITY_NAME, "idexists");
+        }
+        if (bulk.getOrderItems().stream().anyMatch(orderItem -> orderItem.getId() != null)) {
+            throw new BadRequestAlertException("A new orderItem cannot already have an ID", ENTITY_NAME, "idexists");
+        }
+        LocationOrder result = locationOrderService.saveWithOrderItems(locationOrder, bulk.getOrderItems());
+        return ResponseEntity
+            .created(new URI("/api/location-orders/" + result.getId()))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+            .body(new LocationOrderBulkResultVM(result, bulk.getOrderItems()));
+    }
+
     /**
      * {@code PUT  /location-orders/:id} : Updates an existing locationOrder.
      *
      * @param id the id of the locationOrder to save.
-     * @param locationOrder the locationOrder to update.
+     * @param locationOrderDTO the locationOrderDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated locationOrder,
      * or with status {@code 400 (Bad Request)} if the locationOrder is not valid,
+     * or with status {@code 404 (Not Found)} if the locationOrder is not found,
+     * or with status {@code 409 (Conflict)} if the locationOrder was updated since the given version,
      * or with status {@code 500 (Internal Server Error)} if the locationOrder couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/location-orders/{id}")
-    public ResponseEntity<LocationOrder> updateLocationOrder(
+    public ResponseEntity<LocationOrderDTO> updateLocationOrder(
         @PathVariable(value = "id", required = false) final Long id,
-        @Valid @RequestBody LocationOrder locationOrder
+        @Valid @RequestBody LocationOrderDTO locationOrderDTO
     ) throws URISyntaxException {
-        log.debug("REST request to update LocationOrder : {}, {}", id, locationOrder);
-        if (locationOrder.getId() == null) {
+        log.debug("REST request to update LocationOrder : {}, {}", id, locationOrderDTO);
+        if (locationOrderDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, locationOrder.getId())) {
+        if (!Objects.equals(id, locationOrderDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!locationOrderRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Optional<LocationOrderDTO> result = locationOrderService.update(locationOrderDTO);
 
-        LocationOrder result = locationOrderService.save(locationOrder);
-        return ResponseEntity
-            .ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, locationOrder.getId().toString()))
-            .body(result);
+        return ResponseUtil.wrapOrNotFound(
+            result,
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, locationOrderDTO.getId().toString())
+        );
     }
 
     /**
      * {@code PATCH  /location-orders/:id} : Partial updates given fields of an existing locationOrder, field will ignore if it is null
      *
      * @param id the id of the locationOrder to save.
-     * @param locationOrder the locationOrder to update.
+     * @param locationOrderDTO the locationOrderDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated locationOrder,
      * or with status {@code 400 (Bad Request)} if the locationOrder is not valid,
      * or with status {@code 404 (Not Found)} if the locationOrder is not found,
+     * or with status {@code 409 (Conflict)} if the locationOrder was updated since the given version,
      * or with status {@code 500 (Internal Server Error)} if the locationOrder couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/location-orders/{id}", consumes = "application/merge-patch+json")
-    public ResponseEntity<LocationOrder> partialUpdateLocationOrder(
+    public ResponseEntity<LocationOrderDTO> partialUpdateLocationOrder(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody LocationOrder locationOrder
+        @NotNull @RequestBody LocationOrderDTO locationOrderDTO
     ) throws URISyntaxException {
-        log.debug("REST request to partial update LocationOrder partially : {}, {}", id, locationOrder);
-        if (locationOrder.getId() == null) {
+        log.debug("REST request to partial update LocationOrder partially : {}, {}", id, locationOrderDTO);
+        if (locationOrderDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, locationOrder.getId())) {
+        if (!Objects.equals(id, locationOrderDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!locationOrderRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<LocationOrder> result = locationOrderService.partialUpdate(locationOrder);
+        Optional<LocationOrderDTO> result = locationOrderService.partialUpdate(locationOrderDTO);
 
         return ResponseUtil.wrapOrNotFound(
             result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, locationOrder.getId().toString())
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, locationOrderDTO.getId().toString())
         );
     }
 
     /**
-     * {@code GET  /location-orders} : get all the locationOrders.
+     * {@code GET  /location-orders} : get a keyset page of the locationOrders, newest first.
+     * <p>
+     * When more entities are available, the response carries the cursor of the next page in the
+     * {@code X-Next-Cursor} header and a {@code Link} header with {@code rel="next"}.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of locationOrders in body.
+     * @param cursor the opaque cursor returned with the previous page, or none for the first page.
+     * @param size the maximum number of locationOrders to return.
+     * @param expand the associations to return in full: {@code items} and/or {@code location}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of locationOrders in body,
+     * or with status {@code 400 (Bad Request)} if the cursor, size or expand is not valid.
      */
     @GetMapping("/location-orders")
-    public List<LocationOrder> getAllLocationOrders() {
-        log.debug("REST request to get all LocationOrders");
-        return locationOrderService.findAll();
+    public ResponseEntity<List<LocationOrderDTO>> getAllLocationOrders(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+        @RequestParam(required = false) List<String> expand
+    ) {
+        log.debug("REST request to get a page of LocationOrders after : {} expanding {}", cursor, expand);
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestAlertException("Page size must be between 1 and " + MAX_PAGE_SIZE, ENTITY_NAME, "sizeinvalid");
+        }
+        Set<LocationOrderDTO.Expansion> expansions = EnumSet.noneOf(LocationOrderDTO.Expansion.class);
+        if (expand != null) {
+            for (String expansion : expand) {
+                try {
+                    expansions.add(LocationOrderDTO.Expansion.valueOf(expansion.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new BadRequestAlertException("Invalid expand", ENTITY_NAME, "expandinvalid");
+                }
+            }
+        }
+        LocationOrderCursor after = null;
+        if (cursor != null) {
+            try {
+                after = LocationOrderCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+            }
+        }
+
+        // Fetch one extra row to know whether a next page exists without counting the table
+        List<LocationOrderDTO> page = locationOrderService.findPage(after, size + 1, expansions);
+        HttpHeaders headers = new HttpHeaders();
+        if (page.size() > size) {
+            page = page.subList(0, size);
+            String nextCursor = LocationOrderCursor.of(page.get(size - 1)).encode();
+            String nextLink = ServletUriComponentsBuilder
+                .fromCurrentRequest()
+                .replaceQueryParam("cursor", nextCursor)
+                .replaceQueryParam("size", size)
+                .toUriString();
+            headers.add(NEXT_CURSOR_HEADER, nextCursor);
+            headers.add(HttpHeaders.LINK, "<" + nextLink + ">; rel=\"next\"");
+        }
+        return ResponseEntity.ok().headers(headers).body(page);
     }
 
     /**
@@ -150,10 +236,78 @@ public class LocationOrderResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the locationOrder, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/location-orders/{id}")
-    public ResponseEntity<LocationOrder> getLocationOrder(@PathVariable Long id) {
+    public ResponseEntity<LocationOrderDTO> getLocationOrder(@PathVariable Long id) {
         log.debug("REST request to get LocationOrder : {}", id);
-        Optional<LocationOrder> locationOrder = locationOrderService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(locationOrder);
+        Optional<LocationOrderDTO> locationOrderDTO = locationOrderService.findOne(id);
+        return ResponseUtil.wrapOrNotFound(locationOrderDTO);
+    }
+
+    /**
+     * {@code GET  /location-orders/code/:code} : get the locationOrder with the given business code.
+     *
+     * @param code the code of the locationOrder to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the locationOrder, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/location-orders/code/{code}")
+    public ResponseEntity<LocationOrderDTO> getLocationOrderByCode(@PathVariable UUID code) {
+        log.debug("REST request to get LocationOrder by code : {}", code);
+        Optional<LocationOrderDTO> locationOrderDTO = locationOrderService.findOneByCode(code);
+        return ResponseUtil.wrapOrNotFound(locationOrderDTO);
+    }
+
+    /**
+     * {@code GET  /location-orders/spend/by-location} : get the amounts ordered per location.
+     *
+     * @param from the start of the range of placed dates, inclusive.
+     * @param to the end of the range of placed dates, exclusive.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the amounts of each location in body.
+     */
+    @GetMapping("/location-orders/spend/by-location")
+    public ResponseEntity<List<LocationSpendDTO>> getSpendByLocation(@RequestParam Instant from, @RequestParam Instant to) {
+        log.debug("REST request to get LocationOrder spend per Location from {} to {}", from, to);
+        validateRange(from, to);
+        return ResponseEntity.ok().body(locationOrderService.sumSpendByLocation(from, to));
+    }
+
+    /**
+     * {@code GET  /location-orders/spend/by-status} : get the amounts ordered per order status.
+     *
+     * @param from the start of the range of placed dates, inclusive.
+     * @param to the end of the range of placed dates, exclusive.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the amounts of each status in body.
+     */
+    @GetMapping("/location-orders/spend/by-status")
+    public ResponseEntity<List<OrderStatusSpendDTO>> getSpendByStatus(@RequestParam Instant from, @RequestParam Instant to) {
+        log.debug("REST request to get LocationOrder spend per status from {} to {}", from, to);
+        validateRange(from, to);
+        return ResponseEntity.ok().body(locationOrderService.sumSpendByStatus(from, to));
+    }
+
+    /**
+     * {@code GET  /location-orders/spend/by-period} : get the amounts ordered per day or week.
+     * <p>
+     * Weeks start on Monday, except the first one which starts on the day of {@code from}.
+     *
+     * @param from the start of the range of placed dates, inclusive.
+     * @param to the end of the range of placed dates, exclusive.
+     * @param period the length of each period, {@code DAY} by default.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the amounts of each period in body.
+     */
+    @GetMapping("/location-orders/spend/by-period")
+    public ResponseEntity<List<PeriodSpendDTO>> getSpendByPeriod(
+        @RequestParam Instant from,
+        @RequestParam Instant to,
+        @RequestParam(defaultValue = "DAY") PeriodSpendDTO.Period period
+    ) {
+        log.debug("REST request to get LocationOrder spend per {} from {} to {}", period, from, to);
+        validateRange(from, to);
+        return ResponseEntity.ok().body(locationOrderService.sumSpendByPeriod(from, to, period));
+    }
+
+    private void validateRange(Instant from, Instant to) {
+        if (!from.isBefore(to)) {
+            throw new BadRequestAlertException("The start of the range must be before its end", ENTITY_NAME, "rangeinvalid");
+        }
     }
 
     /**
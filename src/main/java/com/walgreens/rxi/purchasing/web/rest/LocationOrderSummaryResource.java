@@ -0,0 +1,71 @@
+package com.walgreens.rxi.purchasing.web.rest;
+
+import com.walgreens.rxi.purchasing.domain.LocationOrderSummary;
+import com.walgreens.rxi.purchasing.service.LocationOrderSummaryService;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tech.jhipster.web.util.PaginationUtil;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for reading the {@link LocationOrderSummary} of the location orders.
+ */
+@RestController
+@RequestMapping("/api")
+public class LocationOrderSummaryResource {
+
+    private final Logger log = LoggerFactory.getLogger(LocationOrderSummaryResource.class);
+
+    private final LocationOrderSummaryService locationOrderSummaryService;
+
+    public LocationOrderSummaryResource(LocationOrderSummaryService locationOrderSummaryService) {
+        this.locationOrderSummaryService = locationOrderSummaryService;
+    }
+
+    /**
+     * {@code GET  /location-order-summaries} : get all the locationOrderSummaries.
+     *
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of locationOrderSummaries in body.
+     */
+    @GetMapping("/location-order-summaries")
+    public ResponseEntity<List<LocationOrderSummary>> getAllLocationOrderSummaries(Pageable pageable) {
+        log.debug("REST request to get a page of LocationOrderSummaries");
+        Page<LocationOrderSummary> page = locationOrderSummaryService.findAll(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /location-order-summaries/:locationOrderId} : get the summary of the "locationOrderId" locationOrder.
+     *
+     * @param locationOrderId the id of the locationOrder.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the locationOrderSummary, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/location-order-summaries/{locationOrderId}")
+    public ResponseEntity<LocationOrderSummary> getLocationOrderSummary(@PathVariable Long locationOrderId) {
+        log.debug("REST request to get LocationOrderSummary : {}", locationOrderId);
+        Optional<LocationOrderSummary> locationOrderSummary = locationOrderSummaryService.findOne(locationOrderId);
+        return ResponseUtil.wrapOrNotFound(locationOrderSummary);
+    }
+
+    /**
+     * {@code POST  /admin/location-order-summaries/rebuild} : recompute the summaries of all the location orders in the background.
+     *
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)}.
+     */
+    @PostMapping("/admin/location-order-summaries/rebuild")
+    public ResponseEntity<Void> rebuildLocationOrderSummaries() {
+        log.debug("REST request to rebuild the LocationOrderSummaries");
+        locationOrderSummaryService.rebuildAllAsync();
+        return ResponseEntity.accepted().build();
+    }
+}
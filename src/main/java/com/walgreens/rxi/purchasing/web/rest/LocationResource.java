@@ -1,14 +1,14 @@
 package com.walgreens.rxi.purchasing.web.rest;
 
-import com.walgreens.rxi.purchasing.domain.Location;
-import com.walgreens.rxi.purchasing.repository.LocationRepository;
 import com.walgreens.rxi.purchasing.service.LocationService;
+import com.walgreens.rxi.purchasing.service.dto.LocationDTO;
 import com.walgreens.rxi.purchasing.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
@@ -41,27 +41,24 @@ public class LocationResource {
 
     private final LocationService locationService;
 
-    private final LocationRepository locationRepository;
-
-    public LocationResource(LocationService locationService, LocationRepository locationRepository) {
+    public LocationResource(LocationService locationService) {
         this.locationService = locationService;
-        this.locationRepository = locationRepository;
     }
 
     /**
      * {@code POST  /locations} : Create a new location.
      *
-     * @param location the location to create.
+     * @param locationDTO the locationDTO to create.
      * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new location, or with status {@code 400 (Bad Request)} if the location has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("/locations")
-    public ResponseEntity<Location> createLocation(@Valid @RequestBody Location location) throws URISyntaxException {
-        log.debug("REST request to save Location : {}", location);
-        if (location.getId() != null) {
+    public ResponseEntity<LocationDTO> createLocation(@Valid @RequestBody LocationDTO locationDTO) throws URISyntaxException {
+        log.debug("REST request to save Location : {}", locationDTO);
+        if (locationDTO.getId() != null) {
             throw new BadRequestAlertException("A new location cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        Location result = locationService.save(location);
+        LocationDTO result = locationService.save(locationDTO);
         return ResponseEntity
             .created(new URI("/api/locations/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
@@ -72,69 +69,65 @@ public class LocationResource {
      * {@code PUT  /locations/:id} : Updates an existing location.
      *
      * @param id the id of the location to save.
-     * @param location the location to update.
+     * @param locationDTO the locationDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated location,
      * or with status {@code 400 (Bad Request)} if the location is not valid,
+     * or with status {@code 404 (Not Found)} if the location is not found,
+     * or with status {@code 409 (Conflict)} if the location was updated since the given version,
      * or with status {@code 500 (Internal Server Error)} if the location couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/locations/{id}")
-    public ResponseEntity<Location> updateLocation(
+    public ResponseEntity<LocationDTO> updateLocation(
         @PathVariable(value = "id", required = false) final Long id,
-        @Valid @RequestBody Location location
+        @Valid @RequestBody LocationDTO locationDTO
     ) throws URISyntaxException {
-        log.debug("REST request to update Location : {}, {}", id, location);
-        if (location.getId() == null) {
+        log.debug("REST request to update Location : {}, {}", id, locationDTO);
+        if (locationDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, location.getId())) {
+        if (!Objects.equals(id, locationDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!locationRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Optional<LocationDTO> result = locationService.update(locationDTO);
 
-        Location result = locationService.save(location);
-        return ResponseEntity
-            .ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, location.getId().toString()))
-            .body(result);
+        return ResponseUtil.wrapOrNotFound(
+            result,
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, locationDTO.getId().toString())
+        );
     }
 
     /**
      * {@code PATCH  /locations/:id} : Partial updates given fields of an existing location, field will ignore if it is null
      *
      * @param id the id of the location to save.
-     * @param location the location to update.
+     * @param locationDTO the locationDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated location,
      * or with status {@code 400 (Bad Request)} if the location is not valid,
      * or with status {@code 404 (Not Found)} if the location is not found,
+     * or with status {@code 409 (Conflict)} if the location was updated since the given version,
      * or with status {@code 500 (Internal Server Error)} if the location couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/locations/{id}", consumes = "application/merge-patch+json")
-    public ResponseEntity<Location> partialUpdateLocation(
+    public ResponseEntity<LocationDTO> partialUpdateLocation(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody Location location
+        @NotNull @RequestBody LocationDTO locationDTO
     ) throws URISyntaxException {
-        log.debug("REST request to partial update Location partially : {}, {}", id, location);
-        if (location.getId() == null) {
+        log.debug("REST request to partial update Location partially : {}, {}", id, locationDTO);
+        if (locationDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, location.getId())) {
+        if (!Objects.equals(id, locationDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!locationRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<Location> result = locationService.partialUpdate(location);
+        Optional<LocationDTO> result = locationService.partialUpdate(locationDTO);
 
         return ResponseUtil.wrapOrNotFound(
             result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, location.getId().toString())
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, locationDTO.getId().toString())
         );
     }
 
@@ -145,9 +138,9 @@ public class LocationResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of locations in body.
      */
     @GetMapping("/locations")
-    public ResponseEntity<List<Location>> getAllLocations(Pageable pageable) {
+    public ResponseEntity<List<LocationDTO>> getAllLocations(Pageable pageable) {
         log.debug("REST request to get a page of Locations");
-        Page<Location> page = locationService.findAll(pageable);
+        Page<LocationDTO> page = locationService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
@@ -159,10 +152,23 @@ public class LocationResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the location, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/locations/{id}")
-    public ResponseEntity<Location> getLocation(@PathVariable Long id) {
+    public ResponseEntity<LocationDTO> getLocation(@PathVariable Long id) {
         log.debug("REST request to get Location : {}", id);
-        Optional<Location> location = locationService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(location);
+        Optional<LocationDTO> locationDTO = locationService.findOne(id);
+        return ResponseUtil.wrapOrNotFound(locationDTO);
+    }
+
+    /**
+     * {@code GET  /locations/by-number/:locationNumber} : get the location with the "locationNumber" locationNumber.
+     *
+     * @param locationNumber the locationNumber of the location to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the location, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/locations/by-number/{locationNumber}")
+    public ResponseEntity<LocationDTO> getLocationByNumber(@PathVariable UUID locationNumber) {
+        log.debug("REST request to get Location by locationNumber : {}", locationNumber);
+        Optional<LocationDTO> locationDTO = locationService.findByLocationNumber(locationNumber);
+        return ResponseUtil.wrapOrNotFound(locationDTO);
     }
 
     /**
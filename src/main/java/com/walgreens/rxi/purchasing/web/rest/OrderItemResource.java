@@ -1,8 +1,11 @@
 package com.walgreens.rxi.purchasing.web.rest;
 
-import com.walgreens.rxi.purchasing.domain.OrderItem;
-import com.walgreens.rxi.purchasing.repository.OrderItemRepository;
+import com.walgreens.rxi.purchasing.service.OrderItemQueryService;
 import com.walgreens.rxi.purchasing.service.OrderItemService;
+import com.walgreens.rxi.purchasing.service.criteria.OrderItemCriteria;
+import com.walgreens.rxi.purchasing.service.dto.OrderItemDTO;
+import com.walgreens.rxi.purchasing.service.dto.OrderItemStatusUpdateDTO;
+import com.walgreens.rxi.purchasing.service.dto.OrderItemStatusUpdateResultDTO;
 import com.walgreens.rxi.purchasing.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -14,9 +17,14 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -30,32 +38,34 @@ public class OrderItemResource {
 
     private static final String ENTITY_NAME = "purchasingOrderItem";
 
+    private static final int MAX_STATUS_UPDATES = 10000;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final OrderItemService orderItemService;
 
-    private final OrderItemRepository orderItemRepository;
+    private final OrderItemQueryService orderItemQueryService;
 
-    public OrderItemResource(OrderItemService orderItemService, OrderItemRepository orderItemRepository) {
+    public OrderItemResource(OrderItemService orderItemService, OrderItemQueryService orderItemQueryService) {
         this.orderItemService = orderItemService;
-        this.orderItemRepository = orderItemRepository;
+        this.orderItemQueryService = orderItemQueryService;
     }
 
     /**
      * {@code POST  /order-items} : Create a new orderItem.
      *
-     * @param orderItem the orderItem to create.
+     * @param orderItemDTO the orderItemDTO to create.
      * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new orderItem, or with status {@code 400 (Bad Request)} if the orderItem has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("/order-items")
-    public ResponseEntity<OrderItem> createOrderItem(@Valid @RequestBody OrderItem orderItem) throws URISyntaxException {
-        log.debug("REST request to save OrderItem : {}", orderItem);
-        if (orderItem.getId() != null) {
+    public ResponseEntity<OrderItemDTO> createOrderItem(@Valid @RequestBody OrderItemDTO orderItemDTO) throws URISyntaxException {
+        log.debug("REST request to save OrderItem : {}", orderItemDTO);
+        if (orderItemDTO.getId() != null) {
             throw new BadRequestAlertException("A new orderItem cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        OrderItem result = orderItemService.save(orderItem);
+        OrderItemDTO result = orderItemService.save(orderItemDTO);
         return ResponseEntity
             .created(new URI("/api/order-items/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
@@ -66,81 +76,114 @@ public class OrderItemResource {
      * {@code PUT  /order-items/:id} : Updates an existing orderItem.
      *
      * @param id the id of the orderItem to save.
-     * @param orderItem the orderItem to update.
+     * @param orderItemDTO the orderItemDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated orderItem,
      * or with status {@code 400 (Bad Request)} if the orderItem is not valid,
+     * or with status {@code 404 (Not Found)} if the orderItem is not found,
+     * or with status {@code 409 (Conflict)} if the orderItem was updated since the given version,
      * or with status {@code 500 (Internal Server Error)} if the orderItem couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/order-items/{id}")
-    public ResponseEntity<OrderItem> updateOrderItem(
+    public ResponseEntity<OrderItemDTO> updateOrderItem(
         @PathVariable(value = "id", required = false) final Long id,
-        @Valid @RequestBody OrderItem orderItem
+        @Valid @RequestBody OrderItemDTO orderItemDTO
     ) throws URISyntaxException {
-        log.debug("REST request to update OrderItem : {}, {}", id, orderItem);
-        if (orderItem.getId() == null) {
+        log.debug("REST request to update OrderItem : {}, {}", id, orderItemDTO);
+        if (orderItemDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, orderItem.getId())) {
+        if (!Objects.equals(id, orderItemDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!orderItemRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Optional<OrderItemDTO> result = orderItemService.update(orderItemDTO);
 
-        OrderItem result = orderItemService.save(orderItem);
-        return ResponseEntity
-            .ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, orderItem.getId().toString()))
-            .body(result);
+        return ResponseUtil.wrapOrNotFound(
+            result,
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, orderItemDTO.getId().toString())
+        );
     }
 
     /**
      * {@code PATCH  /order-items/:id} : Partial updates given fields of an existing orderItem, field will ignore if it is null
      *
      * @param id the id of the orderItem to save.
-     * @param orderItem the orderItem to update.
+     * @param orderItemDTO the orderItemDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated orderItem,
      * or with status {@code 400 (Bad Request)} if the orderItem is not valid,
      * or with status {@code 404 (Not Found)} if the orderItem is not found,
+     * or with status {@code 409 (Conflict)} if the orderItem was updated since the given version,
      * or with status {@code 500 (Internal Server Error)} if the orderItem couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/order-items/{id}", consumes = "application/merge-patch+json")
-    public ResponseEntity<OrderItem> partialUpdateOrderItem(
+    public ResponseEntity<OrderItemDTO> partialUpdateOrderItem(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody OrderItem orderItem
+        @NotNull @RequestBody OrderItemDTO orderItemDTO
     ) throws URISyntaxException {
-        log.debug("REST request to partial update OrderItem partially : {}, {}", id, orderItem);
-        if (orderItem.getId() == null) {
+        log.debug("REST request to partial update OrderItem partially : {}, {}", id, orderItemDTO);
+        if (orderItemDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, orderItem.getId())) {
+        if (!Objects.equals(id, orderItemDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!orderItemRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<OrderItem> result = orderItemService.partialUpdate(orderItem);
+        Optional<OrderItemDTO> result = orderItemService.partialUpdate(orderItemDTO);
 
         return ResponseUtil.wrapOrNotFound(
             result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, orderItem.getId().toString())
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, orderItemDTO.getId().toString())
         );
     }
 
+    /**
+     * {@code PATCH  /order-items/status} : Update the status of many orderItems at once.
+     *
+     * @param updates the new status of each orderItem.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome for each orderItem,
+     * or with status {@code 400 (Bad Request)} if the updates are not valid.
+     */
+    @PatchMapping(value = "/order-items/status", consumes = "application/json")
+    public ResponseEntity<List<OrderItemStatusUpdateResultDTO>> updateOrderItemStatuses(
+        @RequestBody List<OrderItemStatusUpdateDTO> updates
+    ) {
+        log.debug("REST request to update the status of {} OrderItems", updates.size());
+        if (updates.isEmpty() || updates.size() > MAX_STATUS_UPDATES) {
+            throw new BadRequestAlertException("Between 1 and " + MAX_STATUS_UPDATES + " updates are accepted", ENTITY_NAME, "sizeinvalid");
+        }
+        if (updates.stream().anyMatch(update -> update.getId() == null || update.getStatus() == null)) {
+            throw new BadRequestAlertException("Each update needs an id and a status", ENTITY_NAME, "updateinvalid");
+        }
+        return ResponseEntity.ok().body(orderItemService.updateStatuses(updates));
+    }
+
     /**
      * {@code GET  /order-items} : get all the orderItems.
      *
+     * @param pageable the pagination information.
+     * @param criteria the criteria which the requested entities should match.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of orderItems in body.
      */
     @GetMapping("/order-items")
-    public List<OrderItem> getAllOrderItems() {
-        log.debug("REST request to get all OrderItems");
-        return orderItemService.findAll();
+    public ResponseEntity<List<OrderItemDTO>> getAllOrderItems(OrderItemCriteria criteria, Pageable pageable) {
+        log.debug("REST request to get OrderItems by criteria: {}", criteria);
+        Page<OrderItemDTO> page = orderItemQueryService.findByCriteria(criteria, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /order-items/count} : count all the orderItems.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/order-items/count")
+    public ResponseEntity<Long> countOrderItems(OrderItemCriteria criteria) {
+        log.debug("REST request to count OrderItems by criteria: {}", criteria);
+        return ResponseEntity.ok().body(orderItemQueryService.countByCriteria(criteria));
     }
 
     /**
@@ -150,10 +193,10 @@ public class OrderItemResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the orderItem, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/order-items/{id}")
-    public ResponseEntity<OrderItem> getOrderItem(@PathVariable Long id) {
+    public ResponseEntity<OrderItemDTO> getOrderItem(@PathVariable Long id) {
         log.debug("REST request to get OrderItem : {}", id);
-        Optional<OrderItem> orderItem = orderItemService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(orderItem);
+        Optional<OrderItemDTO> orderItemDTO = orderItemService.findOne(id);
+        return ResponseUtil.wrapOrNotFound(orderItemDTO);
     }
 
     /**
@@ -1,19 +1,24 @@
 package com.walgreens.rxi.purchasing.web.rest;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.walgreens.rxi.purchasing.config.KafkaProperties;
-import java.time.Duration;
+import com.walgreens.rxi.purchasing.web.rest.sse.KafkaSseHub;
+import com.walgreens.rxi.purchasing.web.rest.vm.KafkaPublishBatchVM;
+import com.walgreens.rxi.purchasing.web.rest.vm.KafkaRecordVM;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import org.apache.kafka.clients.consumer.ConsumerRecord;
-import org.apache.kafka.clients.consumer.ConsumerRecords;
-import org.apache.kafka.clients.consumer.KafkaConsumer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import javax.validation.Valid;
 import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.errors.TimeoutException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.bind.annotation.*;
@@ -23,71 +28,138 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 @RequestMapping("/api/purchasing-kafka")
 public class PurchasingKafkaResource {
 
+    /**
+     * Time in milliseconds a send may hold the servlet thread, waiting for the metadata of the topic or for room in the
+     * buffer of the producer, unless {@code kafka.producer.max.block.ms} sets another one.
+     */
+    private static final long MAX_BLOCK_MS = 1000;
+
     private final Logger log = LoggerFactory.getLogger(PurchasingKafkaResource.class);
 
     private final KafkaProperties kafkaProperties;
+    private final KafkaSseHub kafkaSseHub;
     private KafkaProducer<String, String> producer;
-    private ExecutorService sseExecutorService = Executors.newCachedThreadPool();
 
-    public PurchasingKafkaResource(KafkaProperties kafkaProperties) {
+    public PurchasingKafkaResource(KafkaProperties kafkaProperties, KafkaSseHub kafkaSseHub) {
         this.kafkaProperties = kafkaProperties;
-        this.producer = new KafkaProducer<>(kafkaProperties.getProducerProps());
+        this.kafkaSseHub = kafkaSseHub;
+        Map<String, Object> producerProps = kafkaProperties.getProducerProps();
+        producerProps.putIfAbsent(ProducerConfig.MAX_BLOCK_MS_CONFIG, String.valueOf(MAX_BLOCK_MS));
+        this.producer = new KafkaProducer<>(producerProps);
     }
 
+    /**
+     * Publish one record, answering once the broker acknowledged it without holding the servlet thread meanwhile.
+     * <p>
+     * Handing the record to the producer holds the servlet thread for at most {@value #MAX_BLOCK_MS} ms, after which the
+     * record fails with a timeout.
+     */
     @PostMapping("/publish/{topic}")
-    public PublishResult publish(@PathVariable String topic, @RequestParam String message, @RequestParam(required = false) String key)
-        throws ExecutionException, InterruptedException {
+    public CompletableFuture<PublishResult> publish(
+        @PathVariable String topic,
+        @RequestParam String message,
+        @RequestParam(required = false) String key
+    ) {
         log.debug("REST request to send to Kafka topic {} with key {} the message : {}", topic, key, message);
-        RecordMetadata metadata = producer.send(new ProducerRecord<>(topic, key, message)).get();
-        return new PublishResult(metadata.topic(), metadata.partition(), metadata.offset(), Instant.ofEpochMilli(metadata.timestamp()));
+        return send(new ProducerRecord<>(topic, key, message)).thenApply(PublishResult::new);
     }
 
+    /**
+     * Publish many records to one topic, answering once all of them were acknowledged or failed.
+     * <p>
+     * All the records are handed to the producer before waiting for any acknowledgement, so they share its batches.
+     * The results are in the order of the records, a failed record carries its error instead of its position.
+     * Once a record timed out, the next ones fail with the same error without being handed to the producer: the servlet
+     * thread is held for at most {@value #MAX_BLOCK_MS} ms by the whole batch, rather than by each of its records.
+     */
+    @PostMapping("/publish/{topic}/batch")
+    public CompletableFuture<List<PublishResult>> publishBatch(@PathVariable String topic, @Valid @RequestBody KafkaPublishBatchVM batch) {
+        log.debug("REST request to send to Kafka topic {} the records : {}", topic, batch);
+        AtomicReference<Throwable> timeout = new AtomicReference<>();
+        List<CompletableFuture<PublishResult>> results = new ArrayList<>();
+        for (KafkaRecordVM record : batch.getRecords()) {
+            CompletableFuture<RecordMetadata> sent = timeout.get() != null
+                ? CompletableFuture.failedFuture(timeout.get())
+                : send(new ProducerRecord<>(topic, record.getKey(), record.getValue()));
+            results.add(
+                sent.handle(
+                    (metadata, error) -> {
+                        if (error instanceof TimeoutException) {
+                            timeout.compareAndSet(null, error);
+                        }
+                        return error == null ? new PublishResult(metadata) : new PublishResult(topic, error);
+                    }
+                )
+            );
+        }
+        return CompletableFuture
+            .allOf(results.toArray(new CompletableFuture[0]))
+            .thenApply(done -> results.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+    }
+
+    private CompletableFuture<RecordMetadata> send(ProducerRecord<String, String> record) {
+        CompletableFuture<RecordMetadata> result = new CompletableFuture<>();
+        try {
+            producer.send(
+                record,
+                (metadata, exception) -> {
+                    if (exception != null) {
+                        result.completeExceptionally(exception);
+                    } else {
+                        result.complete(metadata);
+                    }
+                }
+            );
+        } catch (KafkaException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * Stream the values of the records of the given topics, from a consumer shared with the other clients of the same topics.
+     * <p>
+     * With {@code batchSize}, the values buffered for the client are coalesced into JSON array events of at most that many values.
+     * {@code pollTimeoutMs} sets how long the consumer waits for records before sending a heartbeat. The other request
+     * parameters are consumer properties.
+     */
     @GetMapping("/consume")
-    public SseEmitter consume(@RequestParam("topic") List<String> topics, @RequestParam Map<String, String> consumerParams) {
+    public SseEmitter consume(
+        @RequestParam("topic") List<String> topics,
+        @RequestParam(required = false) Integer batchSize,
+        @RequestParam(required = false) Long pollTimeoutMs,
+        @RequestParam Map<String, String> consumerParams
+    ) {
         log.debug("REST request to consume records from Kafka topics {}", topics);
         Map<String, Object> consumerProps = kafkaProperties.getConsumerProps();
         consumerProps.putAll(consumerParams);
-        consumerProps.remove("topic");
-
-        SseEmitter emitter = new SseEmitter(0L);
-        sseExecutorService.execute(
-            () -> {
-                KafkaConsumer<String, String> consumer = new KafkaConsumer<>(consumerProps);
-                emitter.onCompletion(consumer::close);
-                consumer.subscribe(topics);
-                boolean exitLoop = false;
-                while (!exitLoop) {
-                    try {
-                        ConsumerRecords<String, String> records = consumer.poll(Duration.ofSeconds(5));
-                        for (ConsumerRecord<String, String> record : records) {
-                            emitter.send(record.value());
-                        }
-                        emitter.send(SseEmitter.event().comment(""));
-                    } catch (Exception ex) {
-                        log.trace("Complete with error {}", ex.getMessage(), ex);
-                        emitter.completeWithError(ex);
-                        exitLoop = true;
-                    }
-                }
-                consumer.close();
-                emitter.complete();
-            }
-        );
-        return emitter;
+        consumerProps.keySet().removeAll(List.of("topic", "batchSize", "pollTimeoutMs"));
+        return kafkaSseHub.subscribe(topics, consumerProps, pollTimeoutMs, batchSize);
     }
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private static class PublishResult {
 
         public final String topic;
-        public final int partition;
-        public final long offset;
+        public final Integer partition;
+        public final Long offset;
         public final Instant timestamp;
+        public final String error;
+
+        private PublishResult(RecordMetadata metadata) {
+            this.topic = metadata.topic();
+            this.partition = metadata.partition();
+            this.offset = metadata.offset();
+            this.timestamp = Instant.ofEpochMilli(metadata.timestamp());
+            this.error = null;
+        }
 
-        private PublishResult(String topic, int partition, long offset, Instant timestamp) {
+        private PublishResult(String topic, Throwable error) {
             this.topic = topic;
-            this.partition = partition;
-            this.offset = offset;
-            this.timestamp = timestamp;
+            this.partition = null;
+            this.offset = null;
+            this.timestamp = null;
+            this.error = error.getMessage();
         }
     }
 }
@@ -0,0 +1,422 @@
+package com.walgreens.rxi.purchasing.web.rest.sse;
+
+import com.walgreens.rxi.purchasing.config.ApplicationProperties;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.errors.WakeupException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Fans the records of Kafka topics out to Server-Sent Events subscribers.
+ * <p>
+ * The subscribers of the same topics with the same consumer properties share one feed: a single {@link KafkaConsumer}
+ * polled by its own thread, which queues each record into a buffer per subscriber. A fixed pool of dispatch threads writes
+ * the buffers to the clients, one event per record or, for the subscribers asking for it, one JSON array event per batch.
+ * <p>
+ * The buffers are bounded in memory. While a subscriber holds more than half of its buffer, the feed pauses its partitions
+ * and keeps polling, so the consumer stays in its group without fetching, and it resumes them once all the subscribers
+ * drained their buffers below a quarter. A subscriber overflowing its buffer, or keeping the feed paused for longer than
+ * {@code application.kafka-sse.max-pause-ms}, is disconnected, so a slow client cannot hold back the others for long.
+ * A feed is closed with its last subscriber.
+ */
+@Component
+public class KafkaSseHub implements DisposableBean {
+
+    private static final Duration MAX_POLL_TIMEOUT = Duration.ofMinutes(1);
+
+    /**
+     * Maximum number of records written to one subscriber before its dispatch thread moves on to the next subscriber.
+     */
+    private static final int DISPATCH_SLICE = 256;
+
+    /**
+     * Estimated memory of a buffered value besides its characters.
+     */
+    private static final long VALUE_OVERHEAD_BYTES = 64;
+
+    private final Logger log = LoggerFactory.getLogger(KafkaSseHub.class);
+
+    private final Map<FeedKey, Feed> feeds = new HashMap<>();
+
+    private final ExecutorService pollExecutor = Executors.newCachedThreadPool();
+
+    private final ExecutorService dispatchExecutor;
+
+    private final long subscriberBufferBytes;
+
+    private final Duration defaultPollTimeout;
+
+    private final int maxBatchSize;
+
+    private final long maxPauseMs;
+
+    private final Function<Map<String, Object>, Consumer<String, String>> consumerFactory;
+
+    private final Supplier<SseEmitter> emitterFactory;
+
+    @Autowired
+    public KafkaSseHub(ApplicationProperties applicationProperties) {
+        this(applicationProperties, KafkaConsumer::new, () -> new SseEmitter(0L));
+    }
+
+    KafkaSseHub(
+        ApplicationProperties applicationProperties,
+        Function<Map<String, Object>, Consumer<String, String>> consumerFactory,
+        Supplier<SseEmitter> emitterFactory
+    ) {
+        ApplicationProperties.KafkaSse kafkaSse = applicationProperties.getKafkaSse();
+        this.dispatchExecutor = Executors.newFixedThreadPool(kafkaSse.getDispatchThreads());
+        this.subscriberBufferBytes = kafkaSse.getSubscriberBufferBytes();
+        this.defaultPollTimeout = Duration.ofMillis(kafkaSse.getPollTimeoutMs());
+        this.maxBatchSize = kafkaSse.getMaxBatchSize();
+        this.maxPauseMs = kafkaSse.getMaxPauseMs();
+        this.consumerFactory = consumerFactory;
+        this.emitterFactory = emitterFactory;
+    }
+
+    /**
+     * Subscribe to the values of the records of the given topics, one event per record.
+     *
+     * @param topics the topics to consume.
+     * @param consumerProps the properties of the {@link KafkaConsumer} reading the topics.
+     * @return the emitter sending the values, and a comment after each poll without any record to keep the connection alive.
+     */
+    public SseEmitter subscribe(Collection<String> topics, Map<String, Object> consumerProps) {
+        return subscribe(topics, consumerProps, null, null);
+    }
+
+    /**
+     * Subscribe to the values of the records of the given topics.
+     *
+     * @param topics the topics to consume.
+     * @param consumerProps the properties of the {@link KafkaConsumer} reading the topics.
+     * @param pollTimeoutMs the time the feed waits for records in each poll, {@code null} for the configured default.
+     * @param batchSize the maximum number of values coalesced into a JSON array event, capped by the configured maximum,
+     * or {@code null} for one event per value.
+     * @return the emitter sending the values, and a comment after each poll without any record to keep the connection alive.
+     */
+    public SseEmitter subscribe(Collection<String> topics, Map<String, Object> consumerProps, Long pollTimeoutMs, Integer batchSize) {
+        SseEmitter emitter = emitterFactory.get();
+        Duration pollTimeout = pollTimeoutMs == null ? defaultPollTimeout : Duration.ofMillis(Math.max(pollTimeoutMs, 1));
+        if (pollTimeout.compareTo(MAX_POLL_TIMEOUT) > 0) {
+            pollTimeout = MAX_POLL_TIMEOUT;
+        }
+        Integer eventSize = batchSize == null ? null : Math.min(Math.max(batchSize, 1), maxBatchSize);
+        FeedKey key = new FeedKey(topics, consumerProps, pollTimeout);
+        Subscriber subscriber;
+        synchronized (this) {
+            Feed feed = feeds.get(key);
+            if (feed == null || !feed.running) {
+                log.debug("Starting a Kafka feed for topics {}", key.topics);
+                feed = new Feed(key);
+                feeds.put(key, feed);
+                pollExecutor.execute(feed);
+            }
+            subscriber = new Subscriber(feed, emitter, eventSize);
+            feed.subscribers.add(subscriber);
+        }
+        emitter.onCompletion(subscriber::unsubscribe);
+        emitter.onTimeout(subscriber::unsubscribe);
+        emitter.onError(error -> subscriber.unsubscribe());
+        return emitter;
+    }
+
+    private synchronized void unsubscribe(Feed feed, Subscriber subscriber) {
+        if (feed.subscribers.remove(subscriber) && feed.subscribers.isEmpty()) {
+            log.debug("Stopping the Kafka feed for topics {}", feed.key.topics);
+            feeds.remove(feed.key, feed);
+            feed.stop();
+        }
+    }
+
+    @Override
+    public synchronized void destroy() {
+        feeds.values().forEach(Feed::stop);
+        feeds.clear();
+        pollExecutor.shutdown();
+        dispatchExecutor.shutdown();
+    }
+
+    private static final class FeedKey {
+
+        private final SortedSet<String> topics;
+
+        private final SortedMap<String, Object> consumerProps;
+
+        private final Duration pollTimeout;
+
+        private FeedKey(Collection<String> topics, Map<String, Object> consumerProps, Duration pollTimeout) {
+            this.topics = new TreeSet<>(topics);
+            this.consumerProps = new TreeMap<>(consumerProps);
+            this.pollTimeout = pollTimeout;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FeedKey)) {
+                return false;
+            }
+            FeedKey other = (FeedKey) o;
+            return topics.equals(other.topics) && consumerProps.equals(other.consumerProps) && pollTimeout.equals(other.pollTimeout);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(topics, consumerProps, pollTimeout);
+        }
+    }
+
+    /**
+     * One consumer of a topic set, dispatching its records to all the subscribers of the set.
+     */
+    private final class Feed implements Runnable {
+
+        private final FeedKey key;
+
+        private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+
+        private final Consumer<String, String> consumer;
+
+        private volatile boolean running = true;
+
+        private boolean paused;
+
+        private Feed(FeedKey key) {
+            this.key = key;
+            this.consumer = consumerFactory.apply(new HashMap<>(key.consumerProps));
+        }
+
+        @Override
+        public void run() {
+            try {
+                consumer.subscribe(key.topics);
+                while (running) {
+                    ConsumerRecords<String, String> records = consumer.poll(key.pollTimeout);
+                    subscribers.forEach(subscriber -> subscriber.offer(records));
+                    applyBackPressure();
+                }
+            } catch (WakeupException e) {
+                // Stopped with the last subscriber
+            } catch (Exception e) {
+                log.warn("Kafka feed for topics {} failed: {}", key.topics, e.getMessage());
+                running = false;
+                subscribers.forEach(subscriber -> subscriber.fail(e));
+            } finally {
+                consumer.close();
+            }
+        }
+
+        /**
+         * Pause the assigned partitions while a subscriber is behind, again after each poll to cover reassigned partitions.
+         */
+        private void applyBackPressure() {
+            long now = System.currentTimeMillis();
+            boolean holdBack = false;
+            for (Subscriber subscriber : subscribers) {
+                holdBack |= subscriber.holdsBack(paused, now);
+            }
+            if (holdBack) {
+                if (!paused) {
+                    log.debug("Pausing the Kafka feed for topics {}, a subscriber is behind", key.topics);
+                    paused = true;
+                }
+                consumer.pause(consumer.assignment());
+            } else if (paused) {
+                log.debug("Resuming the Kafka feed for topics {}", key.topics);
+                consumer.resume(consumer.paused());
+                paused = false;
+            }
+        }
+
+        private void stop() {
+            running = false;
+            consumer.wakeup();
+        }
+    }
+
+    private static long sizeOf(String value) {
+        return VALUE_OVERHEAD_BYTES + 2L * value.length();
+    }
+
+    /**
+     * One client, with the records polled but not yet written to it.
+     */
+    private final class Subscriber implements Runnable {
+
+        private final Feed feed;
+
+        private final SseEmitter emitter;
+
+        private final Integer batchSize;
+
+        private final Queue<String> buffer = new ConcurrentLinkedQueue<>();
+
+        private final AtomicLong bufferedBytes = new AtomicLong();
+
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        /**
+         * When the subscriber started holding the feed back, {@code 0} when it is not. Only used by the feed thread.
+         */
+        private long behindSince;
+
+        private volatile boolean heartbeat;
+
+        private volatile Exception failure;
+
+        private Subscriber(Feed feed, SseEmitter emitter, Integer batchSize) {
+            this.feed = feed;
+            this.emitter = emitter;
+            this.batchSize = batchSize;
+        }
+
+        /**
+         * Called by the feed thread, which must never wait for the client.
+         */
+        private void offer(ConsumerRecords<String, String> records) {
+            if (records.isEmpty()) {
+                heartbeat = true;
+            }
+            for (ConsumerRecord<String, String> record : records) {
+                String value = record.value();
+                if (value == null) {
+                    // Tombstones have no value to send
+                    continue;
+                }
+                if (bufferedBytes.addAndGet(sizeOf(value)) > subscriberBufferBytes) {
+                    log.warn("Disconnecting a slow subscriber of Kafka topics {}, {} records behind", feed.key.topics, buffer.size());
+                    fail(new IllegalStateException("Subscriber too slow, more than " + subscriberBufferBytes + " bytes behind"));
+                    return;
+                }
+                buffer.add(value);
+            }
+            schedule();
+        }
+
+        /**
+         * Called by the feed thread after each poll.
+         *
+         * @param paused whether the feed is currently paused.
+         * @param now the current time in milliseconds.
+         * @return whether the feed must be paused, or stay paused, for this subscriber to catch up.
+         */
+        private boolean holdsBack(boolean paused, long now) {
+            long buffered = bufferedBytes.get();
+            if (failure != null || buffered <= (paused ? subscriberBufferBytes / 4 : subscriberBufferBytes / 2)) {
+                behindSince = 0;
+                return false;
+            }
+            if (behindSince == 0) {
+                behindSince = now;
+            } else if (now - behindSince > maxPauseMs) {
+                log.warn("Disconnecting a slow subscriber of Kafka topics {}, paused for {} ms", feed.key.topics, now - behindSince);
+                fail(new IllegalStateException("Subscriber too slow, behind for more than " + maxPauseMs + " ms"));
+                return false;
+            }
+            return true;
+        }
+
+        private void fail(Exception e) {
+            failure = e;
+            unsubscribe();
+            schedule();
+        }
+
+        private void unsubscribe() {
+            KafkaSseHub.this.unsubscribe(feed, this);
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                dispatchExecutor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (batchSize == null) {
+                    String value;
+                    for (int sent = 0; sent < DISPATCH_SLICE && failure == null && (value = take()) != null; sent++) {
+                        emitter.send(value);
+                    }
+                } else if (failure == null) {
+                    List<String> batch = new ArrayList<>();
+                    String value;
+                    while (batch.size() < batchSize && (value = take()) != null) {
+                        batch.add(value);
+                    }
+                    if (!batch.isEmpty()) {
+                        emitter.send(batch, MediaType.APPLICATION_JSON);
+                    }
+                }
+                if (failure != null) {
+                    clear();
+                    emitter.completeWithError(failure);
+                    return;
+                }
+                if (heartbeat && buffer.isEmpty()) {
+                    heartbeat = false;
+                    emitter.send(SseEmitter.event().comment(""));
+                }
+            } catch (Exception ex) {
+                log.trace("Complete with error {}", ex.getMessage(), ex);
+                failure = ex;
+                clear();
+                unsubscribe();
+                emitter.completeWithError(ex);
+                return;
+            }
+            scheduled.set(false);
+            if (!buffer.isEmpty() || failure != null) {
+                schedule();
+            }
+        }
+
+        private String take() {
+            String value = buffer.poll();
+            if (value != null) {
+                bufferedBytes.addAndGet(-sizeOf(value));
+            }
+            return value;
+        }
+
+        private void clear() {
+            while (take() != null) {
+                // Release the buffered values
+            }
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Server-Sent Events streams fed by Kafka topics.
+ */
+package com.walgreens.rxi.purchasing.web.rest.sse;
@@ -0,0 +1,44 @@
+package com.walgreens.rxi.purchasing.web.rest.vm;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+/**
+ * View Model holding the Kafka records to publish to one topic in a single request.
+ */
+public class KafkaPublishBatchVM {
+
+    public static final int MAX_RECORDS = 10000;
+
+    @NotEmpty
+    @Size(max = MAX_RECORDS)
+    private List<@Valid @NotNull KafkaRecordVM> records = new ArrayList<>();
+
+    public KafkaPublishBatchVM() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public KafkaPublishBatchVM(List<KafkaRecordVM> records) {
+        this.records = records;
+    }
+
+    public List<KafkaRecordVM> getRecords() {
+        return records;
+    }
+
+    public void setRecords(List<KafkaRecordVM> records) {
+        this.records = records;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "KafkaPublishBatchVM{" +
+            "records=" + records.size() +
+            "}";
+    }
+}
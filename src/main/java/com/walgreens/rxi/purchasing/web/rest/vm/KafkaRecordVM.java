@@ -0,0 +1,48 @@
+package com.walgreens.rxi.purchasing.web.rest.vm;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * View Model holding the key and the value of one Kafka record to publish.
+ */
+public class KafkaRecordVM {
+
+    private String key;
+
+    @NotNull
+    private String value;
+
+    public KafkaRecordVM() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public KafkaRecordVM(String key, String value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "KafkaRecordVM{" +
+            "key='" + key + "'" +
+            ", value='" + value + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,47 @@
+package com.walgreens.rxi.purchasing.web.rest.vm;
+
+import com.walgreens.rxi.purchasing.domain.LocationOrder;
+import com.walgreens.rxi.purchasing.domain.OrderItem;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * View Model returned by a bulk locationOrder submission: the identifiers of what was created, without the entities.
+ */
+public class LocationOrderBulkResultVM {
+
+    private final Long id;
+
+    private final UUID code;
+
+    private final List<Long> orderItemIds;
+
+    public LocationOrderBulkResultVM(LocationOrder locationOrder, List<OrderItem> orderItems) {
+        this.id = locationOrder.getId();
+        this.code = locationOrder.getCode();
+        this.orderItemIds = orderItems.stream().map(OrderItem::getId).collect(Collectors.toList());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getCode() {
+        return code;
+    }
+
+    public List<Long> getOrderItemIds() {
+        return orderItemIds;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "LocationOrderBulkResultVM{" +
+            "id=" + id +
+            ", code='" + code + "'" +
+            ", orderItemIds=" + orderItemIds.size() +
+            "}";
+    }
+}
@@ -0,0 +1,55 @@
+package com.walgreens.rxi.purchasing.web.rest.vm;
+
+import com.walgreens.rxi.purchasing.domain.LocationOrder;
+import com.walgreens.rxi.purchasing.domain.OrderItem;
+import java.util.ArrayList;
+import java.util.List;
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+/**
+ * View Model holding a new locationOrder together with all of its orderItems, submitted in one request.
+ */
+public class LocationOrderBulkVM {
+
+    public static final int MAX_ORDER_ITEMS = 1000;
+
+    @NotNull
+    @Valid
+    private LocationOrder locationOrder;
+
+    @NotEmpty
+    @Size(max = MAX_ORDER_ITEMS)
+    private List<@Valid @NotNull OrderItem> orderItems = new ArrayList<>();
+
+    public LocationOrderBulkVM() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public LocationOrder getLocationOrder() {
+        return locationOrder;
+    }
+
+    public void setLocationOrder(LocationOrder locationOrder) {
+        this.locationOrder = locationOrder;
+    }
+
+    public List<OrderItem> getOrderItems() {
+        return orderItems;
+    }
+
+    public void setOrderItems(List<OrderItem> orderItems) {
+        this.orderItems = orderItems;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "LocationOrderBulkVM{" +
+            "locationOrder=" + locationOrder +
+            ", orderItems=" + orderItems.size() +
+            "}";
+    }
+}
@@ -0,0 +1,129 @@
+package com.walgreens.rxi.purchasing.aop.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.repository.Repository;
+
+/**
+ * Unit tests for the {@link RepositoryMetricsAspect} class.
+ */
+class RepositoryMetricsAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RepositoryMetricsAspect aspect;
+
+    private SampleRepository sampleRepository;
+
+    private OtherRepository otherRepository;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        aspect = new RepositoryMetricsAspect(meterRegistry);
+        otherRepository = proxy(new OtherRepositoryImpl(aspect));
+        sampleRepository = proxy(new SampleRepositoryImpl(aspect, otherRepository));
+    }
+
+    @Test
+    void shouldCountTheStatementsOfEachRepositoryMethod() {
+        sampleRepository.findTwice();
+        sampleRepository.findTwice();
+
+        assertThat(statements("SampleRepository", "findTwice")).isEqualTo(4);
+        assertThat(
+            meterRegistry
+                .get("purchasing.repository.invocations")
+                .tag("repository", "SampleRepository")
+                .tag("method", "findTwice")
+                .timer()
+                .count()
+        )
+            .isEqualTo(2);
+    }
+
+    @Test
+    void shouldCountTheStatementsOfANestedCallWithTheNestedMethod() {
+        sampleRepository.findWithOther();
+
+        assertThat(statements("OtherRepository", "findOnce")).isEqualTo(1);
+        // The calling method is current again once the nested call returned
+        assertThat(statements("SampleRepository", "findWithOther")).isEqualTo(2);
+    }
+
+    @Test
+    void shouldCountTheStatementsOutsideOfARepositoryWithNone() {
+        sampleRepository.findTwice();
+        aspect.inspect("update location_order set version = ? where id = ?");
+
+        assertThat(statements("none", "none")).isEqualTo(1);
+        assertThat(statements("SampleRepository", "findTwice")).isEqualTo(2);
+    }
+
+    private double statements(String repository, String method) {
+        return meterRegistry.get("purchasing.repository.statements").tag("repository", repository).tag("method", method).counter().count();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(T repository) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(repository);
+        proxyFactory.addAspect(aspect);
+        return (T) proxyFactory.getProxy();
+    }
+
+    interface SampleRepository extends Repository<Object, Long> {
+        void findTwice();
+
+        void findWithOther();
+    }
+
+    interface OtherRepository extends Repository<Object, Long> {
+        void findOnce();
+    }
+
+    /**
+     * Prepares its statements as Hibernate does, through the statement inspector.
+     */
+    private static final class SampleRepositoryImpl implements SampleRepository {
+
+        private final RepositoryMetricsAspect aspect;
+
+        private final OtherRepository otherRepository;
+
+        private SampleRepositoryImpl(RepositoryMetricsAspect aspect, OtherRepository otherRepository) {
+            this.aspect = aspect;
+            this.otherRepository = otherRepository;
+        }
+
+        @Override
+        public void findTwice() {
+            aspect.inspect("select id from location_order where code = ?");
+            aspect.inspect("select id from order_item where location_order_id = ?");
+        }
+
+        @Override
+        public void findWithOther() {
+            aspect.inspect("select id from location_order where code = ?");
+            otherRepository.findOnce();
+            aspect.inspect("select id from order_item where location_order_id = ?");
+        }
+    }
+
+    private static final class OtherRepositoryImpl implements OtherRepository {
+
+        private final RepositoryMetricsAspect aspect;
+
+        private OtherRepositoryImpl(RepositoryMetricsAspect aspect) {
+            this.aspect = aspect;
+        }
+
+        @Override
+        public void findOnce() {
+            aspect.inspect("select id from location where location_number = ?");
+        }
+    }
+}
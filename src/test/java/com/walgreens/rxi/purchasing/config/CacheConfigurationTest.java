@@ -0,0 +1,184 @@
+package com.walgreens.rxi.purchasing.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.walgreens.rxi.purchasing.domain.Address;
+import com.walgreens.rxi.purchasing.domain.OrderItem;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.SizedResourcePool;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Unit tests for the {@link CacheConfiguration} class.
+ */
+class CacheConfigurationTest {
+
+    private JHipsterProperties jHipsterProperties;
+
+    private ApplicationProperties applicationProperties;
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    public void setup() {
+        jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getCache().getEhcache().setMaxEntries(100);
+        jHipsterProperties.getCache().getEhcache().setTimeToLiveSeconds(3600);
+        applicationProperties = new ApplicationProperties();
+        EhcacheCachingProvider cachingProvider = (EhcacheCachingProvider) Caching.getCachingProvider(
+            EhcacheCachingProvider.class.getName()
+        );
+        cacheManager =
+            cachingProvider.getCacheManager(URI.create("urn:" + UUID.randomUUID()), new DefaultConfiguration(getClass().getClassLoader()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void shouldOverrideTheDefaultsWithTheSettingsOfARegion() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setMaxEntries(10L);
+        region.setTimeToLiveSeconds(60L);
+        applicationProperties.getCache().getRegions().put(OrderItem.class.getName(), region);
+
+        createCaches();
+
+        assertThat(heapEntries(cacheConfiguration(OrderItem.class.getName()).getResourcePools())).isEqualTo(10);
+        assertThat(timeToLive(cacheConfiguration(OrderItem.class.getName()).getExpiryPolicy())).isEqualTo(Duration.ofSeconds(60));
+        // The other regions keep the jhipster.cache.ehcache settings
+        assertThat(heapEntries(cacheConfiguration(Address.class.getName()).getResourcePools())).isEqualTo(100);
+        assertThat(timeToLive(cacheConfiguration(Address.class.getName()).getExpiryPolicy())).isEqualTo(Duration.ofSeconds(3600));
+    }
+
+    @Test
+    void shouldExpireARegionWithATimeToIdleInsteadOfTheTimeToLive() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setTimeToIdleSeconds(300L);
+        applicationProperties.getCache().getRegions().put(OrderItem.class.getName(), region);
+
+        createCaches();
+
+        ExpiryPolicy<? super Object, ? super Object> expiryPolicy = cacheConfiguration(OrderItem.class.getName()).getExpiryPolicy();
+        assertThat(expiryPolicy.getExpiryForCreation(1L, "order-item")).isEqualTo(Duration.ofSeconds(300));
+        assertThat(expiryPolicy.getExpiryForAccess(1L, () -> "order-item")).isEqualTo(Duration.ofSeconds(300));
+        // A time to live leaves the expiry of an entry unchanged when it is read
+        assertThat(cacheConfiguration(Address.class.getName()).getExpiryPolicy().getExpiryForAccess(1L, () -> "address")).isNull();
+    }
+
+    @Test
+    void shouldAddAnOffHeapTierToARegion() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setMaxEntries(10L);
+        region.setOffHeapMb(2L);
+        applicationProperties.getCache().getRegions().put(OrderItem.class.getName(), region);
+
+        createCaches();
+
+        ResourcePools resourcePools = cacheConfiguration(OrderItem.class.getName()).getResourcePools();
+        assertThat(resourcePools.getResourceTypeSet()).containsExactlyInAnyOrder(ResourceType.Core.HEAP, ResourceType.Core.OFFHEAP);
+        assertThat(heapEntries(resourcePools)).isEqualTo(10);
+        SizedResourcePool offHeap = resourcePools.getPoolForResource(ResourceType.Core.OFFHEAP);
+        assertThat(offHeap.getUnit()).isEqualTo(MemoryUnit.MB);
+        assertThat(offHeap.getSize()).isEqualTo(2);
+        // The entries moved off heap are serialized
+        Cache<Object, Object> cache = cacheManager.getCache(OrderItem.class.getName());
+        for (long id = 0; id < 20; id++) {
+            cache.put(id, "order-item-" + id);
+        }
+        assertThat(cache.get(0L)).isEqualTo("order-item-0");
+        ResourcePools addressPools = cacheConfiguration(Address.class.getName()).getResourcePools();
+        assertThat(addressPools.getResourceTypeSet()).containsExactly(ResourceType.Core.HEAP);
+    }
+
+    @Test
+    void shouldBindTheSettingsOfARegionNamedAfterAClass() {
+        new ApplicationContextRunner()
+            .withUserConfiguration(ApplicationPropertiesConfiguration.class)
+            .withPropertyValues(
+                "application.cache.regions.[com.walgreens.rxi.purchasing.domain.OrderItem].max-entries=10000",
+                "application.cache.regions.[com.walgreens.rxi.purchasing.domain.OrderItem].off-heap-mb=256"
+            )
+            .run(
+                context -> {
+                    ApplicationProperties.Cache.Region region = context
+                        .getBean(ApplicationProperties.class)
+                        .getCache()
+                        .getRegions()
+                        .get(OrderItem.class.getName());
+                    assertThat(region.getMaxEntries()).isEqualTo(10000);
+                    assertThat(region.getOffHeapMb()).isEqualTo(256);
+                    assertThat(region.getTimeToLiveSeconds()).isNull();
+                }
+            );
+    }
+
+    @Test
+    void shouldReadTheCacheSizeWithoutHittingTheEntries() {
+        CacheConfiguration cacheConfiguration = createCaches();
+        Cache<Object, Object> cache = cacheManager.getCache(Address.class.getName());
+        for (long id = 0; id < 10; id++) {
+            cache.put(id, "address-" + id);
+        }
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        new JCacheMetrics(cache, null).bindTo(meterRegistry);
+        cacheConfiguration.cacheSizeMetrics(cacheManager).bindTo(meterRegistry);
+
+        assertThat(meterRegistry.get("cache.size").tag("cache", Address.class.getName()).gauge().value()).isEqualTo(10);
+        assertThat(hits(meterRegistry)).isZero();
+
+        cache.get(0L);
+        assertThat(hits(meterRegistry)).isEqualTo(1);
+    }
+
+    private CacheConfiguration createCaches() {
+        CacheConfiguration cacheConfiguration = new CacheConfiguration(jHipsterProperties, applicationProperties);
+        cacheConfiguration.cacheManagerCustomizer().customize(cacheManager);
+        return cacheConfiguration;
+    }
+
+    private org.ehcache.config.CacheConfiguration<Object, Object> cacheConfiguration(String cacheName) {
+        @SuppressWarnings("unchecked")
+        Eh107Configuration<Object, Object> configuration = cacheManager.getCache(cacheName).getConfiguration(Eh107Configuration.class);
+        return configuration.unwrap(org.ehcache.config.CacheConfiguration.class);
+    }
+
+    private static long heapEntries(ResourcePools resourcePools) {
+        SizedResourcePool heap = resourcePools.getPoolForResource(ResourceType.Core.HEAP);
+        assertThat(heap.getUnit()).isEqualTo(EntryUnit.ENTRIES);
+        return heap.getSize();
+    }
+
+    private static Duration timeToLive(ExpiryPolicy<? super Object, ? super Object> expiryPolicy) {
+        return expiryPolicy.getExpiryForCreation(1L, "value");
+    }
+
+    private static double hits(SimpleMeterRegistry meterRegistry) {
+        return meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count();
+    }
+
+    @EnableConfigurationProperties(ApplicationProperties.class)
+    static class ApplicationPropertiesConfiguration {}
+}
@@ -0,0 +1,162 @@
+package com.walgreens.rxi.purchasing.config;
+
+import static org.mockito.Mockito.*;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit tests for the {@link ReplicaDataSourceConfiguration} class.
+ */
+class ReplicaDataSourceConfigurationTest {
+
+    private static final long MAX_LAG_SECONDS = 10;
+
+    private HikariDataSource primary;
+
+    private HikariDataSource replica;
+
+    private ResultSet replicaStatus;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private Session session;
+
+    private ReplicaDataSourceConfiguration replicaDataSourceConfiguration;
+
+    private DataSource routingDataSource;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() throws SQLException {
+        primary = mock(HikariDataSource.class);
+        when(primary.getConnection()).thenReturn(mock(Connection.class));
+        replica = mock(HikariDataSource.class);
+        replicaStatus = mock(ResultSet.class);
+        Statement statement = mock(Statement.class);
+        when(statement.executeQuery("SHOW REPLICA STATUS")).thenReturn(replicaStatus);
+        Connection replicaConnection = mock(Connection.class);
+        when(replicaConnection.createStatement()).thenReturn(statement);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+
+        entityManagerFactory = mock(EntityManagerFactory.class);
+        ObjectProvider<EntityManagerFactory> entityManagerFactoryProvider = mock(ObjectProvider.class);
+        when(entityManagerFactoryProvider.getIfAvailable()).thenReturn(entityManagerFactory);
+        session = mock(Session.class);
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+
+        replicaDataSourceConfiguration =
+            new ReplicaDataSourceConfiguration(primary, replica, MAX_LAG_SECONDS, entityManagerFactoryProvider);
+        routingDataSource = ((LazyConnectionDataSourceProxy) replicaDataSourceConfiguration.dataSource()).getTargetDataSource();
+        // The proxy reads the default auto-commit and isolation from a first connection
+        clearInvocations(primary, replica);
+
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void routesReadOnlyTransactionsToTheReplicaWhenItKeepsUp() throws SQLException {
+        replicaLags(3L);
+        replicaDataSourceConfiguration.checkReplicaLag();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        routingDataSource.getConnection();
+
+        verify(replica, times(2)).getConnection();
+        verify(primary, never()).getConnection();
+        verify(session).setCacheMode(CacheMode.GET);
+    }
+
+    @Test
+    void routesReadWriteTransactionsToThePrimary() throws SQLException {
+        replicaLags(3L);
+        replicaDataSourceConfiguration.checkReplicaLag();
+
+        routingDataSource.getConnection();
+
+        verify(primary).getConnection();
+        verify(session, never()).setCacheMode(any());
+    }
+
+    @Test
+    void routesReadOnlyTransactionsToThePrimaryWhileTheReplicaLags() throws SQLException {
+        replicaLags(MAX_LAG_SECONDS + 1);
+        replicaDataSourceConfiguration.checkReplicaLag();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        routingDataSource.getConnection();
+
+        verify(primary).getConnection();
+        verify(session, never()).setCacheMode(any());
+    }
+
+    @Test
+    void routesReadOnlyTransactionsToThePrimaryWhenTheReplicationIsStopped() throws SQLException {
+        replicaLags(null);
+        replicaDataSourceConfiguration.checkReplicaLag();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        routingDataSource.getConnection();
+
+        verify(primary).getConnection();
+    }
+
+    @Test
+    void routesReadOnlyTransactionsToThePrimaryWhenTheLagCannotBeRead() throws SQLException {
+        replicaLags(3L);
+        replicaDataSourceConfiguration.checkReplicaLag();
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        replicaDataSourceConfiguration.checkReplicaLag();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        routingDataSource.getConnection();
+
+        verify(primary).getConnection();
+    }
+
+    @Test
+    void resumesRoutingToTheReplicaOnceItCaughtUp() throws SQLException {
+        replicaLags(MAX_LAG_SECONDS + 1);
+        replicaDataSourceConfiguration.checkReplicaLag();
+        replicaLags(MAX_LAG_SECONDS);
+        replicaDataSourceConfiguration.checkReplicaLag();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        routingDataSource.getConnection();
+
+        verify(replica, times(3)).getConnection();
+        verify(primary, never()).getConnection();
+    }
+
+    /**
+     * Make {@code SHOW REPLICA STATUS} return the given lag, or none as when the replication is stopped.
+     */
+    private void replicaLags(Long lagSeconds) throws SQLException {
+        when(replicaStatus.next()).thenReturn(true);
+        when(replicaStatus.getLong("Seconds_Behind_Source")).thenReturn(lagSeconds == null ? 0L : lagSeconds);
+        when(replicaStatus.wasNull()).thenReturn(lagSeconds == null);
+    }
+}
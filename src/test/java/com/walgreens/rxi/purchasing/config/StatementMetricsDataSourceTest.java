@@ -0,0 +1,80 @@
+package com.walgreens.rxi.purchasing.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link StatementMetricsDataSource} class.
+ */
+class StatementMetricsDataSourceTest {
+
+    private static final String SQL = "select id from location_order where location_id = ?";
+
+    private static final byte[] SALT = { 1, 2, 3 };
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PreparedStatement preparedStatement;
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        preparedStatement = mock(PreparedStatement.class);
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(SQL)).thenReturn(preparedStatement);
+        DataSource targetDataSource = mock(DataSource.class);
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        dataSource = new StatementMetricsDataSource(targetDataSource, meterRegistry, Duration.ZERO);
+    }
+
+    @Test
+    void shouldTimeAndCountSlowStatements() throws Exception {
+        try (Connection connection = dataSource.getConnection(); PreparedStatement statement = connection.prepareStatement(SQL)) {
+            statement.setLong(1, 42L);
+            statement.executeQuery();
+        }
+
+        verify(preparedStatement).setLong(1, 42L);
+        verify(preparedStatement).executeQuery();
+        assertThat(meterRegistry.get("purchasing.jdbc.statements").timer().count()).isEqualTo(1);
+        assertThat(
+            meterRegistry
+                .get("purchasing.jdbc.statements.slow")
+                .tag("statement", StatementMetricsDataSource.fingerprint(SQL))
+                .counter()
+                .count()
+        )
+            .isEqualTo(1);
+    }
+
+    @Test
+    void shouldFingerprintTheParameterValues() {
+        assertThat(StatementMetricsDataSource.fingerprint(List.of(new byte[] { 1, 2 }, 42L), SALT))
+            .isEqualTo(StatementMetricsDataSource.fingerprint(List.of(new byte[] { 1, 2 }, 42L), SALT))
+            .isNotEqualTo(StatementMetricsDataSource.fingerprint(List.of(new byte[] { 2, 1 }, 42L), SALT))
+            .isNotEqualTo(StatementMetricsDataSource.fingerprint(Arrays.asList(new byte[] { 1, 2 }, null), SALT));
+    }
+
+    @Test
+    void shouldNotRevealAnIdThroughItsFingerprint() {
+        String fingerprint = StatementMetricsDataSource.fingerprint(List.of(42L), SALT);
+
+        assertThat(fingerprint).hasSize(16).isNotEqualTo(StatementMetricsDataSource.fingerprint(List.of(42L), new byte[] { 3, 2, 1 }));
+        // Hashing the likely ids is of no use without the salt
+        assertThat(LongStream.range(0, 10_000).mapToObj(id -> StatementMetricsDataSource.fingerprint(List.of(id), new byte[0])))
+            .doesNotContain(fingerprint);
+    }
+}
@@ -0,0 +1,38 @@
+package com.walgreens.rxi.purchasing.domain.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link TimeOrderedUuidGenerator} utility class.
+ */
+class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    void testGeneratesVersion7WithRfcVariant() {
+        UUID uuid = TimeOrderedUuidGenerator.generate();
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void testTimestampIsStoredInTheMostSignificantBits() {
+        Instant now = Instant.parse("2026-10-18T09:00:00.123Z");
+        UUID uuid = TimeOrderedUuidGenerator.generate(Clock.fixed(now, ZoneOffset.UTC));
+        assertThat(uuid.getMostSignificantBits() >>> 16).isEqualTo(now.toEpochMilli());
+    }
+
+    @Test
+    void testLaterKeysSortAfterEarlierKeys() {
+        Instant now = Instant.parse("2026-10-18T09:00:00Z");
+        UUID earlier = TimeOrderedUuidGenerator.generate(Clock.fixed(now, ZoneOffset.UTC));
+        UUID later = TimeOrderedUuidGenerator.generate(Clock.fixed(now.plusMillis(1), ZoneOffset.UTC));
+        // Unsigned comparison of the leading bytes, as done by BINARY(16) indexes
+        assertThat(Long.compareUnsigned(later.getMostSignificantBits(), earlier.getMostSignificantBits())).isPositive();
+    }
+}
@@ -0,0 +1,207 @@
+package com.walgreens.rxi.purchasing.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.walgreens.rxi.purchasing.IntegrationTest;
+import com.walgreens.rxi.purchasing.config.ApplicationProperties;
+import com.walgreens.rxi.purchasing.config.KafkaProperties;
+import com.walgreens.rxi.purchasing.domain.Address;
+import com.walgreens.rxi.purchasing.domain.OrderItem;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.KafkaContainer;
+
+/**
+ * Integration tests for {@link ClusterCacheInvalidator}, against a Kafka broker.
+ */
+@IntegrationTest
+class ClusterCacheInvalidatorIT {
+
+    private static KafkaContainer kafkaContainer;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private String topic;
+
+    private ClusterCacheInvalidator clusterCacheInvalidator;
+
+    private final List<Long> addressIds = new ArrayList<>();
+
+    @BeforeAll
+    static void startServer() {
+        if (kafkaContainer == null) {
+            kafkaContainer = new KafkaContainer("5.5.3").withNetwork(null);
+            kafkaContainer.start();
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        topic = "cache-invalidation-" + UUID.randomUUID();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getCache().setInvalidationEnabled(true);
+        applicationProperties.getCache().setInvalidationTopic(topic);
+        KafkaProperties kafkaProperties = new KafkaProperties();
+        kafkaProperties.setConsumer(getConsumerProps());
+        kafkaProperties.setProducer(getProducerProps());
+        clusterCacheInvalidator = new ClusterCacheInvalidator(entityManagerFactory, objectMapper, kafkaProperties, applicationProperties);
+        clusterCacheInvalidator.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        clusterCacheInvalidator.stop();
+        transactionTemplate.executeWithoutResult(status -> addressIds.forEach(id -> em.remove(em.find(Address.class, id))));
+    }
+
+    @Test
+    void publishesTheEvictionsOfCommittedTransactions() throws Exception {
+        Long addressId = createAddress();
+        transactionTemplate.executeWithoutResult(status -> em.find(Address.class, addressId).setCity("Committed"));
+        transactionTemplate.executeWithoutResult(
+            status -> {
+                em.find(Address.class, addressId).setCity("Rolled back");
+                em.flush();
+                status.setRollbackOnly();
+            }
+        );
+        transactionTemplate.executeWithoutResult(status -> clusterCacheInvalidator.entitiesEvicted(OrderItem.class, List.of(42L)));
+
+        List<ClusterCacheInvalidator.Invalidation> invalidations = readInvalidations(2);
+
+        assertThat(invalidations).hasSize(2).allSatisfy(invalidation -> assertThat(invalidation.getOrigin()).isEqualTo(instanceId()));
+        assertThat(invalidations.get(0).getEntities())
+            .singleElement()
+            .satisfies(
+                eviction -> {
+                    assertThat(eviction.getRole()).isEqualTo(Address.class.getName());
+                    assertThat(((Number) eviction.getId()).longValue()).isEqualTo(addressId);
+                }
+            );
+        assertThat(invalidations.get(1).getEntities())
+            .singleElement()
+            .satisfies(
+                eviction -> {
+                    assertThat(eviction.getRole()).isEqualTo(OrderItem.class.getName());
+                    assertThat(((Number) eviction.getId()).longValue()).isEqualTo(42L);
+                }
+            );
+    }
+
+    @Test
+    void evictsTheEntriesChangedByOtherInstancesOnly() throws Exception {
+        Long ownAddressId = createAddress();
+        Long remoteAddressId = createAddress();
+        transactionTemplate.executeWithoutResult(
+            status -> {
+                em.find(Address.class, ownAddressId);
+                em.find(Address.class, remoteAddressId);
+            }
+        );
+        assertThat(entityManagerFactory.getCache().contains(Address.class, ownAddressId)).isTrue();
+        assertThat(entityManagerFactory.getCache().contains(Address.class, remoteAddressId)).isTrue();
+
+        // Sent until the consumer, which starts from the latest offset, is assigned the topic; one key keeps them in order
+        try (KafkaProducer<String, String> producer = new KafkaProducer<>(new HashMap<>(getProducerProps()))) {
+            for (int i = 0; i < 100 && entityManagerFactory.getCache().contains(Address.class, remoteAddressId); i++) {
+                producer.send(new ProducerRecord<>(topic, "evictions", invalidationOf(instanceId(), ownAddressId))).get();
+                producer.send(new ProducerRecord<>(topic, "evictions", invalidationOf("other-instance", remoteAddressId))).get();
+                Thread.sleep(100);
+            }
+        }
+
+        assertThat(entityManagerFactory.getCache().contains(Address.class, remoteAddressId)).isFalse();
+        assertThat(entityManagerFactory.getCache().contains(Address.class, ownAddressId)).isTrue();
+    }
+
+    private Long createAddress() {
+        Long id = transactionTemplate.execute(
+            status -> {
+                Address address = new Address().postcode("60015").country("US").latitude(42.17).longitude(-87.84);
+                em.persist(address);
+                return address.getId();
+            }
+        );
+        addressIds.add(id);
+        return id;
+    }
+
+    private String instanceId() {
+        return clusterCacheInvalidator.getInstanceId();
+    }
+
+    private String invalidationOf(String origin, Long addressId) throws Exception {
+        ClusterCacheInvalidator.Invalidation invalidation = new ClusterCacheInvalidator.Invalidation(origin);
+        invalidation.getEntities().add(new ClusterCacheInvalidator.Eviction(Address.class.getName(), addressId));
+        return objectMapper.writeValueAsString(invalidation);
+    }
+
+    private List<ClusterCacheInvalidator.Invalidation> readInvalidations(int count) throws Exception {
+        Map<String, Object> consumerProps = new HashMap<>(getConsumerProps());
+        consumerProps.put("group.id", "reader-" + UUID.randomUUID());
+        consumerProps.put("auto.offset.reset", "earliest");
+        List<ClusterCacheInvalidator.Invalidation> invalidations = new ArrayList<>();
+        try (KafkaConsumer<String, String> reader = new KafkaConsumer<>(consumerProps)) {
+            reader.subscribe(Collections.singletonList(topic));
+            // Read a while after the expected messages, to see any other one
+            for (int i = 0; i < 100 && invalidations.size() <= count; i++) {
+                for (ConsumerRecord<String, String> record : reader.poll(Duration.ofMillis(100))) {
+                    invalidations.add(objectMapper.readValue(record.value(), ClusterCacheInvalidator.Invalidation.class));
+                }
+            }
+        }
+        if (invalidations.size() < count) {
+            fail("Timed out waiting for " + count + " invalidations, read " + invalidations.size());
+        }
+        return invalidations;
+    }
+
+    private Map<String, String> getProducerProps() {
+        Map<String, String> producerProps = new HashMap<>();
+        producerProps.put("key.serializer", "org.apache.kafka.common.serialization.StringSerializer");
+        producerProps.put("value.serializer", "org.apache.kafka.common.serialization.StringSerializer");
+        producerProps.put("bootstrap.servers", kafkaContainer.getBootstrapServers());
+        return producerProps;
+    }
+
+    private Map<String, String> getConsumerProps() {
+        Map<String, String> consumerProps = new HashMap<>();
+        consumerProps.put("key.deserializer", "org.apache.kafka.common.serialization.StringDeserializer");
+        consumerProps.put("value.deserializer", "org.apache.kafka.common.serialization.StringDeserializer");
+        consumerProps.put("bootstrap.servers", kafkaContainer.getBootstrapServers());
+        return consumerProps;
+    }
+}
@@ -0,0 +1,275 @@
+package com.walgreens.rxi.purchasing.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.walgreens.rxi.purchasing.IntegrationTest;
+import com.walgreens.rxi.purchasing.config.ApplicationProperties;
+import com.walgreens.rxi.purchasing.config.KafkaProperties;
+import com.walgreens.rxi.purchasing.domain.LocationOrder;
+import com.walgreens.rxi.purchasing.domain.OrderItem;
+import com.walgreens.rxi.purchasing.domain.enumeration.OrderItemStatus;
+import com.walgreens.rxi.purchasing.domain.enumeration.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import javax.validation.Validator;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.testcontainers.containers.KafkaContainer;
+
+/**
+ * Integration tests for {@link LocationOrderIngestionConsumer}, against a Kafka broker and a mocked {@link LocationOrderService}.
+ */
+@IntegrationTest
+class LocationOrderIngestionConsumerIT {
+
+    private static KafkaContainer kafkaContainer;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    private LocationOrderService locationOrderService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ApplicationProperties applicationProperties;
+
+    private String topic;
+
+    private String group;
+
+    private LocationOrderIngestionConsumer consumer;
+
+    @BeforeAll
+    static void startServer() {
+        if (kafkaContainer == null) {
+            kafkaContainer = new KafkaContainer("5.5.3").withNetwork(null);
+            kafkaContainer.start();
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        topic = "location-orders-" + UUID.randomUUID();
+        group = "ingestion-" + UUID.randomUUID();
+        locationOrderService = mock(LocationOrderService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        applicationProperties = new ApplicationProperties();
+        ApplicationProperties.Ingestion ingestion = applicationProperties.getIngestion();
+        ingestion.setEnabled(true);
+        ingestion.setTopic(topic);
+        ingestion.setDeadLetterTopic(topic + "-dlt");
+        ingestion.setPollTimeoutMs(100);
+        ingestion.setRetryBackoffMs(100);
+        ingestion.setMaxRetries(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (consumer != null) {
+            consumer.stop();
+        }
+    }
+
+    @Test
+    void commitsTheOffsetsOnceTheBatchIsSaved() throws Exception {
+        List<Long> committedAheadOfSaved = new CopyOnWriteArrayList<>();
+        List<UUID> savedCodes = new CopyOnWriteArrayList<>();
+        when(locationOrderService.saveAllIfAbsent(anyList()))
+            .thenAnswer(
+                invocation -> {
+                    List<LocationOrder> locationOrders = invocation.getArgument(0);
+                    committedAheadOfSaved.add(committedOffsets() - savedCodes.size());
+                    locationOrders.forEach(locationOrder -> savedCodes.add(locationOrder.getCode()));
+                    return locationOrders;
+                }
+            );
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        publish(first, second);
+
+        startConsumer(objectMapper);
+
+        await("the offsets to be committed", () -> committedOffsets() == 2);
+        assertThat(savedCodes).containsExactly(first, second);
+        // No offset was committed before the messages it covers were saved
+        assertThat(committedAheadOfSaved).isNotEmpty().allMatch(ahead -> ahead <= 0);
+        assertThat(meterRegistry.get("purchasing.ingestion.batch.size").summary().totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.get("purchasing.ingestion.records").tag("outcome", "created").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.find("kafka.consumer.fetch.manager.records.lag.max").gauge()).isNotNull();
+        assertThat(healthStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void sendsTheMessageWhichKeepsFailingToTheDeadLetterTopic() throws Exception {
+        UUID poison = UUID.randomUUID();
+        UUID valid = UUID.randomUUID();
+        when(locationOrderService.saveAllIfAbsent(anyList()))
+            .thenAnswer(
+                invocation -> {
+                    List<LocationOrder> locationOrders = invocation.getArgument(0);
+                    if (locationOrders.stream().anyMatch(locationOrder -> poison.equals(locationOrder.getCode()))) {
+                        throw new IllegalStateException("Constraint violation");
+                    }
+                    return locationOrders;
+                }
+            );
+        publish(poison, valid);
+
+        startConsumer(objectMapper);
+
+        await("the offsets to be committed", () -> committedOffsets() == 2);
+        List<ConsumerRecord<String, String>> deadLetters = consume(applicationProperties.getIngestion().getDeadLetterTopic(), 1);
+        assertThat(deadLetters).singleElement().satisfies(deadLetter -> assertThat(deadLetter.value()).contains(poison.toString()));
+        assertThat(deadLetters.get(0).headers().lastHeader(LocationOrderIngestionConsumer.ORIGINAL_TOPIC_HEADER).value())
+            .isEqualTo(topic.getBytes(StandardCharsets.UTF_8));
+        assertThat(meterRegistry.get("purchasing.ingestion.records").tag("outcome", "dead-letter").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("purchasing.ingestion.records").tag("outcome", "created").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void restartsTheConsumerAfterAFailure() throws Exception {
+        ObjectMapper failingObjectMapper = spy(objectMapper);
+        doThrow(new IllegalStateException("Unexpected failure"))
+            .doCallRealMethod()
+            .when(failingObjectMapper)
+            .readValue(anyString(), eq(LocationOrder.class));
+        when(locationOrderService.saveAllIfAbsent(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        applicationProperties.getIngestion().setRetryBackoffMs(1000);
+        publish(UUID.randomUUID());
+
+        startConsumer(failingObjectMapper);
+
+        await("the failure to be reported", () -> Status.DOWN.equals(healthStatus()));
+        assertThat(meterRegistry.get("purchasing.ingestion.failures").counter().count()).isEqualTo(1);
+        await("the offsets to be committed", () -> committedOffsets() == 1);
+        assertThat(consumer.isRunning()).isTrue();
+        assertThat(consumer.getFailure()).isNull();
+        assertThat(healthStatus()).isEqualTo(Status.UP);
+    }
+
+    private void startConsumer(ObjectMapper consumerObjectMapper) {
+        KafkaProperties kafkaProperties = new KafkaProperties();
+        Map<String, String> consumerProps = getConsumerProps();
+        kafkaProperties.setConsumer(consumerProps);
+        kafkaProperties.setProducer(getProducerProps());
+        consumer =
+            new LocationOrderIngestionConsumer(
+                locationOrderService,
+                consumerObjectMapper,
+                validator,
+                kafkaProperties,
+                applicationProperties,
+                meterRegistry
+            );
+        consumer.start();
+    }
+
+    private Status healthStatus() {
+        return new LocationOrderIngestionHealthIndicator(consumer, applicationProperties).health().getStatus();
+    }
+
+    private void publish(UUID... codes) throws Exception {
+        try (KafkaProducer<String, String> producer = new KafkaProducer<>(new HashMap<>(getProducerProps()))) {
+            for (UUID code : codes) {
+                producer.send(new ProducerRecord<>(topic, code.toString(), objectMapper.writeValueAsString(newLocationOrder(code)))).get();
+            }
+        }
+    }
+
+    private List<ConsumerRecord<String, String>> consume(String consumedTopic, int count) {
+        Map<String, Object> consumerProps = new HashMap<>(getConsumerProps());
+        consumerProps.put("group.id", "reader-" + UUID.randomUUID());
+        List<ConsumerRecord<String, String>> records = new ArrayList<>();
+        try (KafkaConsumer<String, String> reader = new KafkaConsumer<>(consumerProps)) {
+            reader.subscribe(Collections.singletonList(consumedTopic));
+            for (int i = 0; i < 100 && records.size() < count; i++) {
+                reader.poll(Duration.ofMillis(100)).forEach(records::add);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * The sum of the offsets committed by the ingestion on all the partitions of the topic.
+     */
+    private long committedOffsets() {
+        Map<String, Object> consumerProps = new HashMap<>(getConsumerProps());
+        try (KafkaConsumer<String, String> reader = new KafkaConsumer<>(consumerProps)) {
+            Set<TopicPartition> partitions = reader
+                .partitionsFor(topic)
+                .stream()
+                .map(partition -> new TopicPartition(topic, partition.partition()))
+                .collect(Collectors.toSet());
+            return reader.committed(partitions).values().stream().filter(Objects::nonNull).mapToLong(OffsetAndMetadata::offset).sum();
+        }
+    }
+
+    private static void await(String description, BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            if (condition.getAsBoolean()) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        fail("Timed out waiting for " + description);
+    }
+
+    private static LocationOrder newLocationOrder(UUID code) {
+        return new LocationOrder()
+            .code(code)
+            .placedDate(Instant.ofEpochMilli(0L))
+            .status(OrderStatus.PENDING)
+            .addOrderItem(new OrderItem().quantity(1).totalPrice(new BigDecimal("7.25")).status(OrderItemStatus.AVAILABLE));
+    }
+
+    private Map<String, String> getProducerProps() {
+        Map<String, String> producerProps = new HashMap<>();
+        producerProps.put("key.serializer", "org.apache.kafka.common.serialization.StringSerializer");
+        producerProps.put("value.serializer", "org.apache.kafka.common.serialization.StringSerializer");
+        producerProps.put("bootstrap.servers", kafkaContainer.getBootstrapServers());
+        return producerProps;
+    }
+
+    private Map<String, String> getConsumerProps() {
+        Map<String, String> consumerProps = new HashMap<>();
+        consumerProps.put("key.deserializer", "org.apache.kafka.common.serialization.StringDeserializer");
+        consumerProps.put("value.deserializer", "org.apache.kafka.common.serialization.StringDeserializer");
+        consumerProps.put("bootstrap.servers", kafkaContainer.getBootstrapServers());
+        consumerProps.put("auto.offset.reset", "earliest");
+        consumerProps.put("group.id", group);
+        return consumerProps;
+    }
+}
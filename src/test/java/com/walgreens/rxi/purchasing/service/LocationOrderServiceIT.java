@@ -0,0 +1,73 @@
+package com.walgreens.rxi.purchasing.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.walgreens.rxi.purchasing.IntegrationTest;
+import com.walgreens.rxi.purchasing.domain.LocationOrder;
+import com.walgreens.rxi.purchasing.domain.OrderItem;
+import com.walgreens.rxi.purchasing.domain.enumeration.OrderItemStatus;
+import com.walgreens.rxi.purchasing.domain.enumeration.OrderStatus;
+import com.walgreens.rxi.purchasing.repository.LocationOrderRepository;
+import com.walgreens.rxi.purchasing.repository.LocationOrderSummaryRepository;
+import com.walgreens.rxi.purchasing.repository.OrderItemRepository;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link LocationOrderService}.
+ */
+@IntegrationTest
+@Transactional
+class LocationOrderServiceIT {
+
+    @Autowired
+    private LocationOrderRepository locationOrderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private LocationOrderSummaryRepository locationOrderSummaryRepository;
+
+    @Autowired
+    private LocationOrderService locationOrderService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    @Transactional
+    void saveAllIfAbsentSkipsKnownCodes() {
+        UUID code = UUID.randomUUID();
+        int locationOrdersBefore = locationOrderRepository.findAll().size();
+        int orderItemsBefore = orderItemRepository.findAll().size();
+
+        List<LocationOrder> saved = locationOrderService.saveAllIfAbsent(List.of(newLocationOrder(code), newLocationOrder(code)));
+        assertThat(saved).hasSize(1);
+        assertThat(saved.get(0).getId()).isNotNull();
+
+        // A redelivery creates nothing
+        assertThat(locationOrderService.saveAllIfAbsent(List.of(newLocationOrder(code)))).isEmpty();
+
+        em.flush();
+        em.clear();
+        assertThat(locationOrderRepository.findAll()).hasSize(locationOrdersBefore + 1);
+        assertThat(orderItemRepository.findAll()).hasSize(orderItemsBefore + 1);
+        assertThat(locationOrderSummaryRepository.findById(saved.get(0).getId()))
+            .hasValueSatisfying(summary -> assertThat(summary.getTotalPrice()).isEqualByComparingTo("7.25"));
+    }
+
+    private static LocationOrder newLocationOrder(UUID code) {
+        return new LocationOrder()
+            .code(code)
+            .placedDate(Instant.ofEpochMilli(0L))
+            .status(OrderStatus.PENDING)
+            .addOrderItem(new OrderItem().quantity(1).totalPrice(new BigDecimal("7.25")).status(OrderItemStatus.AVAILABLE));
+    }
+}
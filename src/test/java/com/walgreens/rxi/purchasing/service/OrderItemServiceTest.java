@@ -0,0 +1,88 @@
+package com.walgreens.rxi.purchasing.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.walgreens.rxi.purchasing.domain.LocationOrder;
+import com.walgreens.rxi.purchasing.domain.OrderItem;
+import com.walgreens.rxi.purchasing.domain.enumeration.OrderItemStatus;
+import com.walgreens.rxi.purchasing.repository.LocationOrderRepository;
+import com.walgreens.rxi.purchasing.repository.OrderItemRepository;
+import com.walgreens.rxi.purchasing.service.dto.OrderItemStatusUpdateDTO;
+import com.walgreens.rxi.purchasing.service.dto.OrderItemStatusUpdateResultDTO;
+import com.walgreens.rxi.purchasing.service.dto.OrderItemStatusUpdateResultDTO.Outcome;
+import com.walgreens.rxi.purchasing.service.mapper.OrderItemMapper;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the status updates of {@link OrderItemService}.
+ */
+class OrderItemServiceTest {
+
+    private OrderItemRepository orderItemRepository;
+
+    private LocationOrderSummaryService locationOrderSummaryService;
+
+    private PurchasingEventService purchasingEventService;
+
+    private ClusterCacheInvalidator clusterCacheInvalidator;
+
+    private OrderItemService orderItemService;
+
+    @BeforeEach
+    public void setup() {
+        orderItemRepository = mock(OrderItemRepository.class);
+        locationOrderSummaryService = mock(LocationOrderSummaryService.class);
+        purchasingEventService = mock(PurchasingEventService.class);
+        clusterCacheInvalidator = mock(ClusterCacheInvalidator.class);
+        orderItemService =
+            new OrderItemService(
+                orderItemRepository,
+                mock(LocationOrderRepository.class),
+                mock(OrderItemMapper.class),
+                locationOrderSummaryService,
+                purchasingEventService,
+                clusterCacheInvalidator
+            );
+    }
+
+    @Test
+    void shouldReportAnOrderItemDeletedBeforeItsUpdateAsNotFound() {
+        LocationOrder locationOrder = new LocationOrder().id(10L).code(UUID.randomUUID());
+        // The orderItem 2 was deleted by another transaction before its row could be locked
+        when(orderItemRepository.updateStatus(List.of(1L, 2L), OrderItemStatus.OUT_OF_STOCK)).thenReturn(List.of(1L));
+        when(orderItemRepository.findAllWithLocationOrderByIdIn(List.of(1L)))
+            .thenReturn(List.of(new OrderItem().id(1L).locationOrder(locationOrder)));
+
+        List<OrderItemStatusUpdateResultDTO> results = orderItemService.updateStatuses(
+            List.of(
+                new OrderItemStatusUpdateDTO(1L, OrderItemStatus.OUT_OF_STOCK),
+                new OrderItemStatusUpdateDTO(2L, OrderItemStatus.OUT_OF_STOCK)
+            )
+        );
+
+        assertThat(results).extracting(OrderItemStatusUpdateResultDTO::getOutcome).containsExactly(Outcome.UPDATED, Outcome.NOT_FOUND);
+        verify(clusterCacheInvalidator).entitiesEvicted(OrderItem.class, List.of(1L));
+        verify(purchasingEventService).orderItemStatusesChanged(locationOrder, OrderItemStatus.OUT_OF_STOCK, List.of(1L));
+        verifyNoMoreInteractions(purchasingEventService);
+        verify(locationOrderSummaryService).refresh(Set.of(10L));
+    }
+
+    @Test
+    void shouldNotRecordAnythingWhenNoOrderItemWasUpdated() {
+        when(orderItemRepository.updateStatus(List.of(1L), OrderItemStatus.BACK_ORDER)).thenReturn(List.of());
+
+        List<OrderItemStatusUpdateResultDTO> results = orderItemService.updateStatuses(
+            List.of(new OrderItemStatusUpdateDTO(1L, OrderItemStatus.BACK_ORDER))
+        );
+
+        assertThat(results).extracting(OrderItemStatusUpdateResultDTO::getOutcome).containsExactly(Outcome.NOT_FOUND);
+        verify(orderItemRepository, never()).findAllWithLocationOrderByIdIn(any());
+        verifyNoInteractions(purchasingEventService);
+    }
+}
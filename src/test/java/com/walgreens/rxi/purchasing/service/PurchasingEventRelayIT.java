@@ -0,0 +1,132 @@
+package com.walgreens.rxi.purchasing.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.walgreens.rxi.purchasing.IntegrationTest;
+import com.walgreens.rxi.purchasing.config.ApplicationProperties;
+import com.walgreens.rxi.purchasing.domain.LocationOrder;
+import com.walgreens.rxi.purchasing.domain.OutboxEvent;
+import com.walgreens.rxi.purchasing.domain.enumeration.OrderStatus;
+import com.walgreens.rxi.purchasing.domain.enumeration.PurchasingEventType;
+import com.walgreens.rxi.purchasing.repository.OutboxEventRepository;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link PurchasingEventRelay}.
+ */
+@IntegrationTest
+@Transactional
+class PurchasingEventRelayIT {
+
+    private static final String TOPIC = "purchasing-events-test";
+
+    @Autowired
+    private PurchasingEventService purchasingEventService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager em;
+
+    private Producer<String, String> producer;
+
+    private PurchasingEventRelay relay;
+
+    private LocationOrder locationOrder;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void init() {
+        ApplicationProperties.Outbox outbox = new ApplicationProperties.Outbox();
+        outbox.setTopic(TOPIC);
+        outbox.setSendTimeoutMs(200);
+        producer = mock(Producer.class);
+        relay = new PurchasingEventRelay(outboxEventRepository, transactionManager, outbox, producer);
+
+        locationOrder = new LocationOrder().code(UUID.randomUUID()).placedDate(Instant.now()).status(OrderStatus.PENDING);
+        em.persist(locationOrder);
+        purchasingEventService.locationOrderUpdated(locationOrder);
+        purchasingEventService.locationOrderDeleted(locationOrder);
+        em.flush();
+    }
+
+    @Test
+    @Transactional
+    @SuppressWarnings("unchecked")
+    void relaySendsTheEventsKeyedByOrderCodeAndDeletesThem() {
+        when(producer.send(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        ArgumentCaptor<ProducerRecord<String, String>> records = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(producer, atLeast(2)).send(records.capture());
+        List<ProducerRecord<String, String>> orderRecords = records
+            .getAllValues()
+            .stream()
+            .filter(record -> locationOrder.getCode().toString().equals(record.key()))
+            .collect(Collectors.toList());
+        assertThat(orderRecords).extracting(ProducerRecord::topic).containsOnly(TOPIC);
+        assertThat(orderRecords)
+            .extracting(record -> record.headers().lastHeader(PurchasingEventRelay.EVENT_TYPE_HEADER).value())
+            .extracting(eventType -> new String(eventType, StandardCharsets.UTF_8))
+            .containsExactly(PurchasingEventType.LOCATION_ORDER_UPDATED.name(), PurchasingEventType.LOCATION_ORDER_DELETED.name());
+
+        em.clear();
+        assertThat(eventsOfLocationOrder()).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    void relayKeepsTheEventsWhenKafkaFails() {
+        CompletableFuture<RecordMetadata> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("Broker unavailable"));
+        when(producer.send(any())).thenReturn(failed);
+
+        relay.relay();
+
+        em.clear();
+        assertThat(eventsOfLocationOrder()).hasSize(2);
+    }
+
+    @Test
+    @Transactional
+    void relayKeepsTheEventsWhenKafkaDoesNotAcknowledgeInTime() {
+        when(producer.send(any())).thenReturn(new CompletableFuture<>());
+
+        long start = System.nanoTime();
+        relay.relay();
+
+        assertThat(System.nanoTime() - start).isLessThan(5_000_000_000L);
+        em.clear();
+        assertThat(eventsOfLocationOrder()).hasSize(2);
+    }
+
+    private List<OutboxEvent> eventsOfLocationOrder() {
+        return outboxEventRepository
+            .findAll()
+            .stream()
+            .filter(event -> locationOrder.getCode().toString().equals(event.getEventKey()))
+            .collect(Collectors.toList());
+    }
+}
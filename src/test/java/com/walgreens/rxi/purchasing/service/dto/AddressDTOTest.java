@@ -0,0 +1,24 @@
+package com.walgreens.rxi.purchasing.service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.walgreens.rxi.purchasing.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class AddressDTOTest {
+
+    @Test
+    void dtoEqualsVerifier() throws Exception {
+        TestUtil.equalsVerifier(AddressDTO.class);
+        AddressDTO addressDTO1 = new AddressDTO();
+        addressDTO1.setId(1L);
+        AddressDTO addressDTO2 = new AddressDTO();
+        assertThat(addressDTO1).isNotEqualTo(addressDTO2);
+        addressDTO2.setId(addressDTO1.getId());
+        assertThat(addressDTO1).isEqualTo(addressDTO2);
+        addressDTO2.setId(2L);
+        assertThat(addressDTO1).isNotEqualTo(addressDTO2);
+        addressDTO1.setId(null);
+        assertThat(addressDTO1).isNotEqualTo(addressDTO2);
+    }
+}
@@ -0,0 +1,24 @@
+package com.walgreens.rxi.purchasing.service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.walgreens.rxi.purchasing.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class LocationOrderDTOTest {
+
+    @Test
+    void dtoEqualsVerifier() throws Exception {
+        TestUtil.equalsVerifier(LocationOrderDTO.class);
+        LocationOrderDTO locationOrderDTO1 = new LocationOrderDTO();
+        locationOrderDTO1.setId(1L);
+        LocationOrderDTO locationOrderDTO2 = new LocationOrderDTO();
+        assertThat(locationOrderDTO1).isNotEqualTo(locationOrderDTO2);
+        locationOrderDTO2.setId(locationOrderDTO1.getId());
+        assertThat(locationOrderDTO1).isEqualTo(locationOrderDTO2);
+        locationOrderDTO2.setId(2L);
+        assertThat(locationOrderDTO1).isNotEqualTo(locationOrderDTO2);
+        locationOrderDTO1.setId(null);
+        assertThat(locationOrderDTO1).isNotEqualTo(locationOrderDTO2);
+    }
+}
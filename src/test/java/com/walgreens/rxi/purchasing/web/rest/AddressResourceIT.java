@@ -2,6 +2,7 @@ package com.walgreens.rxi.purchasing.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -275,6 +276,45 @@ class AddressResourceIT {
             .andExpect(jsonPath("$.[*].longitude").value(hasItem(DEFAULT_LONGITUDE.doubleValue())));
     }
 
+    @Test
+    @Transactional
+    void getAllAddressesWhereLocationIsNull() throws Exception {
+        // Initialize the database with one free address and one address used by a location
+        addressRepository.saveAndFlush(address);
+        Address usedAddress = createEntity(em);
+        em.persist(usedAddress);
+        em.persist(LocationResourceIT.createEntity(em).address(usedAddress));
+        em.flush();
+
+        restAddressMockMvc
+            .perform(get(ENTITY_API_URL + "?filter=location-is-null&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(address.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(usedAddress.getId().intValue()))));
+    }
+
+    @Test
+    @Transactional
+    void getAllAddressesWhereLocationIsNullUsesConstantStatementCount() throws Exception {
+        String pageUrl = ENTITY_API_URL + "?filter=location-is-null&size=100";
+        TestUtil.withStatistics(
+            em,
+            statistics -> {
+                addressRepository.saveAndFlush(address);
+                long statementsForOneAddress = TestUtil.countGetStatements(em, statistics, restAddressMockMvc, pageUrl);
+
+                for (int i = 0; i < 5; i++) {
+                    addressRepository.saveAndFlush(createEntity(em));
+                }
+                long statementsForSixAddresses = TestUtil.countGetStatements(em, statistics, restAddressMockMvc, pageUrl);
+
+                assertThat(statementsForSixAddresses).isEqualTo(statementsForOneAddress);
+            }
+        );
+    }
+
     @Test
     @Transactional
     void getAddress() throws Exception {
@@ -355,7 +395,7 @@ class AddressResourceIT {
         int databaseSizeBeforeUpdate = addressRepository.findAll().size();
         address.setId(count.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // If the entity doesn't exist, it will return 404 (Not Found)
         restAddressMockMvc
             .perform(
                 put(ENTITY_API_URL_ID, address.getId())
@@ -363,7 +403,7 @@ class AddressResourceIT {
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(TestUtil.convertObjectToJsonBytes(address))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Address in the database
         List<Address> addressList = addressRepository.findAll();
@@ -503,7 +543,7 @@ class AddressResourceIT {
         int databaseSizeBeforeUpdate = addressRepository.findAll().size();
         address.setId(count.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // If the entity doesn't exist, it will return 404 (Not Found)
         restAddressMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, address.getId())
@@ -511,7 +551,7 @@ class AddressResourceIT {
                     .contentType("application/merge-patch+json")
                     .content(TestUtil.convertObjectToJsonBytes(address))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Address in the database
         List<Address> addressList = addressRepository.findAll();
@@ -1,15 +1,26 @@
 package com.walgreens.rxi.purchasing.web.rest;
 
+import static com.walgreens.rxi.purchasing.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.walgreens.rxi.purchasing.IntegrationTest;
+import com.walgreens.rxi.purchasing.domain.Location;
 import com.walgreens.rxi.purchasing.domain.LocationOrder;
+import com.walgreens.rxi.purchasing.domain.OrderItem;
 import com.walgreens.rxi.purchasing.domain.enumeration.OrderStatus;
+import com.walgreens.rxi.purchasing.domain.enumeration.PurchasingEventType;
 import com.walgreens.rxi.purchasing.repository.LocationOrderRepository;
+import com.walgreens.rxi.purchasing.repository.OrderItemRepository;
+import com.walgreens.rxi.purchasing.repository.OutboxEventRepository;
+import com.walgreens.rxi.purchasing.web.rest.vm.LocationOrderBulkVM;
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
@@ -21,6 +32,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -55,6 +67,12 @@ class LocationOrderResourceIT {
     @Autowired
     private LocationOrderRepository locationOrderRepository;
 
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -122,6 +140,31 @@ class LocationOrderResourceIT {
         assertThat(testLocationOrder.getInvoiceId()).isEqualTo(DEFAULT_INVOICE_ID);
     }
 
+    @Test
+    @Transactional
+    void createLocationOrderRecordsOutboxEvent() throws Exception {
+        // Create the LocationOrder
+        restLocationOrderMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(locationOrder))
+            )
+            .andExpect(status().isCreated());
+
+        // Validate the event written in the same transaction, keyed by the code of the LocationOrder
+        assertThat(outboxEventRepository.findAll())
+            .filteredOn(event -> DEFAULT_CODE.toString().equals(event.getEventKey()))
+            .singleElement()
+            .satisfies(
+                event -> {
+                    assertThat(event.getEventType()).isEqualTo(PurchasingEventType.LOCATION_ORDER_CREATED);
+                    assertThat(event.getPayload()).contains(DEFAULT_CODE.toString());
+                }
+            );
+    }
+
     @Test
     @Transactional
     void createLocationOrderWithExistingId() throws Exception {
@@ -147,13 +190,64 @@ class LocationOrderResourceIT {
 
     @Test
     @Transactional
-    void checkCodeIsRequired() throws Exception {
+    void createLocationOrderWithItemsInBulk() throws Exception {
+        int databaseSizeBeforeCreate = locationOrderRepository.findAll().size();
+        int orderItemsSizeBeforeCreate = orderItemRepository.findAll().size();
+
+        LocationOrderBulkVM bulk = new LocationOrderBulkVM();
+        bulk.setLocationOrder(locationOrder);
+        bulk.setOrderItems(
+            List.of(OrderItemResourceIT.createEntity(em), OrderItemResourceIT.createEntity(em), OrderItemResourceIT.createEntity(em))
+        );
+
+        restLocationOrderMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(bulk))
+            )
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.code").value(DEFAULT_CODE.toString()))
+            .andExpect(jsonPath("$.orderItemIds.length()").value(3));
+
+        // Validate the LocationOrder and its OrderItems in the database
+        assertThat(locationOrderRepository.findAll()).hasSize(databaseSizeBeforeCreate + 1);
+        LocationOrder testLocationOrder = locationOrderRepository.findByCode(DEFAULT_CODE).orElseThrow();
+        List<OrderItem> orderItemList = orderItemRepository.findAll();
+        assertThat(orderItemList).hasSize(orderItemsSizeBeforeCreate + 3);
+        assertThat(orderItemList).filteredOn(orderItem -> testLocationOrder.equals(orderItem.getLocationOrder())).hasSize(3);
+    }
+
+    @Test
+    @Transactional
+    void createLocationOrderInBulkWithExistingItemId() throws Exception {
+        int databaseSizeBeforeCreate = locationOrderRepository.findAll().size();
+
+        LocationOrderBulkVM bulk = new LocationOrderBulkVM();
+        bulk.setLocationOrder(locationOrder);
+        bulk.setOrderItems(List.of(OrderItemResourceIT.createEntity(em).id(1L)));
+
+        // An item with an existing ID cannot be created, so the whole submission must fail
+        restLocationOrderMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/bulk")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(bulk))
+            )
+            .andExpect(status().isBadRequest());
+
+        assertThat(locationOrderRepository.findAll()).hasSize(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    void createLocationOrderWithoutCodeAssignsATimeOrderedCode() throws Exception {
         int databaseSizeBeforeTest = locationOrderRepository.findAll().size();
         // set the field null
         locationOrder.setCode(null);
 
-        // Create the LocationOrder, which fails.
-
         restLocationOrderMockMvc
             .perform(
                 post(ENTITY_API_URL)
@@ -161,10 +255,13 @@ class LocationOrderResourceIT {
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(TestUtil.convertObjectToJsonBytes(locationOrder))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isCreated());
 
         List<LocationOrder> locationOrderList = locationOrderRepository.findAll();
-        assertThat(locationOrderList).hasSize(databaseSizeBeforeTest);
+        assertThat(locationOrderList).hasSize(databaseSizeBeforeTest + 1);
+        LocationOrder testLocationOrder = locationOrderList.get(locationOrderList.size() - 1);
+        assertThat(testLocationOrder.getCode()).isNotNull();
+        assertThat(testLocationOrder.getCode().version()).isEqualTo(7);
     }
 
     @Test
@@ -229,6 +326,109 @@ class LocationOrderResourceIT {
             .andExpect(jsonPath("$.[*].invoiceId").value(hasItem(DEFAULT_INVOICE_ID.intValue())));
     }
 
+    @Test
+    @Transactional
+    void getAllLocationOrdersByKeyset() throws Exception {
+        // Initialize the database with three orders, the newest placed last
+        LocationOrder oldest = locationOrderRepository.saveAndFlush(
+            createEntity(em).code(UUID.randomUUID()).placedDate(Instant.parse("2031-01-01T00:00:00Z"))
+        );
+        LocationOrder middle = locationOrderRepository.saveAndFlush(
+            createEntity(em).code(UUID.randomUUID()).placedDate(Instant.parse("2031-01-02T00:00:00Z"))
+        );
+        LocationOrder newest = locationOrderRepository.saveAndFlush(
+            createEntity(em).code(UUID.randomUUID()).placedDate(Instant.parse("2031-01-03T00:00:00Z"))
+        );
+
+        // The first page holds the two newest orders and points to the next one
+        String nextCursor = restLocationOrderMockMvc
+            .perform(get(ENTITY_API_URL + "?size=2"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Next-Cursor"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andExpect(jsonPath("$.[0].id").value(newest.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(middle.getId().intValue()))
+            .andReturn()
+            .getResponse()
+            .getHeader("X-Next-Cursor");
+
+        // The next page resumes strictly after the cursor
+        restLocationOrderMockMvc
+            .perform(get(ENTITY_API_URL + "?size=2&cursor=" + nextCursor))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(oldest.getId().intValue()))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(middle.getId().intValue()))));
+    }
+
+    @Test
+    @Transactional
+    void getAllLocationOrdersWithInvalidCursor() throws Exception {
+        restLocationOrderMockMvc.perform(get(ENTITY_API_URL + "?cursor=not-a-cursor")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllLocationOrdersExpanded() throws Exception {
+        // Initialize the database with an order of a location, holding one item
+        Location location = LocationResourceIT.createEntity(em).locationNumber(UUID.randomUUID());
+        em.persist(location);
+        locationOrderRepository.saveAndFlush(locationOrder.location(location));
+        OrderItem orderItem = orderItemRepository.saveAndFlush(OrderItemResourceIT.createEntity(em).locationOrder(locationOrder));
+        em.clear();
+        String byId = "$.[?(@.id == " + locationOrder.getId() + ")]";
+
+        // Without expansion, the location is reduced to its number and the items are left out
+        restLocationOrderMockMvc
+            .perform(get(ENTITY_API_URL + "?size=100"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath(byId + ".location.locationNumber").value(hasItem(location.getLocationNumber().toString())))
+            .andExpect(jsonPath(byId + ".orderItems").doesNotExist());
+
+        restLocationOrderMockMvc
+            .perform(get(ENTITY_API_URL + "?size=100&expand=items,location"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath(byId + ".location.locationName").value(hasItem(location.getLocationName())))
+            .andExpect(jsonPath(byId + ".orderItems[*].id").value(hasItem(orderItem.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllLocationOrdersWithInvalidExpand() throws Exception {
+        restLocationOrderMockMvc.perform(get(ENTITY_API_URL + "?expand=everything")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllLocationOrdersUsesConstantStatementCount() throws Exception {
+        String flatUrl = ENTITY_API_URL + "?size=100";
+        String expandedUrl = ENTITY_API_URL + "?size=100&expand=items,location";
+        TestUtil.withStatistics(
+            em,
+            statistics -> {
+                createLocationOrderWithItems();
+                long flatStatementsForOneOrder = TestUtil.countGetStatements(em, statistics, restLocationOrderMockMvc, flatUrl);
+                long expandedStatementsForOneOrder = TestUtil.countGetStatements(em, statistics, restLocationOrderMockMvc, expandedUrl);
+
+                for (int i = 0; i < 5; i++) {
+                    createLocationOrderWithItems();
+                }
+                long flatStatementsForSixOrders = TestUtil.countGetStatements(em, statistics, restLocationOrderMockMvc, flatUrl);
+                long expandedStatementsForSixOrders = TestUtil.countGetStatements(em, statistics, restLocationOrderMockMvc, expandedUrl);
+
+                assertThat(flatStatementsForSixOrders).isEqualTo(flatStatementsForOneOrder);
+                assertThat(expandedStatementsForSixOrders).isEqualTo(expandedStatementsForOneOrder);
+            }
+        );
+    }
+
+    private void createLocationOrderWithItems() {
+        Location location = LocationResourceIT.createEntity(em).locationNumber(UUID.randomUUID());
+        em.persist(location);
+        LocationOrder order = locationOrderRepository.saveAndFlush(createEntity(em).code(UUID.randomUUID()).location(location));
+        orderItemRepository.saveAndFlush(OrderItemResourceIT.createEntity(em).locationOrder(order));
+        orderItemRepository.saveAndFlush(OrderItemResourceIT.createEntity(em).locationOrder(order));
+    }
+
     @Test
     @Transactional
     void getLocationOrder() throws Exception {
@@ -244,7 +444,83 @@ class LocationOrderResourceIT {
             .andExpect(jsonPath("$.code").value(DEFAULT_CODE.toString()))
             .andExpect(jsonPath("$.placedDate").value(DEFAULT_PLACED_DATE.toString()))
             .andExpect(jsonPath("$.status").value(DEFAULT_STATUS.toString()))
-            .andExpect(jsonPath("$.invoiceId").value(DEFAULT_INVOICE_ID.intValue()));
+            .andExpect(jsonPath("$.invoiceId").value(DEFAULT_INVOICE_ID.intValue()))
+            .andExpect(jsonPath("$.orderItems").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getLocationOrderByCode() throws Exception {
+        // Initialize the database
+        locationOrderRepository.saveAndFlush(locationOrder);
+
+        // Get the locationOrder by its business code
+        restLocationOrderMockMvc
+            .perform(get(ENTITY_API_URL + "/code/{code}", DEFAULT_CODE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(locationOrder.getId().intValue()))
+            .andExpect(jsonPath("$.code").value(DEFAULT_CODE.toString()));
+
+        // An unknown code is not found
+        restLocationOrderMockMvc.perform(get(ENTITY_API_URL + "/code/{code}", UPDATED_CODE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void getLocationOrderSpend() throws Exception {
+        // Two orders on the Monday and the Wednesday of the same week, one with two items
+        Instant monday = Instant.parse("2021-03-01T12:00:00Z");
+        Instant wednesday = Instant.parse("2021-03-03T12:00:00Z");
+        LocationOrder first = locationOrderRepository.saveAndFlush(
+            new LocationOrder().code(UUID.randomUUID()).placedDate(monday).status(OrderStatus.COMPLETED)
+        );
+        LocationOrder second = locationOrderRepository.saveAndFlush(
+            new LocationOrder().code(UUID.randomUUID()).placedDate(wednesday).status(OrderStatus.PENDING)
+        );
+        orderItemRepository.saveAndFlush(new OrderItem().quantity(1).totalPrice(new BigDecimal("10")).locationOrder(first));
+        orderItemRepository.saveAndFlush(new OrderItem().quantity(2).totalPrice(new BigDecimal("5")).locationOrder(first));
+        String from = "2021-03-01T00:00:00Z";
+        String to = "2021-03-08T00:00:00Z";
+
+        restLocationOrderMockMvc
+            .perform(get(ENTITY_API_URL + "/spend/by-status").param("from", from).param("to", to))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].status").value(OrderStatus.COMPLETED.toString()))
+            .andExpect(jsonPath("$.[0].orderCount").value(1))
+            .andExpect(jsonPath("$.[0].itemCount").value(2))
+            .andExpect(jsonPath("$.[0].totalPrice").value(sameNumber(new BigDecimal("15"))))
+            .andExpect(jsonPath("$.[1].status").value(OrderStatus.PENDING.toString()))
+            .andExpect(jsonPath("$.[1].itemCount").value(0))
+            .andExpect(jsonPath("$.[1].totalPrice").value(sameNumber(BigDecimal.ZERO)));
+
+        restLocationOrderMockMvc
+            .perform(get(ENTITY_API_URL + "/spend/by-period").param("from", from).param("to", to))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].periodStart").value(contains("2021-03-01", "2021-03-03")));
+
+        restLocationOrderMockMvc
+            .perform(get(ENTITY_API_URL + "/spend/by-period").param("from", from).param("to", to).param("period", "WEEK"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].periodStart").value("2021-03-01"))
+            .andExpect(jsonPath("$.[0].orderCount").value(2))
+            .andExpect(jsonPath("$.[0].itemCount").value(2));
+
+        // A week starting before the range is labelled with the first day of the range
+        restLocationOrderMockMvc
+            .perform(
+                get(ENTITY_API_URL + "/spend/by-period").param("from", "2021-03-02T00:00:00Z").param("to", to).param("period", "WEEK")
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].periodStart").value("2021-03-02"))
+            .andExpect(jsonPath("$.[0].orderCount").value(1));
+
+        // An empty range is rejected
+        restLocationOrderMockMvc
+            .perform(get(ENTITY_API_URL + "/spend/by-location").param("from", to).param("to", from))
+            .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -293,7 +569,7 @@ class LocationOrderResourceIT {
         int databaseSizeBeforeUpdate = locationOrderRepository.findAll().size();
         locationOrder.setId(count.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // If the entity doesn't exist, it will return 404 (Not Found)
         restLocationOrderMockMvc
             .perform(
                 put(ENTITY_API_URL_ID, locationOrder.getId())
@@ -301,7 +577,7 @@ class LocationOrderResourceIT {
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(TestUtil.convertObjectToJsonBytes(locationOrder))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the LocationOrder in the database
         List<LocationOrder> locationOrderList = locationOrderRepository.findAll();
@@ -422,7 +698,7 @@ class LocationOrderResourceIT {
         int databaseSizeBeforeUpdate = locationOrderRepository.findAll().size();
         locationOrder.setId(count.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // If the entity doesn't exist, it will return 404 (Not Found)
         restLocationOrderMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, locationOrder.getId())
@@ -430,7 +706,7 @@ class LocationOrderResourceIT {
                     .contentType("application/merge-patch+json")
                     .content(TestUtil.convertObjectToJsonBytes(locationOrder))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the LocationOrder in the database
         List<LocationOrder> locationOrderList = locationOrderRepository.findAll();
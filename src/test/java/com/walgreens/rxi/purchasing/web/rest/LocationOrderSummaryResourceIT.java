@@ -0,0 +1,176 @@
+package com.walgreens.rxi.purchasing.web.rest;
+
+import static com.walgreens.rxi.purchasing.web.rest.TestUtil.sameNumber;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.walgreens.rxi.purchasing.IntegrationTest;
+import com.walgreens.rxi.purchasing.domain.LocationOrder;
+import com.walgreens.rxi.purchasing.domain.OrderItem;
+import com.walgreens.rxi.purchasing.domain.enumeration.OrderItemStatus;
+import com.walgreens.rxi.purchasing.repository.LocationOrderRepository;
+import com.walgreens.rxi.purchasing.repository.LocationOrderSummaryRepository;
+import com.walgreens.rxi.purchasing.repository.OrderItemRepository;
+import com.walgreens.rxi.purchasing.service.LocationOrderSummaryService;
+import java.math.BigDecimal;
+import java.util.UUID;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link LocationOrderSummaryResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class LocationOrderSummaryResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/location-order-summaries";
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{locationOrderId}";
+
+    @Autowired
+    private LocationOrderRepository locationOrderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private LocationOrderSummaryRepository locationOrderSummaryRepository;
+
+    @Autowired
+    private LocationOrderSummaryService locationOrderSummaryService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restLocationOrderSummaryMockMvc;
+
+    private LocationOrder locationOrder;
+
+    @BeforeEach
+    public void initTest() {
+        locationOrder = LocationOrderResourceIT.createEntity(em).code(UUID.randomUUID());
+    }
+
+    @Test
+    @Transactional
+    void maintainSummaryOnOrderItemWrites() throws Exception {
+        // Initialize the database, bypassing the services so the locationOrder has no summary yet
+        locationOrderRepository.saveAndFlush(locationOrder);
+        OrderItem orderItem = orderItemRepository.saveAndFlush(OrderItemResourceIT.createEntity(em).locationOrder(locationOrder));
+        Long orderItemId = orderItem.getId();
+
+        // Update the OrderItem
+        orderItem.setTotalPrice(new BigDecimal("12.50"));
+        restLocationOrderSummaryMockMvc
+            .perform(
+                put("/api/order-items/{id}", orderItemId)
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(orderItem))
+            )
+            .andExpect(status().isOk());
+
+        em.clear();
+        restLocationOrderSummaryMockMvc
+            .perform(get(ENTITY_API_URL_ID, locationOrder.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.itemCount").value(1))
+            .andExpect(jsonPath("$.totalPrice").value(sameNumber(new BigDecimal("12.50"))))
+            .andExpect(jsonPath("$.availableCount").value(1))
+            .andExpect(jsonPath("$.outOfStockCount").value(0));
+
+        // Change the status of the OrderItem
+        OrderItem partialUpdatedOrderItem = new OrderItem().id(orderItemId).status(OrderItemStatus.OUT_OF_STOCK);
+        restLocationOrderSummaryMockMvc
+            .perform(
+                patch("/api/order-items/{id}", orderItemId)
+                    .with(csrf())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedOrderItem))
+            )
+            .andExpect(status().isOk());
+
+        em.clear();
+        restLocationOrderSummaryMockMvc
+            .perform(get(ENTITY_API_URL_ID, locationOrder.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.itemCount").value(1))
+            .andExpect(jsonPath("$.availableCount").value(0))
+            .andExpect(jsonPath("$.outOfStockCount").value(1));
+
+        // Delete the OrderItem
+        restLocationOrderSummaryMockMvc
+            .perform(delete("/api/order-items/{id}", orderItemId).with(csrf()).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isNoContent());
+
+        em.clear();
+        restLocationOrderSummaryMockMvc
+            .perform(get(ENTITY_API_URL_ID, locationOrder.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.itemCount").value(0))
+            .andExpect(jsonPath("$.totalPrice").value(sameNumber(BigDecimal.ZERO)))
+            .andExpect(jsonPath("$.outOfStockCount").value(0));
+    }
+
+    @Test
+    @Transactional
+    void checkConsistencyRepairsSummaries() throws Exception {
+        // Initialize the database, bypassing the services so the summary is missing
+        locationOrderRepository.saveAndFlush(locationOrder);
+        orderItemRepository.saveAndFlush(OrderItemResourceIT.createEntity(em).totalPrice(new BigDecimal("3")).locationOrder(locationOrder));
+        restLocationOrderSummaryMockMvc.perform(get(ENTITY_API_URL_ID, locationOrder.getId())).andExpect(status().isNotFound());
+
+        assertThat(locationOrderSummaryService.checkConsistency()).isPositive();
+
+        em.clear();
+        assertThat(locationOrderSummaryRepository.findById(locationOrder.getId()))
+            .hasValueSatisfying(
+                summary -> {
+                    assertThat(summary.getItemCount()).isEqualTo(1L);
+                    assertThat(summary.getTotalPrice()).isEqualByComparingTo("3");
+                    assertThat(summary.getAvailableCount()).isEqualTo(1L);
+                }
+            );
+
+        // Consistent summaries are left alone
+        assertThat(locationOrderSummaryService.checkConsistency()).isZero();
+    }
+
+    @Test
+    @Transactional
+    void rebuildAllSummaries() throws Exception {
+        // Initialize the database, bypassing the services so the summary is missing
+        locationOrderRepository.saveAndFlush(locationOrder);
+
+        assertThat(locationOrderSummaryService.rebuildAll()).isPositive();
+
+        em.clear();
+        restLocationOrderSummaryMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=locationOrderId,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Total-Count"));
+        restLocationOrderSummaryMockMvc
+            .perform(get(ENTITY_API_URL_ID, locationOrder.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.itemCount").value(0));
+    }
+
+    @Test
+    @Transactional
+    void rebuildRequiresAdmin() throws Exception {
+        restLocationOrderSummaryMockMvc
+            .perform(post("/api/admin/location-order-summaries/rebuild").with(csrf()))
+            .andExpect(status().isForbidden());
+    }
+}
@@ -177,13 +177,11 @@ class LocationResourceIT {
 
     @Test
     @Transactional
-    void checkLocationNumberIsRequired() throws Exception {
+    void createLocationWithoutLocationNumberAssignsATimeOrderedNumber() throws Exception {
         int databaseSizeBeforeTest = locationRepository.findAll().size();
         // set the field null
         location.setLocationNumber(null);
 
-        // Create the Location, which fails.
-
         restLocationMockMvc
             .perform(
                 post(ENTITY_API_URL)
@@ -191,10 +189,13 @@ class LocationResourceIT {
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(TestUtil.convertObjectToJsonBytes(location))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isCreated());
 
         List<Location> locationList = locationRepository.findAll();
-        assertThat(locationList).hasSize(databaseSizeBeforeTest);
+        assertThat(locationList).hasSize(databaseSizeBeforeTest + 1);
+        Location testLocation = locationList.get(locationList.size() - 1);
+        assertThat(testLocation.getLocationNumber()).isNotNull();
+        assertThat(testLocation.getLocationNumber().version()).isEqualTo(7);
     }
 
     @Test
@@ -328,7 +329,8 @@ class LocationResourceIT {
             .andExpect(jsonPath("$.county").value(DEFAULT_COUNTY))
             .andExpect(jsonPath("$.phoneNumber").value(sameNumber(DEFAULT_PHONE_NUMBER)))
             .andExpect(jsonPath("$.pharmacyHours").value(DEFAULT_PHARMACY_HOURS))
-            .andExpect(jsonPath("$.type").value(DEFAULT_TYPE.toString()));
+            .andExpect(jsonPath("$.type").value(DEFAULT_TYPE.toString()))
+            .andExpect(jsonPath("$.orders").doesNotExist());
     }
 
     @Test
@@ -338,6 +340,58 @@ class LocationResourceIT {
         restLocationMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    void getLocationByNumber() throws Exception {
+        // Initialize the database
+        locationRepository.saveAndFlush(location);
+
+        // Get the location, twice to read it through the cache
+        for (int i = 0; i < 2; i++) {
+            restLocationMockMvc
+                .perform(get(ENTITY_API_URL + "/by-number/{locationNumber}", DEFAULT_LOCATION_NUMBER))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$.id").value(location.getId().intValue()))
+                .andExpect(jsonPath("$.locationNumber").value(DEFAULT_LOCATION_NUMBER.toString()));
+        }
+
+        // Change the locationNumber
+        Location partialUpdatedLocation = new Location().id(location.getId()).locationNumber(UPDATED_LOCATION_NUMBER);
+        restLocationMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, location.getId())
+                    .with(csrf())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedLocation))
+            )
+            .andExpect(status().isOk());
+
+        restLocationMockMvc
+            .perform(get(ENTITY_API_URL + "/by-number/{locationNumber}", DEFAULT_LOCATION_NUMBER))
+            .andExpect(status().isNotFound());
+        restLocationMockMvc
+            .perform(get(ENTITY_API_URL + "/by-number/{locationNumber}", UPDATED_LOCATION_NUMBER))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(location.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingLocationByNumberWithOneStatement() throws Exception {
+        TestUtil.withStatistics(
+            em,
+            statistics -> {
+                statistics.clear();
+                restLocationMockMvc
+                    .perform(get(ENTITY_API_URL + "/by-number/{locationNumber}", UUID.randomUUID()))
+                    .andExpect(status().isNotFound());
+
+                assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            }
+        );
+    }
+
     @Test
     @Transactional
     void putNewLocation() throws Exception {
@@ -385,13 +439,50 @@ class LocationResourceIT {
         assertThat(testLocation.getType()).isEqualTo(UPDATED_TYPE);
     }
 
+    @Test
+    @Transactional
+    void putStaleLocation() throws Exception {
+        // Initialize the database
+        locationRepository.saveAndFlush(location);
+
+        // Update the location twice from the same version
+        Location updatedLocation = locationRepository.findById(location.getId()).get();
+        em.detach(updatedLocation);
+        updatedLocation.locationName(UPDATED_LOCATION_NAME);
+
+        restLocationMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedLocation.getId())
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedLocation))
+            )
+            .andExpect(status().isOk());
+        em.flush();
+
+        updatedLocation.locationName(DEFAULT_LOCATION_NAME);
+        restLocationMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedLocation.getId())
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedLocation))
+            )
+            .andExpect(status().isConflict());
+
+        // Validate the Location in the database
+        Location testLocation = locationRepository.findById(location.getId()).get();
+        assertThat(testLocation.getLocationName()).isEqualTo(UPDATED_LOCATION_NAME);
+        assertThat(testLocation.getVersion()).isEqualTo(updatedLocation.getVersion() + 1);
+    }
+
     @Test
     @Transactional
     void putNonExistingLocation() throws Exception {
         int databaseSizeBeforeUpdate = locationRepository.findAll().size();
         location.setId(count.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // If the entity doesn't exist, it will return 404 (Not Found)
         restLocationMockMvc
             .perform(
                 put(ENTITY_API_URL_ID, location.getId())
@@ -399,7 +490,7 @@ class LocationResourceIT {
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(TestUtil.convertObjectToJsonBytes(location))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Location in the database
         List<Location> locationList = locationRepository.findAll();
@@ -544,7 +635,7 @@ class LocationResourceIT {
         int databaseSizeBeforeUpdate = locationRepository.findAll().size();
         location.setId(count.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // If the entity doesn't exist, it will return 404 (Not Found)
         restLocationMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, location.getId())
@@ -552,7 +643,7 @@ class LocationResourceIT {
                     .contentType("application/merge-patch+json")
                     .content(TestUtil.convertObjectToJsonBytes(location))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Location in the database
         List<Location> locationList = locationRepository.findAll();
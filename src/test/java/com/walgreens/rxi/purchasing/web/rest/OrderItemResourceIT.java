@@ -8,12 +8,16 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.walgreens.rxi.purchasing.IntegrationTest;
+import com.walgreens.rxi.purchasing.domain.Location;
+import com.walgreens.rxi.purchasing.domain.LocationOrder;
 import com.walgreens.rxi.purchasing.domain.OrderItem;
 import com.walgreens.rxi.purchasing.domain.enumeration.OrderItemStatus;
 import com.walgreens.rxi.purchasing.repository.OrderItemRepository;
+import com.walgreens.rxi.purchasing.service.dto.OrderItemStatusUpdateDTO;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Random;
+import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
@@ -215,6 +219,163 @@ class OrderItemResourceIT {
             .andExpect(jsonPath("$.[*].status").value(hasItem(DEFAULT_STATUS.toString())));
     }
 
+    @Test
+    @Transactional
+    void getOrderItemsByIdFiltering() throws Exception {
+        // Initialize the database
+        orderItemRepository.saveAndFlush(orderItem);
+
+        Long id = orderItem.getId();
+
+        defaultOrderItemShouldBeFound("id.equals=" + id);
+        defaultOrderItemShouldNotBeFound("id.notEquals=" + id);
+
+        defaultOrderItemShouldBeFound("id.greaterThanOrEqual=" + id);
+        defaultOrderItemShouldNotBeFound("id.greaterThan=" + id);
+
+        defaultOrderItemShouldBeFound("id.lessThanOrEqual=" + id);
+        defaultOrderItemShouldNotBeFound("id.lessThan=" + id);
+    }
+
+    @Test
+    @Transactional
+    void getAllOrderItemsByQuantityIsInRange() throws Exception {
+        // Initialize the database
+        orderItemRepository.saveAndFlush(orderItem);
+
+        // Get all the orderItemList where quantity is between DEFAULT_QUANTITY and UPDATED_QUANTITY
+        defaultOrderItemShouldBeFound("quantity.greaterThanOrEqual=" + DEFAULT_QUANTITY + "&quantity.lessThan=" + UPDATED_QUANTITY);
+
+        // Get all the orderItemList where quantity is greater than or equal to UPDATED_QUANTITY
+        defaultOrderItemShouldNotBeFound("quantity.greaterThanOrEqual=" + UPDATED_QUANTITY);
+    }
+
+    @Test
+    @Transactional
+    void getAllOrderItemsByTotalPriceIsInRange() throws Exception {
+        // Initialize the database
+        orderItemRepository.saveAndFlush(orderItem);
+
+        // Get all the orderItemList where totalPrice is less than or equal to DEFAULT_TOTAL_PRICE
+        defaultOrderItemShouldBeFound("totalPrice.lessThanOrEqual=" + DEFAULT_TOTAL_PRICE);
+
+        // Get all the orderItemList where totalPrice is greater than DEFAULT_TOTAL_PRICE
+        defaultOrderItemShouldNotBeFound("totalPrice.greaterThan=" + DEFAULT_TOTAL_PRICE);
+    }
+
+    @Test
+    @Transactional
+    void getAllOrderItemsByStatusIsEqualToSomething() throws Exception {
+        // Initialize the database
+        orderItemRepository.saveAndFlush(orderItem);
+
+        // Get all the orderItemList where status equals to DEFAULT_STATUS
+        defaultOrderItemShouldBeFound("status.equals=" + DEFAULT_STATUS);
+
+        // Get all the orderItemList where status equals to UPDATED_STATUS
+        defaultOrderItemShouldNotBeFound("status.equals=" + UPDATED_STATUS);
+    }
+
+    @Test
+    @Transactional
+    void getAllOrderItemsByStatusIsInShouldWork() throws Exception {
+        // Initialize the database
+        orderItemRepository.saveAndFlush(orderItem);
+
+        // Get all the orderItemList where status in DEFAULT_STATUS or UPDATED_STATUS
+        defaultOrderItemShouldBeFound("status.in=" + DEFAULT_STATUS + "," + UPDATED_STATUS);
+
+        // Get all the orderItemList where status equals to UPDATED_STATUS
+        defaultOrderItemShouldNotBeFound("status.in=" + UPDATED_STATUS);
+    }
+
+    @Test
+    @Transactional
+    void getAllOrderItemsByLocationOrderIsEqualToSomething() throws Exception {
+        // Initialize the database
+        LocationOrder locationOrder = LocationOrderResourceIT.createEntity(em);
+        em.persist(locationOrder);
+        em.flush();
+        orderItem.setLocationOrder(locationOrder);
+        orderItemRepository.saveAndFlush(orderItem);
+        Long locationOrderId = locationOrder.getId();
+
+        // Get all the orderItemList where locationOrder equals to locationOrderId
+        defaultOrderItemShouldBeFound("locationOrderId.equals=" + locationOrderId + "&status.equals=" + DEFAULT_STATUS);
+
+        // Get all the orderItemList where locationOrder equals to (locationOrderId + 1)
+        defaultOrderItemShouldNotBeFound("locationOrderId.equals=" + (locationOrderId + 1));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultOrderItemShouldBeFound(String filter) throws Exception {
+        restOrderItemMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(orderItem.getId().intValue())))
+            .andExpect(jsonPath("$.[*].quantity").value(hasItem(DEFAULT_QUANTITY)))
+            .andExpect(jsonPath("$.[*].totalPrice").value(hasItem(sameNumber(DEFAULT_TOTAL_PRICE))))
+            .andExpect(jsonPath("$.[*].status").value(hasItem(DEFAULT_STATUS.toString())));
+
+        // Check, that the count call also returns 1
+        restOrderItemMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("1"));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultOrderItemShouldNotBeFound(String filter) throws Exception {
+        restOrderItemMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // Check, that the count call also returns 0
+        restOrderItemMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("0"));
+    }
+
+    @Test
+    @Transactional
+    void getAllOrderItemsUsesConstantStatementCount() throws Exception {
+        String pageUrl = ENTITY_API_URL + "?sort=id,desc&size=100";
+        TestUtil.withStatistics(
+            em,
+            statistics -> {
+                createOrderItemOfNewLocationOrder();
+                long statementsForOneOrderItem = TestUtil.countGetStatements(em, statistics, restOrderItemMockMvc, pageUrl);
+
+                for (int i = 0; i < 5; i++) {
+                    createOrderItemOfNewLocationOrder();
+                }
+                long statementsForSixOrderItems = TestUtil.countGetStatements(em, statistics, restOrderItemMockMvc, pageUrl);
+
+                // The locationOrders of the page are initialized in one batch
+                assertThat(statementsForSixOrderItems).isEqualTo(statementsForOneOrderItem);
+            }
+        );
+    }
+
+    private void createOrderItemOfNewLocationOrder() {
+        Location location = LocationResourceIT.createEntity(em).locationNumber(UUID.randomUUID());
+        em.persist(location);
+        LocationOrder locationOrder = LocationOrderResourceIT.createEntity(em).code(UUID.randomUUID()).location(location);
+        em.persist(locationOrder);
+        orderItemRepository.saveAndFlush(createEntity(em).locationOrder(locationOrder));
+    }
+
     @Test
     @Transactional
     void getOrderItem() throws Exception {
@@ -277,7 +438,7 @@ class OrderItemResourceIT {
         int databaseSizeBeforeUpdate = orderItemRepository.findAll().size();
         orderItem.setId(count.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // If the entity doesn't exist, it will return 404 (Not Found)
         restOrderItemMockMvc
             .perform(
                 put(ENTITY_API_URL_ID, orderItem.getId())
@@ -285,7 +446,7 @@ class OrderItemResourceIT {
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(TestUtil.convertObjectToJsonBytes(orderItem))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the OrderItem in the database
         List<OrderItem> orderItemList = orderItemRepository.findAll();
@@ -402,7 +563,7 @@ class OrderItemResourceIT {
         int databaseSizeBeforeUpdate = orderItemRepository.findAll().size();
         orderItem.setId(count.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // If the entity doesn't exist, it will return 404 (Not Found)
         restOrderItemMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, orderItem.getId())
@@ -410,7 +571,7 @@ class OrderItemResourceIT {
                     .contentType("application/merge-patch+json")
                     .content(TestUtil.convertObjectToJsonBytes(orderItem))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the OrderItem in the database
         List<OrderItem> orderItemList = orderItemRepository.findAll();
@@ -459,6 +620,40 @@ class OrderItemResourceIT {
         assertThat(orderItemList).hasSize(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    @Transactional
+    void updateOrderItemStatusesInBatch() throws Exception {
+        // Initialize the database
+        OrderItem first = orderItemRepository.saveAndFlush(createEntity(em));
+        OrderItem second = orderItemRepository.saveAndFlush(createEntity(em));
+        long missingId = count.incrementAndGet();
+
+        List<OrderItemStatusUpdateDTO> updates = List.of(
+            new OrderItemStatusUpdateDTO(first.getId(), UPDATED_STATUS),
+            new OrderItemStatusUpdateDTO(second.getId(), OrderItemStatus.BACK_ORDER),
+            new OrderItemStatusUpdateDTO(missingId, UPDATED_STATUS)
+        );
+
+        restOrderItemMockMvc
+            .perform(
+                patch(ENTITY_API_URL + "/status")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updates))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(first.getId().intValue()))
+            .andExpect(jsonPath("$.[0].outcome").value("UPDATED"))
+            .andExpect(jsonPath("$.[1].outcome").value("UPDATED"))
+            .andExpect(jsonPath("$.[2].id").value(missingId))
+            .andExpect(jsonPath("$.[2].outcome").value("NOT_FOUND"));
+
+        // Validate the statuses in the database
+        em.clear();
+        assertThat(orderItemRepository.findById(first.getId()).map(OrderItem::getStatus)).contains(UPDATED_STATUS);
+        assertThat(orderItemRepository.findById(second.getId()).map(OrderItem::getStatus)).contains(OrderItemStatus.BACK_ORDER);
+    }
+
     @Test
     @Transactional
     void deleteOrderItem() throws Exception {
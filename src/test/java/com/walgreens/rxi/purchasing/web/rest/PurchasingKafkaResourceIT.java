@@ -2,20 +2,27 @@ package com.walgreens.rxi.purchasing.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.walgreens.rxi.purchasing.config.ApplicationProperties;
 import com.walgreens.rxi.purchasing.config.KafkaProperties;
+import com.walgreens.rxi.purchasing.web.rest.sse.KafkaSseHub;
+import com.walgreens.rxi.purchasing.web.rest.vm.KafkaPublishBatchVM;
+import com.walgreens.rxi.purchasing.web.rest.vm.KafkaRecordVM;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,6 +39,8 @@ class PurchasingKafkaResourceIT {
 
     private MockMvc restMockMvc;
 
+    private KafkaSseHub kafkaSseHub;
+
     @BeforeAll
     static void startServer() {
         if (!started) {
@@ -57,15 +66,25 @@ class PurchasingKafkaResourceIT {
         consumerProps.put("client.id", "default-client");
         kafkaProperties.setConsumer(consumerProps);
 
-        PurchasingKafkaResource kafkaResource = new PurchasingKafkaResource(kafkaProperties);
+        kafkaSseHub = new KafkaSseHub(new ApplicationProperties());
+        PurchasingKafkaResource kafkaResource = new PurchasingKafkaResource(kafkaProperties, kafkaSseHub);
 
         restMockMvc = MockMvcBuilders.standaloneSetup(kafkaResource).build();
     }
 
+    @AfterEach
+    void tearDown() {
+        kafkaSseHub.destroy();
+    }
+
     @Test
     void producesMessages() throws Exception {
-        restMockMvc
+        MvcResult mvcResult = restMockMvc
             .perform(post("/api/purchasing-kafka/publish/topic-produce?message=value-produce"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restMockMvc
+            .perform(asyncDispatch(mvcResult))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON));
 
@@ -79,6 +98,49 @@ class PurchasingKafkaResourceIT {
         assertThat(record.value()).isEqualTo("value-produce");
     }
 
+    @Test
+    void producesMessagesInBatch() throws Exception {
+        // One key sends both records to the same partition, where their offsets follow each other
+        KafkaPublishBatchVM batch = new KafkaPublishBatchVM(
+            List.of(new KafkaRecordVM("key-batch", "value-batch-1"), new KafkaRecordVM("key-batch", "value-batch-2"))
+        );
+
+        MvcResult mvcResult = restMockMvc
+            .perform(
+                post("/api/purchasing-kafka/publish/topic-batch/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(batch))
+            )
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restMockMvc
+            .perform(asyncDispatch(mvcResult))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].topic").value("topic-batch"))
+            .andExpect(jsonPath("$.[0].offset").value(0))
+            .andExpect(jsonPath("$.[1].offset").value(1))
+            .andExpect(jsonPath("$.[*].error").doesNotExist());
+
+        Map<String, Object> consumerProps = new HashMap<>(getConsumerProps("group-batch"));
+        KafkaConsumer<String, String> consumer = new KafkaConsumer<>(consumerProps);
+        consumer.subscribe(Collections.singletonList("topic-batch"));
+        ConsumerRecords<String, String> records = consumer.poll(Duration.ofSeconds(1));
+
+        assertThat(records).extracting(ConsumerRecord::value).containsExactly("value-batch-1", "value-batch-2");
+    }
+
+    @Test
+    void rejectsEmptyBatch() throws Exception {
+        restMockMvc
+            .perform(
+                post("/api/purchasing-kafka/publish/topic-batch/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(new KafkaPublishBatchVM()))
+            )
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     void consumesMessages() throws Exception {
         Map<String, Object> producerProps = new HashMap<>(getProducerProps());
@@ -102,6 +164,55 @@ class PurchasingKafkaResourceIT {
         fail("Expected content data:value-consume not received");
     }
 
+    @Test
+    void consumesMessagesWithSharedConsumer() throws Exception {
+        MvcResult first = restMockMvc
+            .perform(get("/api/purchasing-kafka/consume?topic=topic-shared"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        MvcResult second = restMockMvc
+            .perform(get("/api/purchasing-kafka/consume?topic=topic-shared"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        Map<String, Object> producerProps = new HashMap<>(getProducerProps());
+        KafkaProducer<String, String> producer = new KafkaProducer<>(producerProps);
+        producer.send(new ProducerRecord<>("topic-shared", "value-shared"));
+
+        for (int i = 0; i < 100; i++) {
+            Thread.sleep(100);
+            if (
+                first.getResponse().getContentAsString().contains("data:value-shared") &&
+                second.getResponse().getContentAsString().contains("data:value-shared")
+            ) {
+                return;
+            }
+        }
+        fail("Expected content data:value-shared not received by both subscribers");
+    }
+
+    @Test
+    void consumesMessagesInBatches() throws Exception {
+        Map<String, Object> producerProps = new HashMap<>(getProducerProps());
+        KafkaProducer<String, String> producer = new KafkaProducer<>(producerProps);
+        producer.send(new ProducerRecord<>("topic-batched", "value-batched-1"));
+        producer.send(new ProducerRecord<>("topic-batched", "value-batched-2"));
+        producer.flush();
+
+        MvcResult mvcResult = restMockMvc
+            .perform(get("/api/purchasing-kafka/consume?topic=topic-batched&batchSize=10&pollTimeoutMs=200"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        for (int i = 0; i < 100; i++) {
+            Thread.sleep(100);
+            if (mvcResult.getResponse().getContentAsString().contains("data:[\"value-batched-1\",\"value-batched-2\"]")) {
+                return;
+            }
+        }
+        fail("Expected content data:[\"value-batched-1\",\"value-batched-2\"] not received");
+    }
+
     private Map<String, String> getProducerProps() {
         Map<String, String> producerProps = new HashMap<>();
         producerProps.put("key.serializer", "org.apache.kafka.common.serialization.StringSerializer");
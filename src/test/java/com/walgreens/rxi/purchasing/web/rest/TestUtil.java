@@ -1,6 +1,8 @@
 package com.walgreens.rxi.purchasing.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -21,6 +23,8 @@ import javax.persistence.criteria.Root;
 import org.hamcrest.Description;
 import org.hamcrest.TypeSafeDiagnosingMatcher;
 import org.hamcrest.TypeSafeMatcher;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.springframework.format.datetime.standard.DateTimeFormatterRegistrar;
 import org.springframework.format.support.DefaultFormattingConversionService;
 import org.springframework.format.support.FormattingConversionService;
@@ -29,6 +33,7 @@ import org.springframework.security.oauth2.client.authentication.OAuth2Authentic
 import org.springframework.security.oauth2.core.oidc.OidcIdToken;
 import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.test.web.servlet.MockMvc;
 
 /**
  * Utility class for testing REST controllers.
@@ -209,6 +214,47 @@ public final class TestUtil {
         return allQuery.getResultList();
     }
 
+    /**
+     * Runs a test with the Hibernate statistics enabled, and restores their previous state.
+     * @param em The instance of the EntityManager
+     * @param test The test, given the statistics
+     * @throws Exception if the test fails
+     */
+    public static void withStatistics(EntityManager em, StatisticsTest test) throws Exception {
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        try {
+            test.run(statistics);
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
+    /**
+     * Counts the statements prepared by a successful GET request, starting from an empty persistence context.
+     * @param em The instance of the EntityManager
+     * @param statistics The enabled statistics
+     * @param mockMvc The MockMvc performing the request
+     * @param url The URL of the request
+     * @return The number of prepared statements
+     * @throws Exception if the request fails
+     */
+    public static long countGetStatements(EntityManager em, Statistics statistics, MockMvc mockMvc, String url) throws Exception {
+        em.clear();
+        statistics.clear();
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * A test reading the Hibernate statistics.
+     */
+    @FunctionalInterface
+    public interface StatisticsTest {
+        void run(Statistics statistics) throws Exception;
+    }
+
     static final String ID_TOKEN =
         "eyJ0eXAiOiJKV1QiLCJhbGciOiJIUzI1NiJ9" +
         ".eyJzdWIiOiIxMjM0NTY3ODkwIiwibmFtZSI6IkpvaG4gRG9lIiwiYWRtaW4iOnRydWUsIm" +
@@ -0,0 +1,230 @@
+package com.walgreens.rxi.purchasing.web.rest.sse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import com.walgreens.rxi.purchasing.config.ApplicationProperties;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Unit tests for the back-pressure of {@link KafkaSseHub}, with a {@link MockConsumer} and clients reading on demand.
+ */
+class KafkaSseHubTest {
+
+    private static final String TOPIC = "purchasing-events";
+
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+
+    /**
+     * Room for 37 values of {@link #VALUE_LENGTH} characters, which are buffered as 264 bytes each.
+     */
+    private static final long BUFFER_BYTES = 10_000;
+
+    private static final int VALUE_LENGTH = 100;
+
+    private ApplicationProperties applicationProperties;
+
+    private SlowPollConsumer consumer;
+
+    private List<GatedEmitter> emitters;
+
+    private GatedEmitter nextEmitter;
+
+    private KafkaSseHub hub;
+
+    private long offset;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        ApplicationProperties.KafkaSse kafkaSse = applicationProperties.getKafkaSse();
+        kafkaSse.setSubscriberBufferBytes(BUFFER_BYTES);
+        kafkaSse.setDispatchThreads(2);
+        kafkaSse.setPollTimeoutMs(10);
+        kafkaSse.setMaxPauseMs(60_000);
+        consumer = new SlowPollConsumer();
+        consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+        consumer.schedulePollTask(() -> consumer.rebalance(List.of(PARTITION)));
+        emitters = new CopyOnWriteArrayList<>();
+        offset = 0;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        emitters.forEach(emitter -> emitter.permits.release(1_000));
+        if (hub != null) {
+            hub.destroy();
+        }
+    }
+
+    @Test
+    void pausesTheFeedAboveHalfTheBufferAndResumesItBelowAQuarter() throws Exception {
+        createHub();
+        GatedEmitter subscriber = subscribe(0);
+        await("the partition to be assigned", () -> !consumer.assignment().isEmpty());
+
+        // 30 values are 7920 bytes, the first one being held by its blocked send
+        List<String> values = publish(30);
+        await("the feed to be paused", () -> consumer.paused().contains(PARTITION));
+        // Would overflow the buffer if they were fetched before the subscriber caught up
+        values.addAll(publish(10));
+
+        // 14 values left are 3696 bytes, above a quarter of the buffer
+        subscriber.permits.release(15);
+        await("15 values to be sent", () -> subscriber.sent.size() == 15);
+        Thread.sleep(300);
+        assertThat(consumer.paused()).containsExactly(PARTITION);
+
+        // 8 values left are 2112 bytes, below a quarter of the buffer
+        subscriber.permits.release(6);
+        await("the feed to be resumed", () -> consumer.paused().isEmpty());
+
+        subscriber.permits.release(1_000);
+        await("all the values to be sent", () -> subscriber.sent.size() == 40);
+        assertThat(subscriber.sent).containsExactlyElementsOf(values);
+        assertThat(subscriber.error).isNull();
+    }
+
+    @Test
+    void disconnectsASubscriberOverflowingItsBuffer() throws Exception {
+        createHub();
+        GatedEmitter subscriber = subscribe(0);
+        await("the partition to be assigned", () -> !consumer.assignment().isEmpty());
+
+        // Fetched by one poll, 40 values are 10560 bytes
+        publish(40);
+
+        await("the subscriber to be disconnected", () -> subscriber.error != null);
+        assertThat(subscriber.error).hasMessageContaining("more than " + BUFFER_BYTES + " bytes behind");
+        assertThat(subscriber.sent).isEmpty();
+        await("the feed to be closed with its last subscriber", consumer::closed);
+    }
+
+    @Test
+    void disconnectsASubscriberKeepingTheFeedPausedTooLong() throws Exception {
+        applicationProperties.getKafkaSse().setMaxPauseMs(500);
+        createHub();
+        GatedEmitter slowSubscriber = subscribe(0);
+        GatedEmitter subscriber = subscribe(1_000);
+        await("the partition to be assigned", () -> !consumer.assignment().isEmpty());
+
+        List<String> values = publish(30);
+        await("the feed to be paused", () -> consumer.paused().contains(PARTITION));
+        await("the feed to be resumed", () -> consumer.paused().isEmpty());
+        List<String> later = publish(10);
+        values.addAll(later);
+
+        await("all the values to be sent to the other subscriber", () -> subscriber.sent.size() == 40);
+        assertThat(subscriber.sent).containsExactlyElementsOf(values);
+        assertThat(subscriber.error).isNull();
+        slowSubscriber.permits.release(1_000);
+        await("the slow subscriber to be disconnected", () -> slowSubscriber.error != null);
+        assertThat(slowSubscriber.error).hasMessageContaining("behind for more than 500 ms");
+        assertThat(slowSubscriber.sent).doesNotContainAnyElementsOf(later);
+        assertThat(consumer.closed()).isFalse();
+    }
+
+    private void createHub() {
+        hub = new KafkaSseHub(applicationProperties, consumerProps -> consumer, () -> nextEmitter);
+    }
+
+    /**
+     * Subscribe a client which can be sent the given number of values, until more permits are released.
+     */
+    private GatedEmitter subscribe(int permits) {
+        nextEmitter = new GatedEmitter(permits);
+        emitters.add(nextEmitter);
+        hub.subscribe(List.of(TOPIC), Map.of());
+        return nextEmitter;
+    }
+
+    private List<String> publish(int count) {
+        List<String> values = IntStream
+            .range(0, count)
+            .mapToObj(i -> String.format("%0" + VALUE_LENGTH + "d", offset + i))
+            .collect(Collectors.toList());
+        values.forEach(value -> consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, offset++, null, value)));
+        return values;
+    }
+
+    private static void await(String description, BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            if (condition.getAsBoolean()) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        fail("Timed out waiting for " + description);
+    }
+
+    /**
+     * A {@link MockConsumer} waiting for the poll timeout when it has no record, as a broker does.
+     */
+    private static final class SlowPollConsumer extends MockConsumer<String, String> {
+
+        private SlowPollConsumer() {
+            super(OffsetResetStrategy.EARLIEST);
+        }
+
+        @Override
+        public ConsumerRecords<String, String> poll(Duration timeout) {
+            ConsumerRecords<String, String> records = super.poll(timeout);
+            if (records.isEmpty()) {
+                try {
+                    Thread.sleep(timeout.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return records;
+        }
+    }
+
+    /**
+     * A client reading one value per permit, the heartbeats aside.
+     */
+    private static final class GatedEmitter extends SseEmitter {
+
+        private final Semaphore permits;
+
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+
+        private volatile Throwable error;
+
+        private GatedEmitter(int permits) {
+            super(0L);
+            this.permits = new Semaphore(permits);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            List<Object> event = builder.build().stream().map(DataWithMediaType::getData).collect(Collectors.toList());
+            if (event.get(0).toString().startsWith(":")) {
+                return;
+            }
+            permits.acquireUninterruptibly();
+            sent.add(event.get(1).toString());
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            error = ex;
+        }
+    }
+}